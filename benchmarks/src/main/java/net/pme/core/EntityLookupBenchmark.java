@@ -0,0 +1,91 @@
+package net.pme.core;
+
+import net.pme.core.math.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Finding objects by id, like handling network packets: by scanning the list, with a boxed hash map
+ * or with the id index of the entity list.
+ * <p/>
+ * The ids are sparse and looked up in random order.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EntityLookupBenchmark {
+    private static final int LOOKUPS = 1024;
+
+    @Param({"1000", "100000"})
+    private int entities;
+
+    private EntityList list;
+    private Map<Long, GameObject> hashMap;
+    private long[] ids;
+    private int next = 0;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        list = new EntityList();
+        hashMap = new HashMap<>();
+        long[] all = new long[entities];
+        for (int i = 0; i < entities; i++) {
+            all[i] = random.nextLong();
+            GameObject o = new GameObject(all[i], new Vector3d(), new Vector3d(0, 0, 1), new Vector3d(0, 1, 0)) {
+            };
+            list.add(o);
+            hashMap.put(all[i], o);
+        }
+        ids = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids[i] = all[random.nextInt(entities)];
+        }
+    }
+
+    private long nextId() {
+        next = (next + 1) & (LOOKUPS - 1);
+        return ids[next];
+    }
+
+    @Benchmark
+    public GameObject scan() {
+        long id = nextId();
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).getId() == id) {
+                return list.get(i);
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public GameObject hashMap() {
+        return hashMap.get(nextId());
+    }
+
+    @Benchmark
+    public GameObject longObjectMap() {
+        return list.getById(nextId());
+    }
+}
@@ -0,0 +1,90 @@
+package net.pme.core;
+
+import net.pme.core.math.Vector3d;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Visiting the positions of all objects, like a culling pass: through the objects or the transform store.
+ * <p/>
+ * The objects are added in random order, like objects spawned and despawned over a game.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformStoreBenchmark {
+    private static final double RADIUS = 100;
+
+    @Param({"10000", "100000", "1000000"})
+    private int entities;
+
+    private EntityList list;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<GameObject> objects = new ArrayList<>(entities);
+        for (int i = 0; i < entities; i++) {
+            Vector3d position = new Vector3d(random.nextDouble() * 1000, random.nextDouble() * 1000,
+                    random.nextDouble() * 1000);
+            objects.add(new GameObject(i, position, new Vector3d(0, 0, 1), new Vector3d(0, 1, 0)) {
+            });
+        }
+        Collections.shuffle(objects, random);
+        list = new EntityList(true);
+        for (GameObject o : objects) {
+            list.add(o);
+            o.snapshotTransform();
+        }
+    }
+
+    @Benchmark
+    public int objects() {
+        int inside = 0;
+        for (int i = 0; i < list.size(); i++) {
+            Vector3d p = list.get(i).getRenderTransform().getPosition();
+            if (p.getX() * p.getX() + p.getY() * p.getY() + p.getZ() * p.getZ() < RADIUS * RADIUS) {
+                inside++;
+            }
+        }
+        return inside;
+    }
+
+    @Benchmark
+    public int store() {
+        TransformStore store = list.getTransforms();
+        double[] positions = store.getPositions();
+        int end = store.size() * TransformStore.STRIDE;
+        int inside = 0;
+        for (int i = 0; i < end; i += TransformStore.STRIDE) {
+            double x = positions[i];
+            double y = positions[i + 1];
+            double z = positions[i + 2];
+            if (x * x + y * y + z * z < RADIUS * RADIUS) {
+                inside++;
+            }
+        }
+        return inside;
+    }
+}
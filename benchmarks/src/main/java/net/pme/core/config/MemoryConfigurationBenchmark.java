@@ -0,0 +1,75 @@
+package net.pme.core.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the typed getters of a configuration.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryConfigurationBenchmark {
+    private MemoryConfiguration configuration;
+
+    @Setup
+    public void setup() {
+        configuration = new MemoryConfiguration();
+        configuration.set("string", "PenguinMenaceEngine");
+        configuration.set("integer", 1920);
+        configuration.set("float", 0.75f);
+        configuration.set("double", 9.81);
+        configuration.set("boolean", true);
+    }
+
+    @Benchmark
+    public String getString() {
+        return configuration.getString("string");
+    }
+
+    @Benchmark
+    public int getInteger() {
+        return configuration.getInteger("integer");
+    }
+
+    @Benchmark
+    public float getFloat() {
+        return configuration.getFloat("float");
+    }
+
+    @Benchmark
+    public double getDouble() {
+        return configuration.getDouble("double");
+    }
+
+    @Benchmark
+    public boolean getBoolean() {
+        return configuration.getBoolean("boolean");
+    }
+
+    /**
+     * A missing key falls back to the default.
+     *
+     * @return The default.
+     */
+    @Benchmark
+    public int getIntegerDefault() {
+        return configuration.getInteger("missing", 1080);
+    }
+}
@@ -0,0 +1,149 @@
+package net.pme.core.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the matrix and vector operations used every frame.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MathBenchmark {
+    private Matrix a;
+    private Matrix b;
+    private Matrix product;
+    private Matrix rigid;
+    private Matrix inverse;
+    private Vector3d axis;
+    private Vector3d vector;
+    private Vector3d position;
+    private Vector3d xAxis;
+    private Vector3d yAxis;
+    private Vector3d zAxis;
+    private double angle;
+
+    @Setup
+    public void setup() {
+        a = Matrix.rotation(0.3, 0.5, 0.7);
+        b = Matrix.rotation(0.1, 0.2, 0.3);
+        product = Matrix.identity();
+        rigid = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        inverse = Matrix.identity();
+        axis = new Vector3d(1, 2, 3);
+        vector = new Vector3d(4, 5, 6);
+        position = new Vector3d(1, 2, 3);
+        xAxis = new Vector3d(rigid.get(0, 0), rigid.get(0, 1), rigid.get(0, 2));
+        yAxis = new Vector3d(rigid.get(1, 0), rigid.get(1, 1), rigid.get(1, 2));
+        zAxis = new Vector3d(rigid.get(2, 0), rigid.get(2, 1), rigid.get(2, 2));
+        angle = 0.5;
+    }
+
+    /**
+     * Multiply two matrices.
+     * <p/>
+     * Multiplies the product by a rotation again and again, so the values stay bounded.
+     *
+     * @return The product.
+     */
+    @Benchmark
+    public Matrix multiply() {
+        return product.multiply(b);
+    }
+
+    /**
+     * Transpose a matrix in place.
+     *
+     * @return The matrix.
+     */
+    @Benchmark
+    public Matrix transpose() {
+        return a.transpose();
+    }
+
+    /**
+     * Create a rotation matrix around an axis.
+     *
+     * @return The rotation.
+     */
+    @Benchmark
+    public Matrix rotationAxis() {
+        return Matrix.rotationAxis(axis, angle);
+    }
+
+    /**
+     * Set a rotation matrix around an axis, without creating one.
+     *
+     * @return The rotation.
+     */
+    @Benchmark
+    public Matrix setRotationAxis() {
+        return product.setRotationAxis(axis, angle);
+    }
+
+    /**
+     * Transform a vector by a matrix.
+     *
+     * @return The transformed vector.
+     */
+    @Benchmark
+    public Vector3d transformCoords() {
+        return vector.set(4, 5, 6).transformCoords(a);
+    }
+
+    /**
+     * Invert an affine matrix into a destination.
+     *
+     * @return The inverse.
+     */
+    @Benchmark
+    public Matrix invert() {
+        return rigid.invert(inverse);
+    }
+
+    /**
+     * Invert a rotation and translation into a destination.
+     *
+     * @return The inverse.
+     */
+    @Benchmark
+    public Matrix invertRigid() {
+        return rigid.invertRigid(inverse);
+    }
+
+    /**
+     * Create a camera matrix from a translation and transposed axes.
+     *
+     * @return The camera matrix.
+     */
+    @Benchmark
+    public Matrix cameraByProduct() {
+        return Matrix.translation(position.clone().scale(-1)).multiply(Matrix.axes(xAxis, yAxis, zAxis).transpose());
+    }
+
+    /**
+     * Set a camera matrix directly.
+     *
+     * @return The camera matrix.
+     */
+    @Benchmark
+    public Matrix setCamera() {
+        return inverse.setCamera(position, xAxis, yAxis, zAxis);
+    }
+}
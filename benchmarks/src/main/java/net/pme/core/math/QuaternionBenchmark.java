@@ -0,0 +1,127 @@
+package net.pme.core.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rotating vectors and interpolating orientations with quaternions.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuaternionBenchmark {
+    private Quaternion q;
+    private Quaternion a;
+    private Quaternion b;
+    private Quaternion controlA;
+    private Quaternion controlB;
+    private Quaternion result;
+    private Matrix matrixA;
+    private Matrix matrixB;
+    private Vector3d vector;
+    private double t;
+
+    @Setup
+    public void setup() {
+        q = new Quaternion(0.9, 0.1, 0.3, 0.2).normalize();
+        a = new Quaternion(0.8, 0.2, -0.4, 0.1).normalize();
+        b = new Quaternion(0.7, -0.3, 0.2, 0.5).normalize();
+        Quaternion before = new Quaternion(0.9, 0.3, -0.2, 0.1).normalize();
+        Quaternion after = new Quaternion(0.6, -0.4, 0.4, 0.5).normalize();
+        controlA = Quaternion.squadControlPoint(before, a, b, new Quaternion(1, 0, 0, 0));
+        controlB = Quaternion.squadControlPoint(a, b, after, new Quaternion(1, 0, 0, 0));
+        result = new Quaternion(1, 0, 0, 0);
+        matrixA = a.toMatrix();
+        matrixB = b.toMatrix();
+        vector = new Vector3d(1, 2, 3);
+        t = 0.3;
+    }
+
+    /**
+     * Rotate a vector with q * v * q.conjugate on quaternion copies, like transformCoords did before.
+     *
+     * @return The vector.
+     */
+    @Benchmark
+    public Vector3d transformByProduct() {
+        Quaternion tmp = new Quaternion(q);
+        Quaternion res = new Quaternion(q);
+        res.multiply(0, vector.getX(), vector.getY(), vector.getZ()).multiply(tmp.conjugate());
+        return vector.set(res.getX(), res.getY(), res.getZ());
+    }
+
+    /**
+     * Rotate a vector with transformCoords.
+     *
+     * @return The vector.
+     */
+    @Benchmark
+    public Vector3d transformCoords() {
+        return vector.transformCoords(q);
+    }
+
+    /**
+     * Rotate a vector by a unit quaternion.
+     *
+     * @return The vector.
+     */
+    @Benchmark
+    public Vector3d rotate() {
+        return q.rotate(vector);
+    }
+
+    /**
+     * Interpolate orientations through matrices: lerp the rotation matrices, then convert back.
+     *
+     * @return The interpolated orientation.
+     */
+    @Benchmark
+    public Quaternion lerpMatrices() {
+        double[] values = new double[16];
+        for (int i = 0; i < values.length; i++) {
+            double v = matrixA.get(i / 4, i % 4);
+            values[i] = v + (matrixB.get(i / 4, i % 4) - v) * t;
+        }
+        return new Matrix(values).toQuaternion().normalize();
+    }
+
+    /**
+     * @return The linearly interpolated orientation.
+     */
+    @Benchmark
+    public Quaternion nlerp() {
+        return Quaternion.nlerp(a, b, t, result);
+    }
+
+    /**
+     * @return The spherically interpolated orientation.
+     */
+    @Benchmark
+    public Quaternion slerp() {
+        return Quaternion.slerp(a, b, t, result);
+    }
+
+    /**
+     * @return The spherically cubic interpolated orientation.
+     */
+    @Benchmark
+    public Quaternion squad() {
+        return Quaternion.squad(a, b, controlA, controlB, t, result);
+    }
+}
@@ -0,0 +1,145 @@
+package net.pme.core.math;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transforming and bounding many points: one Vector3d at a time or with the packed batch operations.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorArraysBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int points;
+
+    private Matrix matrix;
+    private Matrix4f matrixF;
+    private Vector3d[] vectors;
+    private Vector3d[] transformedVectors;
+    private double[] packed;
+    private double[] transformed;
+    private float[] packedF;
+    private float[] transformedF;
+    private double[] bounds;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        matrix = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        matrixF = new Matrix4f(matrix);
+        vectors = new Vector3d[points];
+        transformedVectors = new Vector3d[points];
+        packed = new double[points * 3];
+        transformed = new double[points * 3];
+        packedF = new float[points * 3];
+        transformedF = new float[points * 3];
+        bounds = new double[6];
+        for (int i = 0; i < points; i++) {
+            vectors[i] = new Vector3d(random.nextDouble(), random.nextDouble(), random.nextDouble());
+            transformedVectors[i] = new Vector3d();
+        }
+        VectorArrays.pack(Arrays.asList(vectors), packed);
+        for (int i = 0; i < packed.length; i++) {
+            packedF[i] = (float) packed[i];
+        }
+    }
+
+    /**
+     * Transform every vector object.
+     *
+     * @return The transformed vectors.
+     */
+    @Benchmark
+    public Vector3d[] transformVectors() {
+        for (int i = 0; i < points; i++) {
+            transformedVectors[i].set(vectors[i]).transformCoords(matrix);
+        }
+        return transformedVectors;
+    }
+
+    /**
+     * Transform the packed points.
+     *
+     * @return The transformed points.
+     */
+    @Benchmark
+    public double[] transformPacked() {
+        VectorArrays.transformCoords(matrix, packed, 0, transformed, 0, points);
+        return transformed;
+    }
+
+    /**
+     * Transform the packed points in float precision.
+     *
+     * @return The transformed points.
+     */
+    @Benchmark
+    public float[] transformPackedFloat() {
+        VectorArrays.transformCoords(matrixF, packedF, 0, transformedF, 0, points);
+        return transformedF;
+    }
+
+    /**
+     * Find the bounds of the vector objects.
+     *
+     * @return The bounds.
+     */
+    @Benchmark
+    public double[] boundsVectors() {
+        double[] b = bounds;
+        b[0] = b[1] = b[2] = Double.POSITIVE_INFINITY;
+        b[3] = b[4] = b[5] = Double.NEGATIVE_INFINITY;
+        for (Vector3d v : vectors) {
+            b[0] = Math.min(b[0], v.getX());
+            b[1] = Math.min(b[1], v.getY());
+            b[2] = Math.min(b[2], v.getZ());
+            b[3] = Math.max(b[3], v.getX());
+            b[4] = Math.max(b[4], v.getY());
+            b[5] = Math.max(b[5], v.getZ());
+        }
+        return b;
+    }
+
+    /**
+     * Find the bounds of the packed points.
+     *
+     * @return The bounds.
+     */
+    @Benchmark
+    public double[] boundsPacked() {
+        double[] b = bounds;
+        b[0] = b[1] = b[2] = Double.POSITIVE_INFINITY;
+        b[3] = b[4] = b[5] = Double.NEGATIVE_INFINITY;
+        return VectorArrays.bounds(packed, 0, points, b);
+    }
+
+    /**
+     * Find the largest dot product of the packed points with a direction.
+     *
+     * @return The largest dot product.
+     */
+    @Benchmark
+    public double maxDotPacked() {
+        return VectorArrays.maxDot(packed, 0, points, 0.3, -0.2, 0.9);
+    }
+}
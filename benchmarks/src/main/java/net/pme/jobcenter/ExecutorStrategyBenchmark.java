@@ -0,0 +1,119 @@
+package net.pme.jobcenter;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The executor strategies under load.
+ * <p/>
+ * One operation is a tick where one job fans out many small jobs, like the game loop does when moving
+ * all objects. The steals and the busy time of the workers are reported as secondary results.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExecutorStrategyBenchmark {
+    private static final int WORK_PER_JOB = 200;
+
+    @Param({"1000", "10000"})
+    private int jobsPerTick;
+
+    @Param({"pool", "stealing"})
+    private String strategy;
+
+    private Scheduler scheduler;
+    private Job fanOut;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scheduler = new Scheduler("stealing".equals(strategy) ? new WorkStealingStrategy() : new ThreadPoolStrategy());
+        final Job[] jobs = new Job[jobsPerTick];
+        for (int i = 0; i < jobs.length; i++) {
+            jobs[i] = new WorkJob(scheduler);
+        }
+        fanOut = new Job(scheduler) {
+            @Override
+            public void execute() {
+                for (Job job : jobs) {
+                    spawn(job);
+                }
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Fan out the jobs and wait for them.
+     *
+     * @param counters The secondary results.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void fanOut(final Counters counters) {
+        long steals = scheduler.getStealCount();
+        long busy = scheduler.getBusyTime();
+        scheduler.addJob(fanOut);
+        scheduler.await();
+        counters.steals += scheduler.getStealCount() - steals;
+        counters.busyNanos += scheduler.getBusyTime() - busy;
+    }
+
+    /**
+     * The steals and the busy time of the workers, summed over an iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long steals;
+        public long busyNanos;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            steals = 0;
+            busyNanos = 0;
+        }
+    }
+
+    /**
+     * A job doing a bit of work.
+     */
+    private static final class WorkJob extends Job {
+        private volatile double sink;
+
+        WorkJob(final Scheduler scheduler) {
+            super(scheduler);
+        }
+
+        @Override
+        public void execute() {
+            double result = 0;
+            for (int j = 0; j < WORK_PER_JOB; j++) {
+                result += Math.sqrt(j);
+            }
+            sink = result;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package net.pme.jobcenter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The frame barrier.
+ * <p/>
+ * Compares the completion tracking of the scheduler with the former LinkedList based tracking.
+ * One operation is a tick: no-op jobs are added and awaited.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBarrierBenchmark {
+    @Param({"1000", "10000"})
+    private int jobsPerTick;
+
+    private Scheduler scheduler;
+    private Job[] jobs;
+    private LinkedListScheduler linkedListScheduler;
+    private Runnable[] runnables;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scheduler = new Scheduler();
+        jobs = new Job[jobsPerTick];
+        for (int i = 0; i < jobs.length; i++) {
+            jobs[i] = new Job(scheduler) {
+                @Override
+                public void execute() {
+                }
+            };
+        }
+
+        linkedListScheduler = new LinkedListScheduler();
+        runnables = new Runnable[jobsPerTick];
+        for (int i = 0; i < runnables.length; i++) {
+            runnables[i] = new Runnable() {
+                @Override
+                public void run() {
+                    linkedListScheduler.deleteJob(this);
+                }
+            };
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdown();
+        linkedListScheduler.shutdown();
+    }
+
+    /**
+     * A tick of the scheduler, tracked with counters.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void counter() {
+        for (Job job : jobs) {
+            scheduler.addJob(job);
+        }
+        scheduler.await();
+    }
+
+    /**
+     * A tick tracked in a list like before.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void linkedList() {
+        for (Runnable job : runnables) {
+            linkedListScheduler.addJob(job);
+        }
+        linkedListScheduler.await();
+    }
+
+    /**
+     * The completion tracking as it was done before: every job is kept in a list guarded by
+     * the scheduler monitor and every finished job wakes all waiters.
+     */
+    private static final class LinkedListScheduler {
+        private final LinkedList<Runnable> jobQueue = new LinkedList<>();
+        private final ThreadPoolExecutor executor;
+
+        private LinkedListScheduler() {
+            int cores = Runtime.getRuntime().availableProcessors();
+            executor = new ThreadPoolExecutor(cores, cores * 4, 1, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>());
+        }
+
+        synchronized void await() {
+            try {
+                while (!jobQueue.isEmpty()) {
+                    this.wait();
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+
+        synchronized void addJob(final Runnable job) {
+            jobQueue.add(job);
+            executor.execute(job);
+        }
+
+        synchronized void deleteJob(final Runnable job) {
+            jobQueue.remove(job);
+            notifyAll();
+        }
+
+        void shutdown() {
+            executor.shutdown();
+        }
+    }
+}
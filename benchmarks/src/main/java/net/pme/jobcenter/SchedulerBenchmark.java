@@ -0,0 +1,164 @@
+package net.pme.jobcenter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and latency of the scheduler.
+ * <p/>
+ * One operation is a tick: all jobs are added and awaited. The shapes are independent jobs,
+ * a chain where every job waits for the one before and a fan out and in where all jobs wait
+ * for a root job and a final job waits for all of them.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulerBenchmark {
+    private static final int WORK_PER_JOB = 100;
+
+    @Param({"100", "1000", "10000"})
+    private int jobCount;
+
+    @Param({"independent", "chain", "fan"})
+    private String shape;
+
+    @Param({"pool", "stealing"})
+    private String strategy;
+
+    private Scheduler scheduler;
+    private List<Job> jobs;
+    private Job single;
+    private final ParallelBody body = new ParallelBody();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        scheduler = new Scheduler("stealing".equals(strategy) ? new WorkStealingStrategy() : new ThreadPoolStrategy());
+        jobs = new ArrayList<>(jobCount);
+        for (int i = 0; i < jobCount; i++) {
+            Job dependency = null;
+            if ("chain".equals(shape) && i > 0) {
+                dependency = jobs.get(i - 1);
+            } else if ("fan".equals(shape) && i > 0 && i < jobCount - 1) {
+                dependency = jobs.get(0);
+            }
+            jobs.add(new WorkJob(scheduler, dependency));
+        }
+        if ("fan".equals(shape) && jobCount > 2) {
+            // The last job joins all others. It is added last, so its dependencies are pending.
+            ((WorkJob) jobs.get(jobCount - 1)).dependencies = new ArrayList<>(jobs.subList(1, jobCount - 1));
+        }
+        single = new WorkJob(scheduler, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    /**
+     * Add all jobs and wait for them.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void tick() {
+        for (Job job : jobs) {
+            scheduler.addJob(job);
+        }
+        scheduler.await();
+    }
+
+    /**
+     * The time from adding a single job until await returns.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void latency() {
+        scheduler.addJob(single);
+        scheduler.await();
+    }
+
+    /**
+     * Splitting a list into ranges with a parallel for.
+     *
+     * @param bh The blackhole.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public void parallelFor(final Blackhole bh) {
+        scheduler.parallelFor(jobs, 0, body);
+        scheduler.await();
+        bh.consume(body.sink);
+    }
+
+    /**
+     * Simulates a bit of work.
+     *
+     * @return The result of the work.
+     */
+    private static double work() {
+        double result = 0;
+        for (int j = 0; j < WORK_PER_JOB; j++) {
+            result += Math.sqrt(j);
+        }
+        return result;
+    }
+
+    /**
+     * A job doing a bit of work.
+     */
+    private static final class WorkJob extends Job {
+        private List<Job> dependencies;
+        private volatile double sink;
+
+        WorkJob(final Scheduler scheduler, final Job dependency) {
+            super(scheduler);
+            dependencies = dependency == null ? Collections.<Job>emptyList() : Collections.singletonList(dependency);
+        }
+
+        @Override
+        public List<Job> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public void execute() {
+            sink = work();
+        }
+    }
+
+    /**
+     * The body of the parallel for benchmark.
+     */
+    private static final class ParallelBody extends ParallelForBody<Job> {
+        private volatile double sink;
+
+        @Override
+        public void execute(final Job element) {
+            sink = work();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package net.pme.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing obj files.
+ * <p/>
+ * Parses a generated sphere from memory, so neither the disk nor an OpenGL context is needed.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelParseBenchmark {
+    /**
+     * The number of rings and segments of the sphere.
+     */
+    @Param({"16", "64"})
+    private int resolution;
+
+    private String obj;
+
+    @Setup
+    public void setup() {
+        StringBuilder b = new StringBuilder();
+        b.append("# generated sphere\n");
+        for (int ring = 0; ring <= resolution; ring++) {
+            double theta = Math.PI * ring / resolution;
+            for (int segment = 0; segment < resolution; segment++) {
+                double phi = 2 * Math.PI * segment / resolution;
+                double x = Math.sin(theta) * Math.cos(phi);
+                double y = Math.cos(theta);
+                double z = Math.sin(theta) * Math.sin(phi);
+                b.append(String.format(Locale.US, "v %.6f %.6f %.6f%n", x, y, z));
+                b.append(String.format(Locale.US, "vn %.6f %.6f %.6f%n", x, y, z));
+                b.append(String.format(Locale.US, "vt %.6f %.6f%n", segment / (double) resolution,
+                        ring / (double) resolution));
+            }
+        }
+        b.append("s off\n");
+        for (int ring = 0; ring < resolution; ring++) {
+            for (int segment = 0; segment < resolution; segment++) {
+                int i1 = ring * resolution + segment + 1;
+                int i2 = ring * resolution + (segment + 1) % resolution + 1;
+                int i3 = i2 + resolution;
+                int i4 = i1 + resolution;
+                b.append("f ").append(corner(i1)).append(' ').append(corner(i2)).append(' ')
+                        .append(corner(i3)).append(' ').append(corner(i4)).append('\n');
+            }
+        }
+        obj = b.toString();
+    }
+
+    /**
+     * A face corner using the same index for vertex, texture and normal.
+     *
+     * @param i The index.
+     * @return The corner.
+     */
+    private static String corner(final int i) {
+        return i + "/" + i + "/" + i;
+    }
+
+    /**
+     * Parse the sphere.
+     *
+     * @return The model.
+     * @throws IOException Never, the data is in memory.
+     */
+    @Benchmark
+    public Model parse() throws IOException {
+        Model model = new Model();
+        model.parse(new BufferedReader(new StringReader(obj)), "/", "sphere.obj");
+        return model;
+    }
+}
@@ -26,6 +26,7 @@ class DefaultPlayer extends Player {
         super(new Vector3d(0,0,0), new Vector3d(0,0,1), new Vector3d(0,1,0), null);
 
         this.game = game;
+        setQuaternionOrientation(true);
 
         setLoopableAttachment(new LoopableAttachment() {
             @Override
@@ -1,9 +1,15 @@
 package net.pme;
 
+import net.pme.core.EntityCommandBuffer;
+import net.pme.core.EntityList;
 import net.pme.core.GameObject;
 import net.pme.core.Player;
 import net.pme.core.config.GameSettings;
+import net.pme.jobcenter.AdaptiveWorkerPolicy;
+import net.pme.jobcenter.ExecutorStrategy;
 import net.pme.jobcenter.GameLoop;
+import net.pme.jobcenter.Scheduler;
+import net.pme.jobcenter.TickPacer;
 import net.pme.graphics.Graphics;
 import net.pme.graphics.HudObject;
 import net.pme.model.ModelManager;
@@ -25,7 +31,8 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * @version 1.0
  */
 public final class Game {
-    private List<GameObject> gameObjects = new CopyOnWriteArrayList<>();
+    private final EntityList gameObjects = new EntityList();
+    private final EntityCommandBuffer entityCommands = new EntityCommandBuffer(gameObjects);
     private List<HudObject> hudObjects = new CopyOnWriteArrayList<HudObject>();
 
     private boolean isLoaded = false;
@@ -34,6 +41,12 @@ public final class Game {
     private Graphics graphics = null;
     private ModelManager modelManager;
     private GameSettings settings;
+    private ExecutorStrategy executorStrategy = null;
+    private boolean pipelined = false;
+    private double fixedTickRate = 0;
+    private TickPacer tickPacer = null;
+    private long frameBudget = 0;
+    private AdaptiveWorkerPolicy workerPolicy = null;
     private static int debugMode = 0;
 
     /**
@@ -55,13 +68,26 @@ public final class Game {
 
     /**
      * Add a gameObject to the game.
+     * <p/>
+     * The object is added at the next tick boundary, see {@link #getEntityCommands()}.
      *
      * @param gameObject The object that should be added.
      */
     public void addGameObject(final GameObject gameObject) {
-        if (!gameObjects.contains(gameObject)) {
-            gameObjects.add(gameObject);
-        }
+        entityCommands.spawn(gameObject);
+    }
+
+    /**
+     * Get a game object by its id in O(1).
+     * <p/>
+     * Objects are found once they were added at a tick boundary and until they are removed at one.
+     * Can be called from any thread, e.g. by the handlers of network packets.
+     *
+     * @param id The id of the object.
+     * @return The object or null when no object with the id is in the game.
+     */
+    public GameObject getGameObject(final long id) {
+        return gameObjects.getById(id);
     }
 
     /**
@@ -75,11 +101,13 @@ public final class Game {
 
     /**
      * Remove an object from the game objecst.
+     * <p/>
+     * The object is removed at the next tick boundary, see {@link #getEntityCommands()}.
      *
      * @param gameObject The object that should be removed.
      */
     public void removeGameObject(final GameObject gameObject) {
-        gameObjects.remove(gameObject);
+        entityCommands.despawn(gameObject);
     }
 
     /**
@@ -92,10 +120,22 @@ public final class Game {
     }
 
     /**
-     * Clear the movable object list.
+     * Clear the movable object list at the next tick boundary.
      */
     public void clearGameObjects() {
-        gameObjects.clear();
+        entityCommands.clear();
+    }
+
+    /**
+     * Get the commands spawning and despawning game objects.
+     * <p/>
+     * Any thread, e.g. a job, can queue commands. They are applied in one batch at the next tick boundary
+     * of the game loop, or when the next game run starts.
+     *
+     * @return The command buffer of the game objects.
+     */
+    public EntityCommandBuffer getEntityCommands() {
+        return entityCommands;
     }
 
     /**
@@ -132,7 +172,14 @@ public final class Game {
         }
 
         gameLoop = new GameLoop();
-
+        gameLoop.setExecutorStrategy(executorStrategy);
+        gameLoop.setPipelined(pipelined);
+        gameLoop.setFixedTickRate(fixedTickRate);
+        gameLoop.setTickPacer(tickPacer);
+        gameLoop.setFrameBudget(frameBudget);
+        gameLoop.setWorkerPolicy(workerPolicy);
+        gameLoop.setEntityCommandBuffer(entityCommands);
+        executorStrategy = null;
 
         addGameObject(player);
 
@@ -142,6 +189,82 @@ public final class Game {
         gameLoop = null;
     }
 
+    /**
+     * Set the strategy the jobs of the next game run are executed with.
+     * <p/>
+     * The strategy is shut down when the game loop ends, so set a new one before every run.
+     *
+     * @param executorStrategy The strategy. (Null uses a thread pool.)
+     */
+    public void setExecutorStrategy(final ExecutorStrategy executorStrategy) {
+        this.executorStrategy = executorStrategy;
+    }
+
+    /**
+     * Enable or disable pipelining of simulation and rendering for the next game run.
+     * <p/>
+     * When pipelined, the next tick is simulated while the last one is rendered.
+     * See {@link GameLoop#setPipelined(boolean)}.
+     *
+     * @param pipelined Whether to pipeline or not.
+     */
+    public void setPipelined(final boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * Simulate the next game run with a fixed timestep and render between the ticks.
+     * See {@link GameLoop#setFixedTickRate(double)}.
+     *
+     * @param tickRate The ticks per second, e.g. 30. (0 or less for a variable timestep)
+     */
+    public void setFixedTickRate(final double tickRate) {
+        this.fixedTickRate = tickRate;
+    }
+
+    /**
+     * Pace the game loop when running without a display, e.g. as dedicated server.
+     * See {@link GameLoop#setTickPacer(TickPacer)}.
+     *
+     * @param tickPacer The pacer. (Null to sleep a millisecond per iteration)
+     */
+    public void setTickPacer(final TickPacer tickPacer) {
+        this.tickPacer = tickPacer;
+    }
+
+    /**
+     * Set the time per frame the workers should be busy, background jobs exceeding it are deferred.
+     * See {@link Scheduler#setFrameBudget(long)}.
+     *
+     * @param frameBudget The budget in nanoseconds. (0 or less for no limit)
+     */
+    public void setFrameBudget(final long frameBudget) {
+        this.frameBudget = frameBudget;
+        if (gameLoop != null) {
+            gameLoop.setFrameBudget(frameBudget);
+        }
+    }
+
+    /**
+     * Let the number of workers of the next game run follow their utilization, capped to share
+     * the machine with other instances. Needs a resizable executor strategy, like the default thread pool.
+     * See {@link Scheduler#setWorkerPolicy(AdaptiveWorkerPolicy)}.
+     *
+     * @param workerPolicy The policy. (Null for a fixed number of workers)
+     */
+    public void setWorkerPolicy(final AdaptiveWorkerPolicy workerPolicy) {
+        this.workerPolicy = workerPolicy;
+    }
+
+    /**
+     * Get the scheduler of the running game, e.g. to read its statistics.
+     *
+     * @return The scheduler or null when the game is not running.
+     */
+    public Scheduler getScheduler() {
+        return gameLoop != null ? gameLoop.getScheduler() : null;
+    }
+
     /**
      * Stop the currently running jobcenter.
      */
@@ -0,0 +1,140 @@
+package net.pme.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Queues spawning and despawning of game objects until the next tick boundary.
+ * <p/>
+ * Any thread can queue commands without locking. The game loop applies all queued commands
+ * in the order they were queued to its {@link EntityList} in one batch when no job runs,
+ * so spawning many objects in one frame does not copy the list per object.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class EntityCommandBuffer {
+    private static final int SPAWN = 0;
+    private static final int DESPAWN = 1;
+    private static final int CLEAR = 2;
+    private final EntityList target;
+    /**
+     * The queued commands, the latest first.
+     */
+    private final AtomicReference<Command> commands = new AtomicReference<>();
+
+    /**
+     * Create a command buffer.
+     *
+     * @param target The list the commands are applied to.
+     */
+    public EntityCommandBuffer(final EntityList target) {
+        this.target = target;
+    }
+
+    /**
+     * @return The list the commands are applied to.
+     */
+    public EntityList getTarget() {
+        return target;
+    }
+
+    /**
+     * Add an object at the next tick boundary, unless it is contained then.
+     *
+     * @param gameObject The object to add.
+     */
+    public void spawn(final GameObject gameObject) {
+        push(new Command(SPAWN, gameObject));
+    }
+
+    /**
+     * Remove an object at the next tick boundary.
+     *
+     * @param gameObject The object to remove.
+     */
+    public void despawn(final GameObject gameObject) {
+        push(new Command(DESPAWN, gameObject));
+    }
+
+    /**
+     * Remove all objects at the next tick boundary. Objects spawned after the call are kept.
+     */
+    public void clear() {
+        push(new Command(CLEAR, null));
+    }
+
+    /**
+     * Test if commands are queued.
+     *
+     * @return Whether commands are queued or not.
+     */
+    public boolean isEmpty() {
+        return commands.get() == null;
+    }
+
+    /**
+     * Apply all queued commands to the list.
+     * <p/>
+     * Must be called by the thread owning the list while nobody reads it.
+     */
+    public void apply() {
+        Command head = commands.getAndSet(null);
+        if (head == null) {
+            return;
+        }
+        // Reverse the queued commands to apply them in the order they were queued.
+        Command ordered = null;
+        while (head != null) {
+            Command next = head.next;
+            head.next = ordered;
+            ordered = head;
+            head = next;
+        }
+        for (Command c = ordered; c != null; c = c.next) {
+            switch (c.type) {
+                case SPAWN:
+                    target.add(c.gameObject);
+                    break;
+                case DESPAWN:
+                    target.remove(c.gameObject);
+                    break;
+                default:
+                    target.clear();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Queue a command.
+     *
+     * @param command The command.
+     */
+    private void push(final Command command) {
+        while (true) {
+            Command head = commands.get();
+            command.next = head;
+            if (commands.compareAndSet(head, command)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * A queued command.
+     */
+    private static final class Command {
+        private final int type;
+        private final GameObject gameObject;
+        private Command next;
+
+        /**
+         * @param type       The type of the command.
+         * @param gameObject The object or null.
+         */
+        private Command(final int type, final GameObject gameObject) {
+            this.type = type;
+            this.gameObject = gameObject;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package net.pme.core;
+
+import net.pme.core.utils.LongObjectMap;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * The game objects of a game in a plain array.
+ * <p/>
+ * Every object stores its index in the list, so testing if an object is contained and removing it are O(1).
+ * Removing moves the last object into the gap, so the order of the objects is not kept.
+ * An object can only be in one entity list at a time and the list must only be changed by one thread,
+ * the game loop applies the changes of an {@link EntityCommandBuffer} at the tick boundaries. Looking up
+ * objects by their ids is safe from any thread.
+ * <p/>
+ * The objects are indexed by their ids. Optionally their render transforms are kept in the same order
+ * in a {@link TransformStore}.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class EntityList extends AbstractList<GameObject> implements RandomAccess {
+    private static final int INITIAL_CAPACITY = 16;
+    private GameObject[] objects = new GameObject[INITIAL_CAPACITY];
+    private int size = 0;
+    /**
+     * The render transforms of the objects. (null when they are not stored)
+     */
+    private final TransformStore transforms;
+    private final LongObjectMap<GameObject> byId = new LongObjectMap<>();
+
+    /**
+     * Create a list that does not store the transforms of its objects.
+     */
+    public EntityList() {
+        this(false);
+    }
+
+    /**
+     * Create a list.
+     * <p/>
+     * Storing the transforms costs a second write of every transform when the objects are snapshotted,
+     * so only store them when a system reads them, see {@link #getTransforms()}.
+     *
+     * @param storeTransforms Whether to keep the render transforms in a transform store.
+     */
+    public EntityList(final boolean storeTransforms) {
+        transforms = storeTransforms ? new TransformStore() : null;
+    }
+
+    /**
+     * Get the render transforms of the objects, stored at the same indices as the objects.
+     *
+     * @return The transform store or null when the list was created without one.
+     */
+    public TransformStore getTransforms() {
+        return transforms;
+    }
+
+    /**
+     * Get an object by its id in O(1).
+     * <p/>
+     * Ids should be unique, of objects with the same id the one added last is found.
+     * Can be called from any thread, also while the list is changed.
+     *
+     * @param id The id of the object.
+     * @return The object or null when no object with the id is in the list.
+     */
+    public GameObject getById(final long id) {
+        return byId.get(id);
+    }
+
+    @Override
+    public GameObject get(final int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return objects[index];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Add an object unless it is contained already.
+     *
+     * @param gameObject The object to add.
+     * @return Whether the object was added or not.
+     */
+    @Override
+    public boolean add(final GameObject gameObject) {
+        if (contains(gameObject)) {
+            return false;
+        }
+        if (size == objects.length) {
+            GameObject[] grown = new GameObject[objects.length * 2];
+            System.arraycopy(objects, 0, grown, 0, size);
+            objects = grown;
+        }
+        gameObject.setEntityIndex(size);
+        if (transforms != null) {
+            gameObject.setTransformStore(transforms);
+            transforms.add(gameObject.getRenderTransform());
+        }
+        objects[size++] = gameObject;
+        byId.put(gameObject.getId(), gameObject);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        if (!(o instanceof GameObject)) {
+            return -1;
+        }
+        int index = ((GameObject) o).getEntityIndex();
+        return index >= 0 && index < size && objects[index] == o ? index : -1;
+    }
+
+    @Override
+    public int lastIndexOf(final Object o) {
+        return indexOf(o);
+    }
+
+    /**
+     * Remove an object. The last object takes its place.
+     *
+     * @param o The object to remove.
+     * @return Whether the object was contained or not.
+     */
+    @Override
+    public boolean remove(final Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    /**
+     * Remove the object at an index. The last object takes its place.
+     *
+     * @param index The index.
+     * @return The removed object.
+     */
+    @Override
+    public GameObject remove(final int index) {
+        GameObject removed = get(index);
+        GameObject last = objects[--size];
+        objects[index] = last;
+        last.setEntityIndex(index);
+        objects[size] = null;
+        if (transforms != null) {
+            transforms.remove(index);
+            removed.setTransformStore(null);
+        }
+        removed.setEntityIndex(-1);
+        if (byId.get(removed.getId()) == removed) {
+            byId.remove(removed.getId());
+        }
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            objects[i].setEntityIndex(-1);
+            objects[i].setTransformStore(null);
+            objects[i] = null;
+        }
+        size = 0;
+        if (transforms != null) {
+            transforms.clear();
+        }
+        byId.clear();
+        modCount++;
+    }
+}
@@ -2,14 +2,24 @@ package net.pme.core;
 
 import net.pme.core.math.MathUtils;
 import net.pme.core.math.Matrix;
+import net.pme.core.math.Quaternion;
 import net.pme.core.math.Vector3d;
 import net.pme.jobcenter.LoopableAttachment;
 import net.pme.graphics.RenderAttachment;
 import net.pme.jobcenter.MoveJob;
 import net.pme.physics.PhysicsAttachment;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Models a GameObject int the PM-Engine. All game objects require an ID.
+ * <p/>
+ * Game objects can be attached to a parent, e.g. a turret to a ship. The position, front and up of an attached
+ * object are relative to its parent and its world transform follows the parent. The world transforms are
+ * recomputed after the snapshots of a tick, only for the subtrees that changed. Each root object snapshots its
+ * subtree and updates it in one step, see {@link #snapshotSubtree()}.
  *
  * @author Michael Fürst
  * @version 1.0
@@ -34,7 +44,61 @@ public abstract class GameObject {
      * The direction where the top of the object is.
      */
     private Vector3d up;
-    private MoveJob moveJob = new MoveJob(null, this);
+    /**
+     * The orientation when rotating with quaternions. (null when rotating the front and up vectors)
+     */
+    private Quaternion orientation = null;
+    /**
+     * Whether front and up must be derived from the orientation.
+     */
+    private boolean axesOutdated = false;
+    /**
+     * Created on the first call of the deprecated {@link #getMoveJob()}.
+     */
+    private MoveJob moveJob = null;
+    /**
+     * The transform at the end of the last tick. Read by the renderer.
+     */
+    private final TransformSnapshot renderTransform = new TransformSnapshot();
+    /**
+     * The transform at the end of the tick before the last one. Used to interpolate between ticks.
+     */
+    private final TransformSnapshot previousTransform = new TransformSnapshot();
+    /**
+     * The index of the object in its entity list. (-1 when it is in none)
+     */
+    private int entityIndex = -1;
+    /**
+     * The store of the entity list the render transform is published to. (null when there is none)
+     */
+    private TransformStore transformStore = null;
+    /**
+     * The object this one is attached to. (null for a root object)
+     */
+    private GameObject parent = null;
+    private final List<GameObject> children = new ArrayList<>();
+    private final List<GameObject> unmodifiableChildren = Collections.unmodifiableList(children);
+    /**
+     * The world transform of an attached object. Root objects use their render transforms.
+     */
+    private final TransformSnapshot worldTransform = new TransformSnapshot();
+    private final TransformSnapshot previousWorldTransform = new TransformSnapshot();
+    private final Matrix worldMatrix = new Matrix();
+    private final Vector3d worldXAxis = new Vector3d();
+    /**
+     * The inverse of the world matrix, computed when it is needed after the world matrix changed.
+     */
+    private final Matrix inverseWorldMatrix = new Matrix();
+    private boolean inverseWorldOutdated = true;
+    /**
+     * The number of world transform updates the object needs. (2 after a change, to update the previous world
+     * transform too)
+     */
+    private int worldUpdates = 0;
+    /**
+     * Whether an object attached to this one, directly or not, needs world transform updates.
+     */
+    private boolean childrenChanged = false;
 
     /**
      * Create a new gameobject.
@@ -49,6 +113,30 @@ public abstract class GameObject {
         this.setPosition(position.clone());
         this.setFront(front.clone().normalize());
         this.setUp(up.clone().normalize());
+        snapshotTransform();
+        snapshotTransform();
+        updateWorldTransforms();
+    }
+
+    /**
+     * @return The index of the object in its entity list. (-1 when it is in none)
+     */
+    final int getEntityIndex() {
+        return entityIndex;
+    }
+
+    /**
+     * @param entityIndex The index of the object in its entity list. (-1 when it is in none)
+     */
+    final void setEntityIndex(final int entityIndex) {
+        this.entityIndex = entityIndex;
+    }
+
+    /**
+     * @param transformStore The store the render transform is published to. (null for none)
+     */
+    final void setTransformStore(final TransformStore transformStore) {
+        this.transformStore = transformStore;
     }
 
     /**
@@ -97,9 +185,14 @@ public abstract class GameObject {
     }
 
     /**
+     * Get the front vector.
+     * <p/>
+     * When rotating with quaternions it is derived from the orientation, changing it has no effect.
+     *
      * @return the front
      */
     public final Vector3d getFront() {
+        updateAxes();
         return front;
     }
 
@@ -107,16 +200,23 @@ public abstract class GameObject {
      * @param front the front to set
      */
     public final void setFront(final Vector3d front) {
+        updateAxes();
         this.front = front.normalize().clone();
+        updateOrientation();
         if (getRenderAttachment() != null) {
             getRenderAttachment().setNeedsUpdate(true);
         }
     }
 
     /**
+     * Get the up vector.
+     * <p/>
+     * When rotating with quaternions it is derived from the orientation, changing it has no effect.
+     *
      * @return the up
      */
     public final Vector3d getUp() {
+        updateAxes();
         return up;
     }
 
@@ -124,7 +224,87 @@ public abstract class GameObject {
      * @param up the up to set
      */
     public final void setUp(final Vector3d up) {
+        updateAxes();
         this.up = up.normalize().clone();
+        updateOrientation();
+        if (getRenderAttachment() != null) {
+            getRenderAttachment().setNeedsUpdate(true);
+        }
+    }
+
+    /**
+     * Rotate with a unit quaternion instead of the front and up vectors.
+     * <p/>
+     * The quaternion is rotated in place, so rotating does not create garbage and the axes stay orthonormal.
+     * Front and up are derived from it when they are needed.
+     *
+     * @param enabled Whether to rotate with a quaternion or not. (Disabled by default)
+     */
+    public final void setQuaternionOrientation(final boolean enabled) {
+        if (enabled && orientation == null) {
+            orientation = new Quaternion(1, 0, 0, 0);
+            updateOrientation();
+        } else if (!enabled && orientation != null) {
+            updateAxes();
+            orientation = null;
+        }
+    }
+
+    /**
+     * @return Whether the object rotates with a quaternion or not.
+     */
+    public final boolean isQuaternionOrientation() {
+        return orientation != null;
+    }
+
+    /**
+     * Get the orientation when rotating with a quaternion.
+     * <p/>
+     * It rotates the z axis onto front and the y axis onto up. Do not change it.
+     *
+     * @return The orientation or null when not rotating with a quaternion.
+     */
+    public final Quaternion getOrientation() {
+        return orientation;
+    }
+
+    /**
+     * Derive front and up from the orientation, if it changed.
+     */
+    private void updateAxes() {
+        if (axesOutdated) {
+            orientation.rotate(0, 0, 1, front);
+            orientation.rotate(0, 1, 0, up);
+            axesOutdated = false;
+        }
+    }
+
+    /**
+     * Set the orientation to front and up, after making up orthogonal to front.
+     */
+    private void updateOrientation() {
+        if (orientation == null || up == null) {
+            return;
+        }
+        double d = up.dotProduct(front);
+        up.set(up.getX() - d * front.getX(), up.getY() - d * front.getY(), up.getZ() - d * front.getZ());
+        up.normalize();
+        orientation.setFromAxes(up, front).normalize();
+        axesOutdated = false;
+    }
+
+    /**
+     * Rotate the orientation around an axis of the object.
+     *
+     * @param angle The angle in radians.
+     * @param x     The x of the axis in object space.
+     * @param y     The y of the axis in object space.
+     * @param z     The z of the axis in object space.
+     */
+    private void rotateOrientation(final double angle, final double x, final double y, final double z) {
+        double sin = Math.sin(angle / 2);
+        orientation.multiply(Math.cos(angle / 2), x * sin, y * sin, z * sin).normalize();
+        axesOutdated = true;
         if (getRenderAttachment() != null) {
             getRenderAttachment().setNeedsUpdate(true);
         }
@@ -137,6 +317,10 @@ public abstract class GameObject {
      */
     public final void rotateAroundFrontAxis(final double degree) {
         double angle = MathUtils.DEG2RAD * degree;
+        if (orientation != null) {
+            rotateOrientation(angle, 0, 0, 1);
+            return;
+        }
         up.transformCoords(Matrix.rotationAxis(front, angle));
         up.normalize();
         if (getRenderAttachment() != null) {
@@ -151,6 +335,10 @@ public abstract class GameObject {
      */
     public final void rotateAroundUpAxis(final double degree) {
         double angle = MathUtils.DEG2RAD * degree;
+        if (orientation != null) {
+            rotateOrientation(angle, 0, 1, 0);
+            return;
+        }
         front.transformCoords(Matrix.rotationAxis(up, angle));
         front.normalize();
         if (getRenderAttachment() != null) {
@@ -166,6 +354,11 @@ public abstract class GameObject {
      * @param degree The amount it should be rotated in degree.
      */
     public final void rotateAroundPitchAxis(final double degree) {
+        if (orientation != null) {
+            // front x up is the negative x axis in object space.
+            rotateOrientation(MathUtils.DEG2RAD * degree, -1, 0, 0);
+            return;
+        }
         Vector3d pitch = front.clone().crossProduct(up);
         double angle = MathUtils.DEG2RAD * degree;
         up.transformCoords( Matrix.rotationAxis(pitch, angle));
@@ -183,19 +376,274 @@ public abstract class GameObject {
      * @param relative The vector defining the motion.
      */
     public final void move(final Vector3d relative) {
-        Vector3d pitch = front.clone().crossProduct(up);
+        updateAxes();
+        double fx = front.getX(), fy = front.getY(), fz = front.getZ();
+        double ux = up.getX(), uy = up.getY(), uz = up.getZ();
+        // The relative vector in the axes pitch (front x up), up and front.
+        double rx = relative.getX(), ry = relative.getY(), rz = relative.getZ();
+        position.set(position.getX() + rx * (fy * uz - fz * uy) + ry * ux + rz * fx,
+                position.getY() + rx * (fz * ux - fx * uz) + ry * uy + rz * fy,
+                position.getZ() + rx * (fx * uy - fy * ux) + ry * uz + rz * fz);
+        if (getRenderAttachment() != null) {
+            getRenderAttachment().setNeedsUpdate(true);
+        }
+    }
+
+    /**
+     * Get a job that updates the loopable attachment of this object.
+     *
+     * @return The job of this object.
+     * @deprecated The game loop updates the objects with {@link net.pme.jobcenter.Scheduler#parallelFor}
+     * instead of one job per object. Will be removed with {@link MoveJob}.
+     */
+    @Deprecated
+    public MoveJob getMoveJob() {
+        if (moveJob == null) {
+            moveJob = new MoveJob(null, this);
+        }
+        return moveJob;
+    }
+
+    /**
+     * Copy the current transform into the render transform.
+     * The render transform becomes the previous transform.
+     * When the object is in an entity list that stores transforms, the render transform is also written there.
+     * <p/>
+     * Only call it when no job moves the object. The game loop snapshots whole subtrees, see
+     * {@link #snapshotSubtree()}.
+     */
+    public final void snapshotTransform() {
+        updateAxes();
+        previousTransform.set(renderTransform);
+        if (renderTransform.set(position, front, up) && getRenderAttachment() != null) {
+            getRenderAttachment().setNeedsUpdate(true);
+        }
+        if (!renderTransform.hasSameOrientation(previousTransform)
+                || !renderTransform.hasSamePosition(previousTransform)) {
+            markWorldChanged();
+        }
+        if (transformStore != null) {
+            transformStore.set(entityIndex, renderTransform);
+        }
+    }
+
+    /**
+     * Snapshot the transforms of the subtree of this root object, then update its world transforms.
+     * <p/>
+     * Called by the game loop at the end of every tick, in parallel for all root objects, when no job moves
+     * the objects. Does nothing for attached objects, their root snapshots them.
+     */
+    public final void snapshotSubtree() {
+        if (parent == null) {
+            snapshotChildren();
+            updateWorld(false);
+        }
+    }
+
+    /**
+     * Snapshot the transform of this object and of all objects attached to it.
+     */
+    private void snapshotChildren() {
+        snapshotTransform();
+        synchronized (children) {
+            for (int i = 0; i < children.size(); i++) {
+                children.get(i).snapshotChildren();
+            }
+        }
+    }
+
+    /**
+     * Attach this object to another one or detach it.
+     * <p/>
+     * The position, front and up of an attached object are relative to the parent: x is parent up cross
+     * parent front, y is parent up and z is parent front. They are not changed, so the object jumps to
+     * its place relative to the parent.
+     * <p/>
+     * The transforms of a subtree are only snapshotted and updated when its root is in the list of the game loop.
+     * Do not change the hierarchy while the transforms are snapshotted.
+     *
+     * @param parent The object to attach to. (null to detach)
+     */
+    public final void setParent(final GameObject parent) {
+        if (parent == this.parent) {
+            return;
+        }
+        for (GameObject p = parent; p != null; p = p.parent) {
+            if (p == this) {
+                throw new IllegalArgumentException("An object cannot be attached to itself or its children.");
+            }
+        }
+        if (this.parent != null) {
+            synchronized (this.parent.children) {
+                this.parent.children.remove(this);
+            }
+        }
+        this.parent = parent;
+        if (parent != null) {
+            synchronized (parent.children) {
+                parent.children.add(this);
+            }
+        }
+        markWorldChanged();
+        resetWorldTransforms();
+    }
+
+    /**
+     * @return The object this one is attached to. (null for a root object)
+     */
+    public final GameObject getParent() {
+        return parent;
+    }
+
+    /**
+     * @return The objects attached to this one. (Unmodifiable)
+     */
+    public final List<GameObject> getChildren() {
+        return unmodifiableChildren;
+    }
 
-        Matrix m = Matrix.axes(pitch, up, front);
+    /**
+     * Get the world transform of the object at the end of the last tick.
+     * <p/>
+     * For root objects this is the render transform.
+     *
+     * @return The world transform.
+     */
+    public final TransformSnapshot getWorldTransform() {
+        return parent == null ? renderTransform : worldTransform;
+    }
 
-        Vector3d absolute = relative.clone().transformCoords(m);
+    /**
+     * Get the world transform of the object at the end of the tick before the last one.
+     *
+     * @return The previous world transform.
+     */
+    public final TransformSnapshot getPreviousWorldTransform() {
+        return parent == null ? previousTransform : previousWorldTransform;
+    }
 
-        getPosition().add(absolute);
+    /**
+     * Get the matrix of the world transform.
+     * <p/>
+     * It maps up cross front on x, up on y, front on z and then moves to the position. Do not change it.
+     *
+     * @return The world matrix.
+     */
+    public final Matrix getWorldMatrix() {
+        return worldMatrix;
+    }
+
+    /**
+     * Get the inverse of the world matrix, which maps world coordinates into the space of the object,
+     * e.g. to test a picking ray or a collision against the model. Do not change it.
+     *
+     * @return The inverse world matrix.
+     */
+    public final Matrix getInverseWorldMatrix() {
+        if (inverseWorldOutdated) {
+            worldMatrix.invertRigid(inverseWorldMatrix);
+            inverseWorldOutdated = false;
+        }
+        return inverseWorldMatrix;
+    }
+
+    /**
+     * Update the world transforms of the changed parts of the subtree of this root object.
+     * <p/>
+     * Call it after the transforms of the subtree were snapshotted, {@link #snapshotSubtree()} does both.
+     * Does nothing for attached objects, their root updates them.
+     */
+    public final void updateWorldTransforms() {
+        if (parent == null) {
+            updateWorld(false);
+        }
+    }
+
+    /**
+     * Mark the world transform of this object as changed and its parents as having changed children.
+     */
+    private void markWorldChanged() {
+        worldUpdates = 2;
+        for (GameObject p = parent; p != null && !p.childrenChanged; p = p.parent) {
+            p.childrenChanged = true;
+        }
+    }
+
+    /**
+     * Update the world transforms of this object, if needed, and of the changed children.
+     *
+     * @param parentChanged Whether the world transform of the parent was updated.
+     * @return Whether the subtree needs another update.
+     */
+    private boolean updateWorld(final boolean parentChanged) {
+        boolean changed = parentChanged || worldUpdates > 0;
+        if (changed) {
+            computeWorld();
+            if (worldUpdates > 0) {
+                worldUpdates--;
+            }
+        }
+        if (changed || childrenChanged) {
+            boolean pending = false;
+            synchronized (children) {
+                for (int i = 0; i < children.size(); i++) {
+                    pending |= children.get(i).updateWorld(changed);
+                }
+            }
+            childrenChanged = pending;
+        }
+        return worldUpdates > 0 || childrenChanged;
+    }
+
+    /**
+     * Compute the world transform and matrix of this object immediately, for the whole subtree,
+     * without interpolating from the last world transforms.
+     */
+    private void resetWorldTransforms() {
+        computeWorld();
+        previousWorldTransform.set(worldTransform);
+        synchronized (children) {
+            for (int i = 0; i < children.size(); i++) {
+                children.get(i).resetWorldTransforms();
+            }
+        }
+    }
+
+    /**
+     * Compute the world transform from the parent and the world matrix.
+     */
+    private void computeWorld() {
+        if (parent != null) {
+            previousWorldTransform.set(worldTransform);
+            worldTransform.setTransformed(renderTransform, parent.getWorldTransform());
+        }
+        TransformSnapshot world = getWorldTransform();
+        worldXAxis.set(world.getUp()).crossProduct(world.getFront());
+        worldMatrix.setAxes(worldXAxis, world.getUp(), world.getFront(), world.getPosition());
+        inverseWorldOutdated = true;
         if (getRenderAttachment() != null) {
             getRenderAttachment().setNeedsUpdate(true);
         }
     }
 
-    public MoveJob getMoveJob() {
-        return moveJob;
+    /**
+     * Get the transform of the object at the end of the last tick.
+     * <p/>
+     * Use this instead of the position, front and up vectors when rendering,
+     * as the simulation of the next tick may already be running.
+     *
+     * @return The render transform.
+     */
+    public final TransformSnapshot getRenderTransform() {
+        return renderTransform;
+    }
+
+    /**
+     * Get the transform of the object at the end of the tick before the last one.
+     *
+     * @return The previous render transform.
+     */
+    public final TransformSnapshot getPreviousTransform() {
+        return previousTransform;
     }
 }
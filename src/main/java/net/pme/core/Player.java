@@ -1,12 +1,13 @@
 package net.pme.core;
 
 import net.pme.core.math.Matrix;
+import net.pme.core.math.Matrix4f;
 import net.pme.core.math.Vector3d;
 import net.pme.graphics.RenderAttachment;
 import net.pme.model.Model;
 import org.lwjgl.opengl.GL11;
 
-import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 
 /**
  * A player represents the person sitting in front of the computer playing the
@@ -19,7 +20,21 @@ public abstract class Player extends GameObject {
     /**
      * The matrix buffer to avoid recalculations.
      */
-    private DoubleBuffer matrixBuffer;
+    private FloatBuffer matrixBuffer;
+    /**
+     * The camera matrix in float precision, uploaded to GL.
+     */
+    private final Matrix4f cameraMatrix = new Matrix4f();
+    /**
+     * The transform between the last two ticks, reused every frame.
+     */
+    private final TransformSnapshot interpolated = new TransformSnapshot();
+    /**
+     * The camera matrix and the transform it was built from, rebuilt only when the transform changes.
+     */
+    private final Matrix camera = new Matrix();
+    private final TransformSnapshot cameraTransform = new TransformSnapshot();
+    private final Vector3d cameraXAxis = new Vector3d();
 
     /**
      * Create a new player.
@@ -39,16 +54,44 @@ public abstract class Player extends GameObject {
      * call of this function.
      */
     public final void applyCamera() {
-        if (getRenderAttachment() != null) {
-            Matrix m = Matrix.camera(getPosition(),
-                    getFront().clone().crossProduct(getUp()), getUp(), getFront());
+        applyCamera(1.0);
+    }
 
-            matrixBuffer = m.getValues(matrixBuffer);
+    /**
+     * Apply the camera between the last two ticks on the scene.
+     *
+     * @param alpha How far the frame is from the tick before the last one to the last one. (0 to 1)
+     */
+    public final void applyCamera(final double alpha) {
+        if (getRenderAttachment() != null) {
+            TransformSnapshot transform = getWorldTransform();
+            if (alpha < 1.0) {
+                interpolated.interpolate(getPreviousWorldTransform(), transform, alpha);
+                transform = interpolated;
+            }
+            if (matrixBuffer == null || !cameraTransform.hasSamePosition(transform)
+                    || !cameraTransform.hasSameOrientation(transform)) {
+                cameraTransform.set(transform);
+                cameraXAxis.set(transform.getFront()).crossProduct(transform.getUp());
+                camera.setCamera(transform.getPosition(), cameraXAxis, transform.getUp(), transform.getFront());
+                matrixBuffer = cameraMatrix.set(camera).store(matrixBuffer);
+            }
             matrixBuffer.position(0);
             GL11.glMultMatrix(matrixBuffer);
         }
     }
 
+    /**
+     * Get the camera matrix of the last applied camera, e.g. to pick objects. Do not change it.
+     * <p/>
+     * It maps the world into the view of the player. Its inverse is the world matrix of the camera.
+     *
+     * @return The camera matrix.
+     */
+    public final Matrix getCameraMatrix() {
+        return camera;
+    }
+
     /**
      * Handles keyboard input.
      * <p/>
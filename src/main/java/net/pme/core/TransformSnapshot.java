@@ -0,0 +1,179 @@
+package net.pme.core;
+
+import net.pme.core.math.Vector3d;
+
+/**
+ * The transform of a game object as it was at the end of a tick.
+ * <p/>
+ * The renderer only reads snapshots, so the simulation can already move the objects
+ * while the last tick is drawn. The vectors must not be modified by the reader.
+ * <p/>
+ * Snapshots of two ticks can be interpolated to render between the ticks of a fixed timestep.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class TransformSnapshot {
+    private static final double EPSILON = 1E-9;
+    private final Vector3d position = new Vector3d();
+    private final Vector3d front = new Vector3d();
+    private final Vector3d up = new Vector3d();
+
+    /**
+     * Copy the transform.
+     *
+     * @param position The position.
+     * @param front    The front vector.
+     * @param up       The up vector.
+     * @return Whether the orientation changed or not.
+     */
+    boolean set(final Vector3d position, final Vector3d front, final Vector3d up) {
+        boolean rotated = differs(this.front, front) || differs(this.up, up);
+        this.position.set(position);
+        this.front.set(front);
+        this.up.set(up);
+        return rotated;
+    }
+
+    /**
+     * Copy another snapshot.
+     *
+     * @param other The snapshot to copy.
+     */
+    void set(final TransformSnapshot other) {
+        position.set(other.position);
+        front.set(other.front);
+        up.set(other.up);
+    }
+
+    /**
+     * Set this snapshot to a local transform moved into the space of another transform.
+     * <p/>
+     * The local x axis is parent up cross parent front, y is parent up and z is parent front.
+     *
+     * @param local  The local transform.
+     * @param parent The transform of the space.
+     */
+    void setTransformed(final TransformSnapshot local, final TransformSnapshot parent) {
+        Vector3d f = parent.front;
+        Vector3d u = parent.up;
+        double xx = u.getY() * f.getZ() - u.getZ() * f.getY();
+        double xy = u.getZ() * f.getX() - u.getX() * f.getZ();
+        double xz = u.getX() * f.getY() - u.getY() * f.getX();
+        transform(position, local.position, xx, xy, xz, u, f);
+        position.add(parent.position);
+        transform(front, local.front, xx, xy, xz, u, f);
+        transform(up, local.up, xx, xy, xz, u, f);
+    }
+
+    /**
+     * Express a vector in the axes x, up and front.
+     *
+     * @param result The vector to store the result in.
+     * @param v      The vector.
+     * @param xx     The x of the x axis.
+     * @param xy     The y of the x axis.
+     * @param xz     The z of the x axis.
+     * @param u      The y axis.
+     * @param f      The z axis.
+     */
+    private static void transform(final Vector3d result, final Vector3d v, final double xx, final double xy,
+                                  final double xz, final Vector3d u, final Vector3d f) {
+        result.set(v.getX() * xx + v.getY() * u.getX() + v.getZ() * f.getX(),
+                v.getX() * xy + v.getY() * u.getY() + v.getZ() * f.getY(),
+                v.getX() * xz + v.getY() * u.getZ() + v.getZ() * f.getZ());
+    }
+
+    /**
+     * Set this snapshot to a transform between two snapshots.
+     * <p/>
+     * The position is interpolated linearly. The axes are interpolated linearly and normalized,
+     * then up is made orthogonal to front again.
+     *
+     * @param from  The snapshot at alpha 0.
+     * @param to    The snapshot at alpha 1.
+     * @param alpha The interpolation factor between 0 and 1.
+     */
+    public void interpolate(final TransformSnapshot from, final TransformSnapshot to, final double alpha) {
+        lerp(position, from.position, to.position, alpha);
+        lerp(front, from.front, to.front, alpha);
+        lerp(up, from.up, to.up, alpha);
+
+        if (front.length() < EPSILON) {
+            front.set(to.front);
+        }
+        front.normalize();
+        double d = up.dotProduct(front);
+        up.set(up.getX() - d * front.getX(), up.getY() - d * front.getY(), up.getZ() - d * front.getZ());
+        if (up.length() < EPSILON) {
+            up.set(to.up);
+        }
+        up.normalize();
+    }
+
+    /**
+     * Test if the axes of two snapshots are exactly the same.
+     *
+     * @param other The other snapshot.
+     * @return Whether the orientation is the same or not.
+     */
+    public boolean hasSameOrientation(final TransformSnapshot other) {
+        return !differs(front, other.front) && !differs(up, other.up);
+    }
+
+    /**
+     * Test if the positions of two snapshots are exactly the same.
+     *
+     * @param other The other snapshot.
+     * @return Whether the position is the same or not.
+     */
+    public boolean hasSamePosition(final TransformSnapshot other) {
+        return !differs(position, other.position);
+    }
+
+    /**
+     * Linear interpolation of two vectors.
+     *
+     * @param result The vector to store the result in.
+     * @param a      The vector at alpha 0.
+     * @param b      The vector at alpha 1.
+     * @param alpha  The interpolation factor.
+     */
+    private static void lerp(final Vector3d result, final Vector3d a, final Vector3d b, final double alpha) {
+        result.set(a.getX() + (b.getX() - a.getX()) * alpha,
+                a.getY() + (b.getY() - a.getY()) * alpha,
+                a.getZ() + (b.getZ() - a.getZ()) * alpha);
+    }
+
+    /**
+     * Test if two vectors are not exactly the same.
+     *
+     * @param a The vector a.
+     * @param b The vector b.
+     * @return Whether any component differs.
+     */
+    private static boolean differs(final Vector3d a, final Vector3d b) {
+        return a.getX() != b.getX() || a.getY() != b.getY() || a.getZ() != b.getZ();
+    }
+
+    /**
+     * @return the position
+     */
+    public Vector3d getPosition() {
+        return position;
+    }
+
+    /**
+     * @return the front
+     */
+    public Vector3d getFront() {
+        return front;
+    }
+
+    /**
+     * @return the up
+     */
+    public Vector3d getUp() {
+        return up;
+    }
+}
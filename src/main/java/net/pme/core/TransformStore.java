@@ -0,0 +1,137 @@
+package net.pme.core;
+
+import net.pme.core.math.Vector3d;
+
+/**
+ * The render transforms of the objects of an {@link EntityList} in contiguous arrays.
+ * <p/>
+ * The transform of the object at index i of the list is stored at i * STRIDE to i * STRIDE + 2 of the
+ * position, front and up arrays. The arrays are written when the objects are snapshotted at the end of
+ * every tick, so systems that touch every object, like culling or network replication, can read them
+ * linearly instead of following a pointer per object. Only lists created with a store keep one, see
+ * {@link EntityList#EntityList(boolean)}.
+ * <p/>
+ * The arrays are replaced when the list grows, so get them again after the list changed.
+ * Do not modify them.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class TransformStore {
+    /**
+     * The number of values per object in an array.
+     */
+    public static final int STRIDE = 3;
+    private static final int INITIAL_CAPACITY = 16;
+    private double[] positions = new double[INITIAL_CAPACITY * STRIDE];
+    private double[] fronts = new double[INITIAL_CAPACITY * STRIDE];
+    private double[] ups = new double[INITIAL_CAPACITY * STRIDE];
+    private int size = 0;
+
+    /**
+     * Only entity lists create stores.
+     */
+    TransformStore() {
+    }
+
+    /**
+     * @return The number of stored transforms.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return The positions (x, y, z per object).
+     */
+    public double[] getPositions() {
+        return positions;
+    }
+
+    /**
+     * @return The normalized front vectors (x, y, z per object).
+     */
+    public double[] getFronts() {
+        return fronts;
+    }
+
+    /**
+     * @return The normalized up vectors (x, y, z per object).
+     */
+    public double[] getUps() {
+        return ups;
+    }
+
+    /**
+     * Append the transform of an object.
+     *
+     * @param transform The transform.
+     */
+    void add(final TransformSnapshot transform) {
+        if (size * STRIDE == positions.length) {
+            positions = grow(positions);
+            fronts = grow(fronts);
+            ups = grow(ups);
+        }
+        set(size++, transform);
+    }
+
+    /**
+     * Store the transform of an object.
+     *
+     * @param index     The index of the object.
+     * @param transform The transform.
+     */
+    void set(final int index, final TransformSnapshot transform) {
+        int offset = index * STRIDE;
+        write(positions, offset, transform.getPosition());
+        write(fronts, offset, transform.getFront());
+        write(ups, offset, transform.getUp());
+    }
+
+    /**
+     * Remove a transform by moving the last one into its place.
+     *
+     * @param index The index of the transform.
+     */
+    void remove(final int index) {
+        size--;
+        int from = size * STRIDE;
+        int to = index * STRIDE;
+        System.arraycopy(positions, from, positions, to, STRIDE);
+        System.arraycopy(fronts, from, fronts, to, STRIDE);
+        System.arraycopy(ups, from, ups, to, STRIDE);
+    }
+
+    /**
+     * Remove all transforms.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Write a vector into an array.
+     *
+     * @param array  The array.
+     * @param offset The index of the x value.
+     * @param v      The vector.
+     */
+    private static void write(final double[] array, final int offset, final Vector3d v) {
+        array[offset] = v.getX();
+        array[offset + 1] = v.getY();
+        array[offset + 2] = v.getZ();
+    }
+
+    /**
+     * Double the capacity of an array.
+     *
+     * @param array The array.
+     * @return The grown copy.
+     */
+    private static double[] grow(final double[] array) {
+        double[] grown = new double[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+}
@@ -1,7 +1,6 @@
 package net.pme.core.math;
 
 import org.lwjgl.BufferUtils;
-import org.lwjgl.util.vector.Matrix4f;
 
 import java.nio.DoubleBuffer;
 import java.nio.FloatBuffer;
@@ -18,22 +17,24 @@ public class Matrix {
      */
     private static final int N = 4;
     private static final double ZERO = 0.0;
-    private double[][] m;
+    /**
+     * The values in row-major order, mij is at m[i * N + j].
+     */
+    private final double[] m = new double[N * N];
 
     /**
      * Creates a MatrixIdentity.
      */
     public Matrix() {
-        this(1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0,
-                0.0, 0.0, 1.0);
+        setIdentity();
     }
 
     /**
      * Create a matrix from a lwjgl Matrix4f.
      * @param matrix4f The input matrix.
      */
-    public Matrix(Matrix4f matrix4f) {
-        this(matrix4f.m00, matrix4f.m01, matrix4f.m02, matrix4f.m03,
+    public Matrix(org.lwjgl.util.vector.Matrix4f matrix4f) {
+        setValues(matrix4f.m00, matrix4f.m01, matrix4f.m02, matrix4f.m03,
                 matrix4f.m10, matrix4f.m11, matrix4f.m12, matrix4f.m13,
                 matrix4f.m20, matrix4f.m21, matrix4f.m22, matrix4f.m23,
                 matrix4f.m30, matrix4f.m31, matrix4f.m32, matrix4f.m33);
@@ -47,16 +48,7 @@ public class Matrix {
      *                      m[i][j]. The amount of parameters must be 16.
      */
     public Matrix(final double... initialValues) {
-        if (initialValues.length != N * N) {
-            throw new IllegalArgumentException("Argument count must be 16");
-        }
-        m = new double[N][N];
-        int i = 0;
-        for (int x = 0; x < m.length; x++) {
-            for (int y = 0; y < m[x].length; y++) {
-                m[x][y] = initialValues[i++];
-            }
-        }
+        set(initialValues);
     }
 
     /**
@@ -75,8 +67,7 @@ public class Matrix {
      * @return The translation matrix.
      */
     public static Matrix translation(final Vector3d v) {
-        return new Matrix(1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0,
-                1.0, 0.0, v.getX(), v.getY(), v.getZ(), 1.0);
+        return new Matrix().setTranslation(v);
     }
 
     /**
@@ -104,23 +95,7 @@ public class Matrix {
      * @return The rotation matrix.
      */
     public static Matrix rotationAxis(final Vector3d v, final double d) {
-        double dSin = Math.sin(-d);
-        double dCos = Math.cos(-d);
-        double dOneMinusCos = 1.0 - dCos;
-
-        Vector3d vAxis = v.normalize();
-
-        return new Matrix((vAxis.getX() * vAxis.getX()) * dOneMinusCos + dCos,
-                (vAxis.getX() * vAxis.getY()) * dOneMinusCos - (vAxis.getZ() * dSin),
-                (vAxis.getX() * vAxis.getZ()) * dOneMinusCos + (vAxis.getY() * dSin), 0.0d,
-                (vAxis.getY() * vAxis.getX()) * dOneMinusCos + (vAxis.getZ() * dSin),
-                (vAxis.getY() * vAxis.getY()) * dOneMinusCos + dCos, (vAxis.getY() * vAxis.getZ())
-                * dOneMinusCos - (vAxis.getX() * dSin), 0.0d,
-                (vAxis.getZ() * vAxis.getX()) * dOneMinusCos - (vAxis.getY() * dSin),
-                (vAxis.getZ() * vAxis.getY()) * dOneMinusCos + (vAxis.getX() * dSin),
-                (vAxis.getZ() * vAxis.getZ()) * dOneMinusCos + dCos, 0.0d, 0.0d, 0.0d,
-                0.0d, 1.0d
-        );
+        return new Matrix().setRotationAxis(v, d);
     }
 
     /**
@@ -130,7 +105,7 @@ public class Matrix {
      * @return The scale matrix.
      */
     public static Matrix scaling(final Vector3d v) {
-        return new Matrix(v.getX(), 0.0, 0.0, 0.0, 0.0, v.getY(), 0.0, 0.0, 0.0, 0.0,
+        return new Matrix().setValues(v.getX(), 0.0, 0.0, 0.0, 0.0, v.getY(), 0.0, 0.0, 0.0, 0.0,
                 v.getZ(), 0.0, 0.0, 0.0, 0.0, 1.0);
     }
 
@@ -143,7 +118,7 @@ public class Matrix {
      * @return The axe matrix.
      */
     public static Matrix axes(final Vector3d xAxis, final Vector3d yAxis, final Vector3d zAxis) {
-        return new Matrix(xAxis.getX(), xAxis.getY(), xAxis.getZ(), 0.0, yAxis.getX(), yAxis.getY(),
+        return new Matrix().setValues(xAxis.getX(), xAxis.getY(), xAxis.getZ(), 0.0, yAxis.getX(), yAxis.getY(),
                 yAxis.getZ(), 0.0, zAxis.getX(), zAxis.getY(), zAxis.getZ(), 0.0, 0.0, 0.0, 0.0,
                 1.0);
     }
@@ -159,8 +134,39 @@ public class Matrix {
      */
     public static Matrix camera(final Vector3d position, final Vector3d xAxis,
                                 final Vector3d yAxis, final Vector3d zAxis) {
-        return Matrix.translation(position.clone().scale(-1)).multiply(
-                Matrix.axes(xAxis, yAxis, zAxis).transpose());
+        return new Matrix().setCamera(position, xAxis, yAxis, zAxis);
+    }
+
+    /**
+     * Multiply 2 matrices into a destination, without creating temporary objects. (dest = a * b)
+     * <p/>
+     * The destination may be a or b.
+     *
+     * @param a    Matrix a.
+     * @param b    Matrix b.
+     * @param dest The matrix to store the product in.
+     * @return The destination.
+     */
+    public static Matrix mul(final Matrix a, final Matrix b, final Matrix dest) {
+        final double[] x = a.m;
+        final double[] y = b.m;
+        final double r00 = x[0] * y[0] + x[1] * y[4] + x[2] * y[8] + x[3] * y[12];
+        final double r01 = x[0] * y[1] + x[1] * y[5] + x[2] * y[9] + x[3] * y[13];
+        final double r02 = x[0] * y[2] + x[1] * y[6] + x[2] * y[10] + x[3] * y[14];
+        final double r03 = x[0] * y[3] + x[1] * y[7] + x[2] * y[11] + x[3] * y[15];
+        final double r10 = x[4] * y[0] + x[5] * y[4] + x[6] * y[8] + x[7] * y[12];
+        final double r11 = x[4] * y[1] + x[5] * y[5] + x[6] * y[9] + x[7] * y[13];
+        final double r12 = x[4] * y[2] + x[5] * y[6] + x[6] * y[10] + x[7] * y[14];
+        final double r13 = x[4] * y[3] + x[5] * y[7] + x[6] * y[11] + x[7] * y[15];
+        final double r20 = x[8] * y[0] + x[9] * y[4] + x[10] * y[8] + x[11] * y[12];
+        final double r21 = x[8] * y[1] + x[9] * y[5] + x[10] * y[9] + x[11] * y[13];
+        final double r22 = x[8] * y[2] + x[9] * y[6] + x[10] * y[10] + x[11] * y[14];
+        final double r23 = x[8] * y[3] + x[9] * y[7] + x[10] * y[11] + x[11] * y[15];
+        final double r30 = x[12] * y[0] + x[13] * y[4] + x[14] * y[8] + x[15] * y[12];
+        final double r31 = x[12] * y[1] + x[13] * y[5] + x[14] * y[9] + x[15] * y[13];
+        final double r32 = x[12] * y[2] + x[13] * y[6] + x[14] * y[10] + x[15] * y[14];
+        final double r33 = x[12] * y[3] + x[13] * y[7] + x[14] * y[11] + x[15] * y[15];
+        return dest.setValues(r00, r01, r02, r03, r10, r11, r12, r13, r20, r21, r22, r23, r30, r31, r32, r33);
     }
 
     /**
@@ -174,25 +180,166 @@ public class Matrix {
         if (initialValues.length != N * N) {
             throw new IllegalArgumentException("Argument count must be 16");
         }
-        int i = 0;
-        for (int x = 0; x < m.length; x++) {
-            for (int y = 0; y < m[x].length; y++) {
-                m[x][y] = initialValues[i++];
-            }
-        }
+        System.arraycopy(initialValues, 0, m, 0, N * N);
         return this;
     }
 
+    /**
+     * Set the values of this matrix to the other matrix.
+     * @param other The matrix to which the values of this one should be set.
+     * @return The matrix to continue calculations.
+     */
+    public Matrix set(final Matrix other) {
+        System.arraycopy(other.m, 0, m, 0, N * N);
+        return this;
+    }
+
+    /**
+     * Set all values without the array of the varargs set.
+     *
+     * @return This matrix for chaining.
+     */
+    private Matrix setValues(final double m00, final double m01, final double m02, final double m03,
+                             final double m10, final double m11, final double m12, final double m13,
+                             final double m20, final double m21, final double m22, final double m23,
+                             final double m30, final double m31, final double m32, final double m33) {
+        m[0] = m00;
+        m[1] = m01;
+        m[2] = m02;
+        m[3] = m03;
+        m[4] = m10;
+        m[5] = m11;
+        m[6] = m12;
+        m[7] = m13;
+        m[8] = m20;
+        m[9] = m21;
+        m[10] = m22;
+        m[11] = m23;
+        m[12] = m30;
+        m[13] = m31;
+        m[14] = m32;
+        m[15] = m33;
+        return this;
+    }
+
+    /**
+     * Set this matrix to the identity.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix setIdentity() {
+        return setValues(1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0,
+                0.0, 0.0, 1.0);
+    }
+
+    /**
+     * Set this matrix to a translation.
+     *
+     * @param v The translation vector.
+     * @return This matrix for chaining.
+     */
+    public Matrix setTranslation(final Vector3d v) {
+        return setValues(1.0, 0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 0.0, 0.0,
+                1.0, 0.0, v.getX(), v.getY(), v.getZ(), 1.0);
+    }
+
+    /**
+     * Set this matrix to a rotation around the given vector.
+     *
+     * @param v The vector to rotate around. (It is normalized)
+     * @param d The angle (in radian)
+     * @return This matrix for chaining.
+     */
+    public Matrix setRotationAxis(final Vector3d v, final double d) {
+        double dSin = Math.sin(-d);
+        double dCos = Math.cos(-d);
+        double dOneMinusCos = 1.0 - dCos;
+
+        Vector3d vAxis = v.normalize();
+        final double x = vAxis.getX();
+        final double y = vAxis.getY();
+        final double z = vAxis.getZ();
+
+        return setValues((x * x) * dOneMinusCos + dCos,
+                (x * y) * dOneMinusCos - (z * dSin),
+                (x * z) * dOneMinusCos + (y * dSin), 0.0d,
+                (y * x) * dOneMinusCos + (z * dSin),
+                (y * y) * dOneMinusCos + dCos,
+                (y * z) * dOneMinusCos - (x * dSin), 0.0d,
+                (z * x) * dOneMinusCos - (y * dSin),
+                (z * y) * dOneMinusCos + (x * dSin),
+                (z * z) * dOneMinusCos + dCos, 0.0d,
+                0.0d, 0.0d, 0.0d, 1.0d
+        );
+    }
+
+    /**
+     * Set this matrix to adjust an object along the 3 given axes and move it, without creating temporary objects.
+     * <p/>
+     * The same as axes(xAxis, yAxis, zAxis).multiply(translation(translation)).
+     *
+     * @param xAxis       The x axis to adjust to.
+     * @param yAxis       The y axis to adjust to.
+     * @param zAxis       The z axis to adjust to.
+     * @param translation The translation.
+     * @return This matrix for chaining.
+     */
+    public Matrix setAxes(final Vector3d xAxis, final Vector3d yAxis, final Vector3d zAxis,
+                          final Vector3d translation) {
+        return setValues(xAxis.getX(), xAxis.getY(), xAxis.getZ(), 0.0,
+                yAxis.getX(), yAxis.getY(), yAxis.getZ(), 0.0,
+                zAxis.getX(), zAxis.getY(), zAxis.getZ(), 0.0,
+                translation.getX(), translation.getY(), translation.getZ(), 1.0);
+    }
+
+    /**
+     * Set this matrix to a camera matrix, the inverse of {@link #setAxes} for orthonormal axes.
+     * <p/>
+     * Builds the matrix directly, without creating temporary objects.
+     *
+     * @param position Position of the camera.
+     * @param xAxis    xAxis of the camera.
+     * @param yAxis    yAxis of the camera.
+     * @param zAxis    zAxis of the camera.
+     * @return This matrix for chaining.
+     */
+    public Matrix setCamera(final Vector3d position, final Vector3d xAxis, final Vector3d yAxis,
+                            final Vector3d zAxis) {
+        return setValues(xAxis.getX(), yAxis.getX(), zAxis.getX(), 0.0,
+                xAxis.getY(), yAxis.getY(), zAxis.getY(), 0.0,
+                xAxis.getZ(), yAxis.getZ(), zAxis.getZ(), 0.0,
+                -position.dotProduct(xAxis), -position.dotProduct(yAxis), -position.dotProduct(zAxis), 1.0);
+    }
+
+    /**
+     * Get a value of the matrix.
+     *
+     * @param row    The row.
+     * @param column The column.
+     * @return The value mrow,column.
+     */
+    public double get(final int row, final int column) {
+        return m[row * N + column];
+    }
+
+    /**
+     * The values in row-major order. Not copied, for the other math classes only.
+     *
+     * @return The values.
+     */
+    final double[] values() {
+        return m;
+    }
+
     /**
      * Calculate the determinant of the matrix.
      *
      * @return The determinant.
      */
     public double det() {
-        Matrix m = this;
-        return m.m[0][0] * (m.m[1][1] * m.m[2][2] - m.m[1][2] * m.m[2][1])
-                - m.m[0][1] * (m.m[1][0] * m.m[2][2] - m.m[1][2] * m.m[2][0])
-                + m.m[0][2] * (m.m[1][0] * m.m[2][1] - m.m[1][1] * m.m[2][0]);
+        return m[0] * (m[5] * m[10] - m[6] * m[9])
+                - m[1] * (m[4] * m[10] - m[6] * m[8])
+                + m[2] * (m[4] * m[9] - m[5] * m[8]);
     }
 
     /**
@@ -201,57 +348,74 @@ public class Matrix {
      * @return The inverse of m.
      */
     public Matrix invert() {
-        Matrix m = this;
+        if (det() == 0.0) {
+            return identity();
+        }
+        return invert(this);
+    }
+
+    /**
+     * Store the inverse of an affine matrix (a linear part and a translation, the last column is 0, 0, 0, 1)
+     * in a destination, without creating temporary objects.
+     * <p/>
+     * The destination may be this. Without an inverse the destination is set to the identity.
+     *
+     * @param dest The matrix to store the inverse in.
+     * @return The destination.
+     */
+    public Matrix invert(final Matrix dest) {
         double dInvDet = det();
         if (dInvDet == 0.0) {
-            return identity();
+            return dest.setIdentity();
         }
         dInvDet = 1.0 / dInvDet;
 
-        Matrix mResult = new Matrix();
-
-        mResult.m[0][0] = dInvDet
-                * (m.m[1][1] * m.m[2][2] - m.m[1][2] * m.m[2][1]);
-        mResult.m[0][1] = -dInvDet
-                * (m.m[0][1] * m.m[2][2] - m.m[0][2] * m.m[2][1]);
-        mResult.m[0][2] = dInvDet
-                * (m.m[0][1] * m.m[1][2] - m.m[0][2] * m.m[1][1]);
-        mResult.m[0][3] = ZERO;
-        mResult.m[1][0] = -dInvDet
-                * (m.m[1][0] * m.m[2][2] - m.m[1][2] * m.m[2][0]);
-        mResult.m[1][1] = dInvDet
-                * (m.m[0][0] * m.m[2][2] - m.m[0][2] * m.m[2][0]);
-        mResult.m[1][2] = -dInvDet
-                * (m.m[0][0] * m.m[1][2] - m.m[0][2] * m.m[1][0]);
-        mResult.m[1][3] = ZERO;
-        mResult.m[2][0] = dInvDet
-                * (m.m[1][0] * m.m[2][1] - m.m[1][1] * m.m[2][0]);
-        mResult.m[2][1] = -dInvDet
-                * (m.m[0][0] * m.m[2][1] - m.m[0][1] * m.m[2][0]);
-        mResult.m[2][2] = dInvDet
-                * (m.m[0][0] * m.m[1][1] - m.m[0][1] * m.m[1][0]);
-        mResult.m[2][3] = ZERO;
-        mResult.m[3][0] = -(m.m[3][0] * mResult.m[0][0] + m.m[3][1]
-                * mResult.m[1][0] + m.m[3][2] * mResult.m[2][0]);
-        mResult.m[3][1] = -(m.m[3][0] * mResult.m[0][1] + m.m[3][1]
-                * mResult.m[1][1] + m.m[3][2] * mResult.m[2][1]);
-        mResult.m[3][2] = -(m.m[3][0] * mResult.m[0][2] + m.m[3][1]
-                * mResult.m[1][2] + m.m[3][2] * mResult.m[2][2]);
-        mResult.m[3][3] = 1.0;
-
-        return set(mResult);
+        final double r00 = dInvDet * (m[5] * m[10] - m[6] * m[9]);
+        final double r01 = -dInvDet * (m[1] * m[10] - m[2] * m[9]);
+        final double r02 = dInvDet * (m[1] * m[6] - m[2] * m[5]);
+        final double r10 = -dInvDet * (m[4] * m[10] - m[6] * m[8]);
+        final double r11 = dInvDet * (m[0] * m[10] - m[2] * m[8]);
+        final double r12 = -dInvDet * (m[0] * m[6] - m[2] * m[4]);
+        final double r20 = dInvDet * (m[4] * m[9] - m[5] * m[8]);
+        final double r21 = -dInvDet * (m[0] * m[9] - m[1] * m[8]);
+        final double r22 = dInvDet * (m[0] * m[5] - m[1] * m[4]);
+        final double r30 = -(m[12] * r00 + m[13] * r10 + m[14] * r20);
+        final double r31 = -(m[12] * r01 + m[13] * r11 + m[14] * r21);
+        final double r32 = -(m[12] * r02 + m[13] * r12 + m[14] * r22);
+
+        return dest.setValues(r00, r01, r02, ZERO, r10, r11, r12, ZERO, r20, r21, r22, ZERO, r30, r31, r32, 1.0);
     }
 
     /**
-     * Set the values of this matrix to the other matrix.
-     * @param other The matrix to which the values of this one should be set.
-     * @return The matrix to continue calculations.
+     * Invert a rigid transform (a rotation and a translation) in place.
+     * <p/>
+     * Much cheaper than {@link #invert()}: the inverse rotation is the transposed rotation and the
+     * translation is moved back by it. Only correct for orthonormal rotation rows without scaling,
+     * e.g. {@link #setAxes} with unit axes.
+     *
+     * @return This matrix for chaining.
      */
-    private Matrix set(final Matrix other) {
-        for (int i = 0; i < m.length; i++) {
-            System.arraycopy(other.m[i], 0, m[i], 0, m[i].length);
-        }
-        return this;
+    public Matrix invertRigid() {
+        return invertRigid(this);
+    }
+
+    /**
+     * Store the inverse of a rigid transform (a rotation and a translation) in a destination,
+     * without creating temporary objects.
+     * <p/>
+     * The destination may be this. Only correct for orthonormal rotation rows without scaling.
+     *
+     * @param dest The matrix to store the inverse in.
+     * @return The destination.
+     */
+    public Matrix invertRigid(final Matrix dest) {
+        final double tx = m[12], ty = m[13], tz = m[14];
+        return dest.setValues(m[0], m[4], m[8], ZERO,
+                m[1], m[5], m[9], ZERO,
+                m[2], m[6], m[10], ZERO,
+                -(tx * m[0] + ty * m[1] + tz * m[2]),
+                -(tx * m[4] + ty * m[5] + tz * m[6]),
+                -(tx * m[8] + ty * m[9] + tz * m[10]), 1.0);
     }
 
     /**
@@ -260,11 +424,38 @@ public class Matrix {
      * @return The transposed matrix.
      */
     public Matrix transpose() {
-        Matrix m = this;
-        return set(m.m[0][0], m.m[1][0], m.m[2][0], m.m[3][0],
-                m.m[0][1], m.m[1][1], m.m[2][1], m.m[3][1], m.m[0][2],
-                m.m[1][2], m.m[2][2], m.m[3][2], m.m[0][3], m.m[1][3],
-                m.m[2][3], m.m[3][3]);
+        swap(1, 4);
+        swap(2, 8);
+        swap(3, 12);
+        swap(6, 9);
+        swap(7, 13);
+        swap(11, 14);
+        return this;
+    }
+
+    /**
+     * Store the transposed matrix in a destination, without creating temporary objects.
+     *
+     * @param dest The matrix to store the transposed matrix in. (May be this matrix)
+     * @return The destination.
+     */
+    public Matrix transpose(final Matrix dest) {
+        if (dest != this) {
+            dest.set(this);
+        }
+        return dest.transpose();
+    }
+
+    /**
+     * Swap two values.
+     *
+     * @param i The index of the first value.
+     * @param j The index of the second value.
+     */
+    private void swap(final int i, final int j) {
+        final double tmp = m[i];
+        m[i] = m[j];
+        m[j] = tmp;
     }
 
     /**
@@ -274,39 +465,7 @@ public class Matrix {
      * @return The product.
      */
     public Matrix multiply(final Matrix b) {
-        Matrix a = this;
-        return set(b.m[0][0] * a.m[0][0] + b.m[1][0] * a.m[0][1]
-                + b.m[2][0] * a.m[0][2] + b.m[3][0] * a.m[0][3], b.m[0][1]
-                * a.m[0][0] + b.m[1][1] * a.m[0][1] + b.m[2][1] * a.m[0][2]
-                + b.m[3][1] * a.m[0][3], b.m[0][2] * a.m[0][0] + b.m[1][2]
-                * a.m[0][1] + b.m[2][2] * a.m[0][2] + b.m[3][2] * a.m[0][3],
-                b.m[0][3] * a.m[0][0] + b.m[1][3] * a.m[0][1] + b.m[2][3]
-                        * a.m[0][2] + b.m[3][3] * a.m[0][3], b.m[0][0]
-                * a.m[1][0] + b.m[1][0] * a.m[1][1] + b.m[2][0]
-                * a.m[1][2] + b.m[3][0] * a.m[1][3], b.m[0][1]
-                * a.m[1][0] + b.m[1][1] * a.m[1][1] + b.m[2][1]
-                * a.m[1][2] + b.m[3][1] * a.m[1][3], b.m[0][2]
-                * a.m[1][0] + b.m[1][2] * a.m[1][1] + b.m[2][2]
-                * a.m[1][2] + b.m[3][2] * a.m[1][3], b.m[0][3]
-                * a.m[1][0] + b.m[1][3] * a.m[1][1] + b.m[2][3]
-                * a.m[1][2] + b.m[3][3] * a.m[1][3], b.m[0][0]
-                * a.m[2][0] + b.m[1][0] * a.m[2][1] + b.m[2][0]
-                * a.m[2][2] + b.m[3][0] * a.m[2][3], b.m[0][1]
-                * a.m[2][0] + b.m[1][1] * a.m[2][1] + b.m[2][1]
-                * a.m[2][2] + b.m[3][1] * a.m[2][3], b.m[0][2]
-                * a.m[2][0] + b.m[1][2] * a.m[2][1] + b.m[2][2]
-                * a.m[2][2] + b.m[3][2] * a.m[2][3], b.m[0][3]
-                * a.m[2][0] + b.m[1][3] * a.m[2][1] + b.m[2][3]
-                * a.m[2][2] + b.m[3][3] * a.m[2][3], b.m[0][0]
-                * a.m[3][0] + b.m[1][0] * a.m[3][1] + b.m[2][0]
-                * a.m[3][2] + b.m[3][0] * a.m[3][3], b.m[0][1]
-                * a.m[3][0] + b.m[1][1] * a.m[3][1] + b.m[2][1]
-                * a.m[3][2] + b.m[3][1] * a.m[3][3], b.m[0][2]
-                * a.m[3][0] + b.m[1][2] * a.m[3][1] + b.m[2][2]
-                * a.m[3][2] + b.m[3][2] * a.m[3][3], b.m[0][3]
-                * a.m[3][0] + b.m[1][3] * a.m[3][1] + b.m[2][3]
-                * a.m[3][2] + b.m[3][3] * a.m[3][3]
-        );
+        return mul(this, b, this);
     }
 
     /**
@@ -316,39 +475,7 @@ public class Matrix {
      * @return The product.
      */
     public Matrix multiplyLeft(final Matrix a) {
-        Matrix b = this;
-        return set(b.m[0][0] * a.m[0][0] + b.m[1][0] * a.m[0][1]
-                + b.m[2][0] * a.m[0][2] + b.m[3][0] * a.m[0][3], b.m[0][1]
-                * a.m[0][0] + b.m[1][1] * a.m[0][1] + b.m[2][1] * a.m[0][2]
-                + b.m[3][1] * a.m[0][3], b.m[0][2] * a.m[0][0] + b.m[1][2]
-                * a.m[0][1] + b.m[2][2] * a.m[0][2] + b.m[3][2] * a.m[0][3],
-                b.m[0][3] * a.m[0][0] + b.m[1][3] * a.m[0][1] + b.m[2][3]
-                        * a.m[0][2] + b.m[3][3] * a.m[0][3], b.m[0][0]
-                * a.m[1][0] + b.m[1][0] * a.m[1][1] + b.m[2][0]
-                * a.m[1][2] + b.m[3][0] * a.m[1][3], b.m[0][1]
-                * a.m[1][0] + b.m[1][1] * a.m[1][1] + b.m[2][1]
-                * a.m[1][2] + b.m[3][1] * a.m[1][3], b.m[0][2]
-                * a.m[1][0] + b.m[1][2] * a.m[1][1] + b.m[2][2]
-                * a.m[1][2] + b.m[3][2] * a.m[1][3], b.m[0][3]
-                * a.m[1][0] + b.m[1][3] * a.m[1][1] + b.m[2][3]
-                * a.m[1][2] + b.m[3][3] * a.m[1][3], b.m[0][0]
-                * a.m[2][0] + b.m[1][0] * a.m[2][1] + b.m[2][0]
-                * a.m[2][2] + b.m[3][0] * a.m[2][3], b.m[0][1]
-                * a.m[2][0] + b.m[1][1] * a.m[2][1] + b.m[2][1]
-                * a.m[2][2] + b.m[3][1] * a.m[2][3], b.m[0][2]
-                * a.m[2][0] + b.m[1][2] * a.m[2][1] + b.m[2][2]
-                * a.m[2][2] + b.m[3][2] * a.m[2][3], b.m[0][3]
-                * a.m[2][0] + b.m[1][3] * a.m[2][1] + b.m[2][3]
-                * a.m[2][2] + b.m[3][3] * a.m[2][3], b.m[0][0]
-                * a.m[3][0] + b.m[1][0] * a.m[3][1] + b.m[2][0]
-                * a.m[3][2] + b.m[3][0] * a.m[3][3], b.m[0][1]
-                * a.m[3][0] + b.m[1][1] * a.m[3][1] + b.m[2][1]
-                * a.m[3][2] + b.m[3][1] * a.m[3][3], b.m[0][2]
-                * a.m[3][0] + b.m[1][2] * a.m[3][1] + b.m[2][2]
-                * a.m[3][2] + b.m[3][2] * a.m[3][3], b.m[0][3]
-                * a.m[3][0] + b.m[1][3] * a.m[3][1] + b.m[2][3]
-                * a.m[3][2] + b.m[3][3] * a.m[3][3]
-        );
+        return mul(a, this, this);
     }
 
     /**
@@ -377,7 +504,7 @@ public class Matrix {
      * @return The euler rotation around the x-Axis.
      */
     public final double getXEuler() {
-        return Math.asin(-m[2][1]);
+        return Math.asin(-m[9]);
     }
 
     /**
@@ -386,7 +513,7 @@ public class Matrix {
      * @return The euler rotation around the y-Axis.
      */
     public final double getYEuler() {
-        return Math.atan2(m[2][0], m[2][2]);
+        return Math.atan2(m[8], m[10]);
     }
 
     /**
@@ -395,7 +522,7 @@ public class Matrix {
      * @return The euler rotation around the z-Axis.
      */
     public final double getZEuler() {
-        return Math.atan2(m[0][1], m[1][1]);
+        return Math.atan2(m[1], m[5]);
     }
 
     /**
@@ -408,12 +535,18 @@ public class Matrix {
     }
 
     /**
-     * Get the double array containing the matrix values.
+     * Get a copy of the matrix values.
+     * <p/>
+     * Changing the array does not change the matrix.
      *
      * @return The matrix values.
      */
     public final double[][] getArray() {
-        return m;
+        double[][] result = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            System.arraycopy(m, i * N, result[i], 0, N);
+        }
+        return result;
     }
 
     /**
@@ -423,21 +556,13 @@ public class Matrix {
      * @return A DoubleBuffer containing the matrix.
      */
     public final DoubleBuffer getValues(final DoubleBuffer db) {
-        double[] tmp = new double[N * N];
-        int i = 0;
-        for (double[] aM : m) {
-            for (double anAM : aM) {
-                tmp[i++] = anAM;
-            }
-        }
-
         DoubleBuffer localDB = db;
         if (localDB == null) {
             localDB = BufferUtils.createDoubleBuffer(N * N);
         } else {
             localDB.clear();
         }
-        localDB.put(tmp);
+        localDB.put(m);
         localDB.flip();
         return localDB;
     }
@@ -449,21 +574,15 @@ public class Matrix {
      * @return A FloatBuffer containing the matrix.
      */
     public final FloatBuffer getValuesF(final FloatBuffer fb) {
-        float[] tmp = new float[N * N];
-        int i = 0;
-        for (double[] aM : m) {
-            for (double anAM : aM) {
-                tmp[i++] = (float) anAM;
-            }
-        }
-
         FloatBuffer localFB = fb;
         if (localFB == null) {
             localFB = BufferUtils.createFloatBuffer(N * N);
         } else {
             localFB.clear();
         }
-        localFB.put(tmp);
+        for (double value : m) {
+            localFB.put((float) value);
+        }
         localFB.flip();
         return localFB;
     }
@@ -472,24 +591,24 @@ public class Matrix {
      * Get a lwjgl Matrix4f.
      * @return The lwjgl matrix.
      */
-    public final Matrix4f getMatrix4f() {
-        Matrix4f result = new Matrix4f();
-        result.m00 = (float) m[0][0];
-        result.m01 = (float) m[0][1];
-        result.m02 = (float) m[0][2];
-        result.m03 = (float) m[0][3];
-        result.m10 = (float) m[1][0];
-        result.m11 = (float) m[1][1];
-        result.m12 = (float) m[1][2];
-        result.m13 = (float) m[1][3];
-        result.m20 = (float) m[2][0];
-        result.m21 = (float) m[2][1];
-        result.m22 = (float) m[2][2];
-        result.m23 = (float) m[2][3];
-        result.m30 = (float) m[3][0];
-        result.m31 = (float) m[3][1];
-        result.m32 = (float) m[3][2];
-        result.m33 = (float) m[3][3];
+    public final org.lwjgl.util.vector.Matrix4f getMatrix4f() {
+        org.lwjgl.util.vector.Matrix4f result = new org.lwjgl.util.vector.Matrix4f();
+        result.m00 = (float) m[0];
+        result.m01 = (float) m[1];
+        result.m02 = (float) m[2];
+        result.m03 = (float) m[3];
+        result.m10 = (float) m[4];
+        result.m11 = (float) m[5];
+        result.m12 = (float) m[6];
+        result.m13 = (float) m[7];
+        result.m20 = (float) m[8];
+        result.m21 = (float) m[9];
+        result.m22 = (float) m[10];
+        result.m23 = (float) m[11];
+        result.m30 = (float) m[12];
+        result.m31 = (float) m[13];
+        result.m32 = (float) m[14];
+        result.m33 = (float) m[15];
         return result;
     }
 
@@ -501,40 +620,37 @@ public class Matrix {
      * @return The quaterion.
      */
     public Quaternion toQuaternion() {
-        transpose();
-
+        // Reads the transposed rotation, mij of it is m[j * N + i].
         double qw, qx, qy, qz;
 
-        double tr = m[0][0] + m[1][1] + m[2][2];
+        double tr = m[0] + m[5] + m[10];
 
         if (tr > 0) {
             double S = Math.sqrt(tr+1.0) * 2; // S=4*qw
             qw = 0.25 * S;
-            qx = (m[2][1] - m[1][2]) / S;
-            qy = (m[0][2] - m[2][0]) / S;
-            qz = (m[1][0] - m[0][1]) / S;
-        } else if ((m[0][0] > m[1][1])&(m[0][0] > m[2][2])) {
-            double S = Math.sqrt(1.0 + m[0][0] - m[1][1] - m[2][2]) * 2; // S=4*qx
-            qw = (m[2][1] - m[1][2]) / S;
+            qx = (m[6] - m[9]) / S;
+            qy = (m[8] - m[2]) / S;
+            qz = (m[1] - m[4]) / S;
+        } else if ((m[0] > m[5])&(m[0] > m[10])) {
+            double S = Math.sqrt(1.0 + m[0] - m[5] - m[10]) * 2; // S=4*qx
+            qw = (m[6] - m[9]) / S;
             qx = 0.25 * S;
-            qy = (m[0][1] + m[1][0]) / S;
-            qz = (m[0][2] + m[2][0]) / S;
-        } else if (m[1][1] > m[2][2]) {
-            double S = Math.sqrt(1.0 + m[1][1] - m[0][0] - m[2][2]) * 2; // S=4*qy
-            qw = (m[0][2] - m[2][0]) / S;
-            qx = (m[0][1] + m[1][0]) / S;
+            qy = (m[4] + m[1]) / S;
+            qz = (m[8] + m[2]) / S;
+        } else if (m[5] > m[10]) {
+            double S = Math.sqrt(1.0 + m[5] - m[0] - m[10]) * 2; // S=4*qy
+            qw = (m[8] - m[2]) / S;
+            qx = (m[4] + m[1]) / S;
             qy = 0.25 * S;
-            qz = (m[1][2] + m[2][1]) / S;
+            qz = (m[9] + m[6]) / S;
         } else {
-            double S = Math.sqrt(1.0 + m[2][2] - m[0][0] - m[1][1]) * 2; // S=4*qz
-            qw = (m[1][0] - m[0][1]) / S;
-            qx = (m[0][2] + m[2][0]) / S;
-            qy = (m[1][2] + m[2][1]) / S;
+            double S = Math.sqrt(1.0 + m[10] - m[0] - m[5]) * 2; // S=4*qz
+            qw = (m[1] - m[4]) / S;
+            qx = (m[8] + m[2]) / S;
+            qy = (m[9] + m[6]) / S;
             qz = 0.25 * S;
         }
 
-        transpose();
-
         return new Quaternion(qw, qx, qy, qz);
     }
 
@@ -549,7 +665,7 @@ public class Matrix {
         String result = "";
         for (int x = 0; x < N; x++) {
             for (int y = 0; y < N; y++) {
-                result += m[x][y]+ " ";
+                result += m[x * N + y]+ " ";
             }
             if (x < N - 1 ) {
                 result += "\n";
@@ -566,11 +682,9 @@ public class Matrix {
 
         Matrix o = (Matrix) other;
 
-        for (int x = 0; x < N; x++) {
-            for (int y = 0; y < N; y++) {
-                if (!MathUtils.isEqual(m[x][y], o.m[x][y], 10E-13)) {
-                    return false;
-                }
+        for (int i = 0; i < N * N; i++) {
+            if (!MathUtils.isEqual(m[i], o.m[i], 10E-13)) {
+                return false;
             }
         }
 
@@ -0,0 +1,242 @@
+package net.pme.core.math;
+
+import org.lwjgl.BufferUtils;
+
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * A 4x4 matrix in float precision for the render path.
+ * <p/>
+ * Uses the same layout as {@link Matrix}: row-major, vectors are multiplied from the left and the translation
+ * is in the last row, so the values can be uploaded to GL as they are. Simulate with {@link Matrix}
+ * and convert with {@link #set(Matrix)}, which creates no objects.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class Matrix4f {
+    private static final int N = 4;
+    /**
+     * The values in row-major order, mij is at m[i * N + j].
+     */
+    private final float[] m = new float[N * N];
+
+    /**
+     * Creates an identity.
+     */
+    public Matrix4f() {
+        setIdentity();
+    }
+
+    /**
+     * Create a matrix from a double matrix.
+     *
+     * @param matrix The double matrix.
+     */
+    public Matrix4f(final Matrix matrix) {
+        set(matrix);
+    }
+
+    /**
+     * Multiply 2 matrices into a destination, without creating temporary objects. (dest = a * b)
+     * <p/>
+     * The destination may be a or b.
+     *
+     * @param a    Matrix a.
+     * @param b    Matrix b.
+     * @param dest The matrix to store the product in.
+     * @return The destination.
+     */
+    public static Matrix4f mul(final Matrix4f a, final Matrix4f b, final Matrix4f dest) {
+        final float[] x = a.m;
+        final float[] y = b.m;
+        final float r00 = x[0] * y[0] + x[1] * y[4] + x[2] * y[8] + x[3] * y[12];
+        final float r01 = x[0] * y[1] + x[1] * y[5] + x[2] * y[9] + x[3] * y[13];
+        final float r02 = x[0] * y[2] + x[1] * y[6] + x[2] * y[10] + x[3] * y[14];
+        final float r03 = x[0] * y[3] + x[1] * y[7] + x[2] * y[11] + x[3] * y[15];
+        final float r10 = x[4] * y[0] + x[5] * y[4] + x[6] * y[8] + x[7] * y[12];
+        final float r11 = x[4] * y[1] + x[5] * y[5] + x[6] * y[9] + x[7] * y[13];
+        final float r12 = x[4] * y[2] + x[5] * y[6] + x[6] * y[10] + x[7] * y[14];
+        final float r13 = x[4] * y[3] + x[5] * y[7] + x[6] * y[11] + x[7] * y[15];
+        final float r20 = x[8] * y[0] + x[9] * y[4] + x[10] * y[8] + x[11] * y[12];
+        final float r21 = x[8] * y[1] + x[9] * y[5] + x[10] * y[9] + x[11] * y[13];
+        final float r22 = x[8] * y[2] + x[9] * y[6] + x[10] * y[10] + x[11] * y[14];
+        final float r23 = x[8] * y[3] + x[9] * y[7] + x[10] * y[11] + x[11] * y[15];
+        final float r30 = x[12] * y[0] + x[13] * y[4] + x[14] * y[8] + x[15] * y[12];
+        final float r31 = x[12] * y[1] + x[13] * y[5] + x[14] * y[9] + x[15] * y[13];
+        final float r32 = x[12] * y[2] + x[13] * y[6] + x[14] * y[10] + x[15] * y[14];
+        final float r33 = x[12] * y[3] + x[13] * y[7] + x[14] * y[11] + x[15] * y[15];
+        return dest.setValues(r00, r01, r02, r03, r10, r11, r12, r13, r20, r21, r22, r23, r30, r31, r32, r33);
+    }
+
+    /**
+     * Set all values.
+     *
+     * @return This matrix for chaining.
+     */
+    private Matrix4f setValues(final float m00, final float m01, final float m02, final float m03,
+                               final float m10, final float m11, final float m12, final float m13,
+                               final float m20, final float m21, final float m22, final float m23,
+                               final float m30, final float m31, final float m32, final float m33) {
+        m[0] = m00;
+        m[1] = m01;
+        m[2] = m02;
+        m[3] = m03;
+        m[4] = m10;
+        m[5] = m11;
+        m[6] = m12;
+        m[7] = m13;
+        m[8] = m20;
+        m[9] = m21;
+        m[10] = m22;
+        m[11] = m23;
+        m[12] = m30;
+        m[13] = m31;
+        m[14] = m32;
+        m[15] = m33;
+        return this;
+    }
+
+    /**
+     * Set this matrix to the identity.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setIdentity() {
+        return setValues(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1, 0, 0, 0, 0, 1);
+    }
+
+    /**
+     * Set the values of this matrix to the other matrix.
+     *
+     * @param other The other matrix.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f set(final Matrix4f other) {
+        System.arraycopy(other.m, 0, m, 0, N * N);
+        return this;
+    }
+
+    /**
+     * Set the values of this matrix to a double matrix.
+     *
+     * @param other The double matrix.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f set(final Matrix other) {
+        double[] values = other.values();
+        for (int i = 0; i < N * N; i++) {
+            m[i] = (float) values[i];
+        }
+        return this;
+    }
+
+    /**
+     * Set this matrix to adjust an object along the 3 given axes and move it.
+     *
+     * @param xAxis       The x axis to adjust to.
+     * @param yAxis       The y axis to adjust to.
+     * @param zAxis       The z axis to adjust to.
+     * @param translation The translation.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f setAxes(final Vector3f xAxis, final Vector3f yAxis, final Vector3f zAxis,
+                            final Vector3f translation) {
+        return setValues(xAxis.getX(), xAxis.getY(), xAxis.getZ(), 0,
+                yAxis.getX(), yAxis.getY(), yAxis.getZ(), 0,
+                zAxis.getX(), zAxis.getY(), zAxis.getZ(), 0,
+                translation.getX(), translation.getY(), translation.getZ(), 1);
+    }
+
+    /**
+     * Transpose the matrix.
+     *
+     * @return This matrix for chaining.
+     */
+    public Matrix4f transpose() {
+        return setValues(m[0], m[4], m[8], m[12], m[1], m[5], m[9], m[13],
+                m[2], m[6], m[10], m[14], m[3], m[7], m[11], m[15]);
+    }
+
+    /**
+     * Multiply 2 matrices. (this * b)
+     *
+     * @param b Matrix b.
+     * @return This matrix for chaining.
+     */
+    public Matrix4f multiply(final Matrix4f b) {
+        return mul(this, b, this);
+    }
+
+    /**
+     * Get a value of the matrix.
+     *
+     * @param row    The row.
+     * @param column The column.
+     * @return The value mrow,column.
+     */
+    public float get(final int row, final int column) {
+        return m[row * N + column];
+    }
+
+    /**
+     * The values in row-major order. Not copied, for the other math classes only.
+     *
+     * @return The values.
+     */
+    float[] values() {
+        return m;
+    }
+
+    /**
+     * Write the matrix into a FloatBuffer, e.g. for glMultMatrix or glUniformMatrix4.
+     *
+     * @param fb The float buffer in which to write the values. (null to create one)
+     * @return A FloatBuffer containing the matrix, ready to be read.
+     */
+    public FloatBuffer store(final FloatBuffer fb) {
+        FloatBuffer localFB = fb;
+        if (localFB == null) {
+            localFB = BufferUtils.createFloatBuffer(N * N);
+        } else {
+            localFB.clear();
+        }
+        localFB.put(m);
+        localFB.flip();
+        return localFB;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof Matrix4f)) {
+            return false;
+        }
+        Matrix4f o = (Matrix4f) other;
+        for (int i = 0; i < N * N; i++) {
+            if (m[i] != o.m[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(m);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int x = 0; x < N; x++) {
+            for (int y = 0; y < N; y++) {
+                result.append(m[x * N + y]).append(' ');
+            }
+            if (x < N - 1) {
+                result.append('\n');
+            }
+        }
+        return result.toString();
+    }
+}
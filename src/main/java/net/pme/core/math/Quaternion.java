@@ -7,6 +7,10 @@ package net.pme.core.math;
  * @version 1.0
  */
 public class Quaternion {
+    /**
+     * Below this angle (or sine of it) the interpolations fall back to linear, to not divide by zero.
+     */
+    private static final double EPSILON = 1e-6;
     private double s, x, y, z;
 
     /**
@@ -31,6 +35,245 @@ public class Quaternion {
         this(q.s, q.x, q.y, q.z);
     }
 
+    /**
+     * Set the components of this quaternion.
+     * @param s The angle component of the rotation.
+     * @param x The x of the rotation axis.
+     * @param y The y of the rotation axis.
+     * @param z The z of the rotation axis.
+     * @return This quaternion for chaining.
+     */
+    public Quaternion set(final double s, final double x, final double y, final double z) {
+        this.s = s;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Set the components of this quaternion to those of another.
+     * @param other The other quaternion.
+     * @return This quaternion for chaining.
+     */
+    public Quaternion set(final Quaternion other) {
+        return set(other.s, other.x, other.y, other.z);
+    }
+
+    /**
+     * Set this quaternion to the rotation of the unit axes onto an orthonormal basis.
+     * <p/>
+     * The x axis of the basis is y cross z.
+     *
+     * @param yAxis The normalized y axis of the basis.
+     * @param zAxis The normalized z axis of the basis, orthogonal to the y axis.
+     * @return This quaternion for chaining.
+     */
+    public Quaternion setFromAxes(final Vector3d yAxis, final Vector3d zAxis) {
+        // The axes are the columns of the rotation matrix.
+        final double m01 = yAxis.getX(), m11 = yAxis.getY(), m21 = yAxis.getZ();
+        final double m02 = zAxis.getX(), m12 = zAxis.getY(), m22 = zAxis.getZ();
+        final double m00 = m11 * m22 - m21 * m12;
+        final double m10 = m21 * m02 - m01 * m22;
+        final double m20 = m01 * m12 - m11 * m02;
+
+        final double trace = m00 + m11 + m22;
+        if (trace > 0) {
+            final double t = Math.sqrt(trace + 1) * 2;
+            return set(0.25 * t, (m21 - m12) / t, (m02 - m20) / t, (m10 - m01) / t);
+        } else if (m00 > m11 && m00 > m22) {
+            final double t = Math.sqrt(1 + m00 - m11 - m22) * 2;
+            return set((m21 - m12) / t, 0.25 * t, (m01 + m10) / t, (m02 + m20) / t);
+        } else if (m11 > m22) {
+            final double t = Math.sqrt(1 + m11 - m00 - m22) * 2;
+            return set((m02 - m20) / t, (m01 + m10) / t, 0.25 * t, (m12 + m21) / t);
+        } else {
+            final double t = Math.sqrt(1 + m22 - m00 - m11) * 2;
+            return set((m10 - m01) / t, (m02 + m20) / t, (m12 + m21) / t, 0.25 * t);
+        }
+    }
+
+    /**
+     * Rotate a vector by this unit quaternion without creating temporary objects.
+     *
+     * @param vx The x of the vector.
+     * @param vy The y of the vector.
+     * @param vz The z of the vector.
+     * @param result The vector the rotated vector is stored in.
+     * @return The result vector.
+     */
+    public Vector3d rotate(final double vx, final double vy, final double vz, final Vector3d result) {
+        // v' = v + s * t + q x t with t = 2 * (q x v)
+        final double tx = 2 * (y * vz - z * vy);
+        final double ty = 2 * (z * vx - x * vz);
+        final double tz = 2 * (x * vy - y * vx);
+        return result.set(vx + s * tx + (y * tz - z * ty),
+                vy + s * ty + (z * tx - x * tz),
+                vz + s * tz + (x * ty - y * tx));
+    }
+
+    /**
+     * Rotate a vector by this unit quaternion in place.
+     *
+     * @param v The vector to rotate.
+     * @return The vector.
+     */
+    public Vector3d rotate(final Vector3d v) {
+        return rotate(v.getX(), v.getY(), v.getZ(), v);
+    }
+
+    /**
+     * Multiply 2 quaternions into a destination, without creating temporary objects. (dest = a * b)
+     * <p/>
+     * The destination may be a or b.
+     *
+     * @param a    Quaternion a.
+     * @param b    Quaternion b.
+     * @param dest The quaternion to store the product in.
+     * @return The destination.
+     */
+    public static Quaternion mul(final Quaternion a, final Quaternion b, final Quaternion dest) {
+        return dest.set(a.s * b.s - a.x * b.x - a.y * b.y - a.z * b.z,
+                a.s * b.x + a.x * b.s + a.y * b.z - a.z * b.y,
+                a.s * b.y + a.y * b.s + a.z * b.x - a.x * b.z,
+                a.s * b.z + a.z * b.s + a.x * b.y - a.y * b.x);
+    }
+
+    /**
+     * Interpolate linearly between 2 unit quaternions along the shorter arc and normalize.
+     * <p/>
+     * Cheaper than {@link #slerp} and close to it for the small steps between two network or render
+     * snapshots, but the angular speed is not constant. The destination may be a or b.
+     *
+     * @param a    The rotation at t = 0.
+     * @param b    The rotation at t = 1.
+     * @param t    The interpolation factor.
+     * @param dest The quaternion to store the result in.
+     * @return The destination.
+     */
+    public static Quaternion nlerp(final Quaternion a, final Quaternion b, final double t, final Quaternion dest) {
+        final double wb = a.dot(b) < 0 ? -t : t;
+        final double wa = 1 - t;
+        return dest.set(wa * a.s + wb * b.s, wa * a.x + wb * b.x, wa * a.y + wb * b.y, wa * a.z + wb * b.z)
+                .normalize();
+    }
+
+    /**
+     * Interpolate spherically between 2 unit quaternions along the shorter arc, with constant angular speed.
+     * <p/>
+     * The destination may be a or b.
+     *
+     * @param a    The rotation at t = 0.
+     * @param b    The rotation at t = 1.
+     * @param t    The interpolation factor.
+     * @param dest The quaternion to store the result in.
+     * @return The destination.
+     */
+    public static Quaternion slerp(final Quaternion a, final Quaternion b, final double t, final Quaternion dest) {
+        return slerp(a.s, a.x, a.y, a.z, b.s, b.x, b.y, b.z, t, true, dest);
+    }
+
+    /**
+     * Interpolate between unit quaternions with a continuous angular velocity through a sequence of rotations.
+     * (Spherical cubic interpolation)
+     * <p/>
+     * Interpolates from q1 to q2, the control points come from {@link #squadControlPoint} for q1 and q2.
+     * The destination may be q1 or q2, but not one of the control points.
+     *
+     * @param q1   The rotation at t = 0.
+     * @param q2   The rotation at t = 1.
+     * @param a    The control point of q1.
+     * @param b    The control point of q2.
+     * @param t    The interpolation factor.
+     * @param dest The quaternion to store the result in.
+     * @return The destination.
+     */
+    public static Quaternion squad(final Quaternion q1, final Quaternion q2, final Quaternion a, final Quaternion b,
+                                   final double t, final Quaternion dest) {
+        slerp(q1.s, q1.x, q1.y, q1.z, q2.s, q2.x, q2.y, q2.z, t, false, dest);
+        final double cs = dest.s, cx = dest.x, cy = dest.y, cz = dest.z;
+        slerp(a.s, a.x, a.y, a.z, b.s, b.x, b.y, b.z, t, false, dest);
+        return slerp(cs, cx, cy, cz, dest.s, dest.x, dest.y, dest.z, 2 * t * (1 - t), false, dest);
+    }
+
+    /**
+     * Calculate the control point of a rotation for {@link #squad}.
+     * <p/>
+     * The neighbours should be on the same hemisphere as the rotation (negate them if the dot product
+     * is negative). The destination may be one of the inputs.
+     *
+     * @param previous The rotation before.
+     * @param current  The rotation to calculate the control point of.
+     * @param next     The rotation after.
+     * @param dest     The quaternion to store the control point in.
+     * @return The destination.
+     */
+    public static Quaternion squadControlPoint(final Quaternion previous, final Quaternion current,
+                                               final Quaternion next, final Quaternion dest) {
+        final double cs = current.s, cx = -current.x, cy = -current.y, cz = -current.z;
+        // log(current^-1 * next) + log(current^-1 * previous), only the vector parts are not zero.
+        double lx = 0, ly = 0, lz = 0;
+        for (int i = 0; i < 2; i++) {
+            final Quaternion o = i == 0 ? next : previous;
+            final double ps = cs * o.s - cx * o.x - cy * o.y - cz * o.z;
+            final double px = cs * o.x + cx * o.s + cy * o.z - cz * o.y;
+            final double py = cs * o.y + cy * o.s + cz * o.x - cx * o.z;
+            final double pz = cs * o.z + cz * o.s + cx * o.y - cy * o.x;
+            final double sin = Math.sqrt(px * px + py * py + pz * pz);
+            final double f = sin < EPSILON ? 1 : Math.atan2(sin, ps) / sin;
+            lx += f * px;
+            ly += f * py;
+            lz += f * pz;
+        }
+        // current * exp(-sum / 4)
+        lx *= -0.25;
+        ly *= -0.25;
+        lz *= -0.25;
+        final double angle = Math.sqrt(lx * lx + ly * ly + lz * lz);
+        final double f = angle < EPSILON ? 1 : Math.sin(angle) / angle;
+        final double es = Math.cos(angle), ex = f * lx, ey = f * ly, ez = f * lz;
+        return dest.set(current.s, current.x, current.y, current.z).multiply(es, ex, ey, ez).normalize();
+    }
+
+    /**
+     * Interpolate spherically between the components of 2 unit quaternions.
+     *
+     * @param shortest Whether to flip b when it is on the other hemisphere, to take the shorter arc.
+     * @return The destination.
+     */
+    private static Quaternion slerp(final double as, final double ax, final double ay, final double az,
+                                    final double bs, final double bx, final double by, final double bz,
+                                    final double t, final boolean shortest, final Quaternion dest) {
+        double cos = as * bs + ax * bx + ay * by + az * bz;
+        double sign = 1;
+        if (shortest && cos < 0) {
+            cos = -cos;
+            sign = -1;
+        }
+        final double wa, wb;
+        if (cos > 1 - EPSILON) {
+            // Almost the same rotation, the sine would divide by zero.
+            wa = 1 - t;
+            wb = t;
+        } else {
+            // atan2 instead of acos, which is several times slower, and the sine comes for free.
+            final double sin = Math.sqrt(1 - cos * cos);
+            final double angle = Math.atan2(sin, cos);
+            wa = Math.sin((1 - t) * angle) / sin;
+            wb = Math.sin(t * angle) / sin;
+        }
+        final double w = sign * wb;
+        return dest.set(wa * as + w * bs, wa * ax + w * bx, wa * ay + w * by, wa * az + w * bz);
+    }
+
+    /**
+     * @param other The other quaternion.
+     * @return The dot product of the quaternions as 4 dimensional vectors.
+     */
+    public double dot(final Quaternion other) {
+        return s * other.s + x * other.x + y * other.y + z * other.z;
+    }
+
     /**
      * Multiplies this quaternion with another one in the form of this = this * other.
      *
@@ -0,0 +1,159 @@
+package net.pme.core.math;
+
+/**
+ * A quaternion in float precision for the render path.
+ * <p/>
+ * Simulate with {@link Quaternion} and convert with {@link #set(Quaternion)}, which creates no objects.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class Quaternionf {
+    private float s, x, y, z;
+
+    /**
+     * Create the identity rotation.
+     */
+    public Quaternionf() {
+        this(1, 0, 0, 0);
+    }
+
+    /**
+     * Create a quaternion.
+     * @param s The angle component of the rotation.
+     * @param x The x of the rotation axis.
+     * @param y The y of the rotation axis.
+     * @param z The z of the rotation axis.
+     */
+    public Quaternionf(final float s, final float x, final float y, final float z) {
+        set(s, x, y, z);
+    }
+
+    /**
+     * Set the components.
+     *
+     * @param s The angle component of the rotation.
+     * @param x The x of the rotation axis.
+     * @param y The y of the rotation axis.
+     * @param z The z of the rotation axis.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf set(final float s, final float x, final float y, final float z) {
+        this.s = s;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Set this quaternion to a double quaternion.
+     *
+     * @param q The double quaternion.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf set(final Quaternion q) {
+        return set((float) q.getS(), (float) q.getX(), (float) q.getY(), (float) q.getZ());
+    }
+
+    /**
+     * Multiplies this quaternion with another one in the form of this = this * other.
+     *
+     * @param other Quaternion to multiply with.
+     * @return This quaternion for chaining.
+     */
+    public Quaternionf multiply(final Quaternionf other) {
+        return set(s * other.s - x * other.x - y * other.y - z * other.z,
+                s * other.x + x * other.s + y * other.z - z * other.y,
+                s * other.y + y * other.s + z * other.x - x * other.z,
+                s * other.z + z * other.s + x * other.y - y * other.x);
+    }
+
+    /**
+     * Normalizes this quaternion to unit length.
+     * @return The quaternion for chaining.
+     */
+    public Quaternionf normalize() {
+        float len = (float) Math.sqrt(s * s + x * x + y * y + z * z);
+        if (len != 0) {
+            set(s / len, x / len, y / len, z / len);
+        }
+        return this;
+    }
+
+    /**
+     * Rotate a vector by this unit quaternion in place.
+     *
+     * @param v The vector to rotate.
+     * @return The vector.
+     */
+    public Vector3f rotate(final Vector3f v) {
+        // v' = v + s * t + q x t with t = 2 * (q x v)
+        final float tx = 2 * (y * v.getZ() - z * v.getY());
+        final float ty = 2 * (z * v.getX() - x * v.getZ());
+        final float tz = 2 * (x * v.getY() - y * v.getX());
+        return v.set(v.getX() + s * tx + (y * tz - z * ty),
+                v.getY() + s * ty + (z * tx - x * tz),
+                v.getZ() + s * tz + (x * ty - y * tx));
+    }
+
+    /**
+     * Store the rotation matrix of this unit quaternion in a matrix. (The same as Quaternion.toMatrix)
+     *
+     * @param dest The matrix to store the rotation in.
+     * @return The matrix.
+     */
+    public Matrix4f toMatrix(final Matrix4f dest) {
+        final float[] m = dest.values();
+        m[0] = 1 - 2 * (y * y + z * z);
+        m[1] = 2 * s * z + 2 * x * y;
+        m[2] = -2 * s * y + 2 * x * z;
+        m[3] = 0;
+        m[4] = -2 * s * z + 2 * x * y;
+        m[5] = 1 - 2 * (x * x + z * z);
+        m[6] = 2 * s * x + 2 * y * z;
+        m[7] = 0;
+        m[8] = 2 * s * y + 2 * x * z;
+        m[9] = -2 * s * x + 2 * y * z;
+        m[10] = 1 - 2 * (x * x + y * y);
+        m[11] = 0;
+        m[12] = 0;
+        m[13] = 0;
+        m[14] = 0;
+        m[15] = 1;
+        return dest;
+    }
+
+    /**
+     * @return The s component.
+     */
+    public float getS() {
+        return s;
+    }
+
+    /**
+     * @return The x component.
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * @return The y component.
+     */
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * @return The z component.
+     */
+    public float getZ() {
+        return z;
+    }
+
+    @Override
+    public String toString() {
+        return s + " " + x + " " + y + " " + z;
+    }
+}
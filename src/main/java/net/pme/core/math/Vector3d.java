@@ -1,14 +1,12 @@
 package net.pme.core.math;
 
-import org.lwjgl.util.vector.Vector3f;
-
 /**
  * A three dimensional vector.
  *
  * @author Michael Fürst, Johannes Schuck
  * @version 1.0
  */
-public class Vector3d extends Vector<Vector3f, Vector3d> {
+public class Vector3d extends Vector<org.lwjgl.util.vector.Vector3f, Vector3d> {
 
     /**
      * Create a null vector.
@@ -21,7 +19,7 @@ public class Vector3d extends Vector<Vector3f, Vector3d> {
      * Create a vector from the gl vector.
      * @param vector The gl vector to use.
      */
-    public Vector3d(Vector3f vector) {
+    public Vector3d(org.lwjgl.util.vector.Vector3f vector) {
         this.x = vector.getX();
         this.y = vector.getY();
         this.z = vector.getZ();
@@ -48,11 +46,12 @@ public class Vector3d extends Vector<Vector3f, Vector3d> {
      */
     public Vector3d transformCoords(final Matrix m) {
         Vector3d v = this;
-        double[][] tmp = m.getArray();
-        set(v.x * tmp[0][0] + v.y * tmp[1][0] + v.z * tmp[2][0]
-                + tmp[3][0], v.x * tmp[0][1] + v.y * tmp[1][1] + v.z * tmp[2][1] + tmp[3][1], v.x
-                * tmp[0][2] + v.y * tmp[1][2] + v.z * tmp[2][2] + tmp[3][2]);
-        double w = v.x * tmp[0][3] + v.y * tmp[1][3] + v.z * tmp[2][3] + tmp[3][3];
+        double[] tmp = m.values();
+        // Before set, w must use the untransformed coordinates.
+        double w = v.x * tmp[3] + v.y * tmp[7] + v.z * tmp[11] + tmp[15];
+        set(v.x * tmp[0] + v.y * tmp[4] + v.z * tmp[8] + tmp[12],
+                v.x * tmp[1] + v.y * tmp[5] + v.z * tmp[9] + tmp[13],
+                v.x * tmp[2] + v.y * tmp[6] + v.z * tmp[10] + tmp[14]);
         if (w != 1.0f) {
             scale(1 / w);
         }
@@ -90,19 +89,15 @@ public class Vector3d extends Vector<Vector3f, Vector3d> {
      * @return The transformed vector (v).
      */
     public Vector3d transformCoords(final Quaternion q) {
-        Quaternion tmp = new Quaternion(q);
-        Quaternion res = new Quaternion(q);
-
-        // q * v * q.conjugate
-        res.multiply(0, getX(), getY(), getZ()).multiply(tmp.conjugate());
-
-        assert MathUtils.isEqual(res.getS(), 0);
-
-        x = res.getX();
-        y = res.getY();
-        z = res.getZ();
-
-        return this;
+        // q * v * q.conjugate expanded, so it also scales by the squared length of q like the product.
+        final double s = q.getS(), qx = q.getX(), qy = q.getY(), qz = q.getZ();
+        final double vx = x, vy = y, vz = z;
+        final double a = s * s - (qx * qx + qy * qy + qz * qz);
+        final double b = 2 * (qx * vx + qy * vy + qz * vz);
+        final double c = 2 * s;
+        return set(a * vx + b * qx + c * (qy * vz - qz * vy),
+                a * vy + b * qy + c * (qz * vx - qx * vz),
+                a * vz + b * qz + c * (qx * vy - qy * vx));
     }
 
     /**
@@ -127,11 +122,12 @@ public class Vector3d extends Vector<Vector3f, Vector3d> {
         if (dLength == 0.0) {
             return v;
         }
-        double[][] tmp = m.getArray();
-        set(v.x * tmp[0][0] + v.y * tmp[1][0] + v.z * tmp[2][0]
-                + tmp[3][0], v.x * tmp[0][1] + v.y * tmp[1][1] + v.z * tmp[2][1] + tmp[3][1], v.x
-                * tmp[0][2] + v.y * tmp[1][2] + v.z * tmp[2][2] + tmp[3][2]);
-        double w = v.x * tmp[0][3] + v.y * tmp[1][3] + v.z * tmp[2][3] + tmp[3][3];
+        double[] tmp = m.values();
+        // Before set, w must use the untransformed coordinates.
+        double w = v.x * tmp[3] + v.y * tmp[7] + v.z * tmp[11] + tmp[15];
+        set(v.x * tmp[0] + v.y * tmp[4] + v.z * tmp[8] + tmp[12],
+                v.x * tmp[1] + v.y * tmp[5] + v.z * tmp[9] + tmp[13],
+                v.x * tmp[2] + v.y * tmp[6] + v.z * tmp[10] + tmp[14]);
         if (w != 1.0f) {
             scale(1 / w);
         }
@@ -278,8 +274,8 @@ public class Vector3d extends Vector<Vector3f, Vector3d> {
     }
 
     @Override
-    public Vector3f getLwjglVector() {
-        return new Vector3f((float) x, (float) y, (float) z);
+    public org.lwjgl.util.vector.Vector3f getLwjglVector() {
+        return new org.lwjgl.util.vector.Vector3f((float) x, (float) y, (float) z);
     }
 
     @Override
@@ -0,0 +1,207 @@
+package net.pme.core.math;
+
+/**
+ * A three dimensional vector in float precision for the render path.
+ * <p/>
+ * Simulate with {@link Vector3d} and convert with {@link #set(Vector3d)}, which creates no objects.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class Vector3f {
+    private float x, y, z;
+
+    /**
+     * Create a null vector.
+     */
+    public Vector3f() {
+    }
+
+    /**
+     * Create a vector with the given parameters.
+     *
+     * @param x x-component
+     * @param y y-component
+     * @param z z-component
+     */
+    public Vector3f(final float x, final float y, final float z) {
+        set(x, y, z);
+    }
+
+    /**
+     * Create a vector from a double vector.
+     *
+     * @param v The double vector.
+     */
+    public Vector3f(final Vector3d v) {
+        set(v);
+    }
+
+    /**
+     * Set the values of this vector.
+     * @param x The x-coordinate.
+     * @param y The y-coordinate.
+     * @param z The z-coordinate.
+     * @return This vector.
+     */
+    public Vector3f set(final float x, final float y, final float z) {
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this;
+    }
+
+    /**
+     * Set this vector to the values of another.
+     * @param other The other vector.
+     * @return This vector.
+     */
+    public Vector3f set(final Vector3f other) {
+        return set(other.x, other.y, other.z);
+    }
+
+    /**
+     * Set this vector to the values of a double vector.
+     * @param other The double vector.
+     * @return This vector.
+     */
+    public Vector3f set(final Vector3d other) {
+        return set((float) other.getX(), (float) other.getY(), (float) other.getZ());
+    }
+
+    /**
+     * Add another vector.
+     * @param other The other vector.
+     * @return This vector.
+     */
+    public Vector3f add(final Vector3f other) {
+        return set(x + other.x, y + other.y, z + other.z);
+    }
+
+    /**
+     * Subtract another vector.
+     * @param other The other vector.
+     * @return This vector.
+     */
+    public Vector3f subtract(final Vector3f other) {
+        return set(x - other.x, y - other.y, z - other.z);
+    }
+
+    /**
+     * Scale the vector.
+     * @param factor The factor.
+     * @return This vector.
+     */
+    public Vector3f scale(final float factor) {
+        return set(x * factor, y * factor, z * factor);
+    }
+
+    /**
+     * Calculate the cross product of 2 vectors (this x other).
+     *
+     * @param other The second vector.
+     * @return This vector.
+     */
+    public Vector3f crossProduct(final Vector3f other) {
+        return set(y * other.z - z * other.y, z * other.x - x * other.z, x * other.y - y * other.x);
+    }
+
+    /**
+     * @param other The other vector.
+     * @return The dot product.
+     */
+    public float dotProduct(final Vector3f other) {
+        return x * other.x + y * other.y + z * other.z;
+    }
+
+    /**
+     * @return The length of the vector.
+     */
+    public float length() {
+        return (float) Math.sqrt(x * x + y * y + z * z);
+    }
+
+    /**
+     * Normalize the vector. A null vector stays a null vector.
+     * @return This vector.
+     */
+    public Vector3f normalize() {
+        float length = length();
+        return length == 0 ? this : scale(1 / length);
+    }
+
+    /**
+     * Transform a vector by a matrix.
+     *
+     * @param m The transformation matrix.
+     * @return This vector.
+     */
+    public Vector3f transformCoords(final Matrix4f m) {
+        float[] tmp = m.values();
+        float w = x * tmp[3] + y * tmp[7] + z * tmp[11] + tmp[15];
+        set(x * tmp[0] + y * tmp[4] + z * tmp[8] + tmp[12],
+                x * tmp[1] + y * tmp[5] + z * tmp[9] + tmp[13],
+                x * tmp[2] + y * tmp[6] + z * tmp[10] + tmp[14]);
+        if (w != 1.0f) {
+            scale(1 / w);
+        }
+        return this;
+    }
+
+    /**
+     * Transform a direction by a matrix, ignoring the translation.
+     *
+     * @param m The transformation matrix.
+     * @return This vector.
+     */
+    public Vector3f transformNormal(final Matrix4f m) {
+        float[] tmp = m.values();
+        return set(x * tmp[0] + y * tmp[4] + z * tmp[8],
+                x * tmp[1] + y * tmp[5] + z * tmp[9],
+                x * tmp[2] + y * tmp[6] + z * tmp[10]);
+    }
+
+    /**
+     * @return The x component.
+     */
+    public float getX() {
+        return x;
+    }
+
+    /**
+     * @return The y component.
+     */
+    public float getY() {
+        return y;
+    }
+
+    /**
+     * @return The z component.
+     */
+    public float getZ() {
+        return z;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (!(other instanceof Vector3f)) {
+            return false;
+        }
+        Vector3f o = (Vector3f) other;
+        return x == o.x && y == o.y && z == o.z;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = Float.floatToIntBits(x);
+        result = prime * result + Float.floatToIntBits(y);
+        result = prime * result + Float.floatToIntBits(z);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "(" + x + ", " + y + ", " + z + ")";
+    }
+}
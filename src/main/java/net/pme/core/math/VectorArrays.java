@@ -0,0 +1,322 @@
+package net.pme.core.math;
+
+/**
+ * Batch operations on many points at once.
+ * <p/>
+ * The points are packed into one array as x, y, z, x, y, z, ... (the layout of a GL vertex buffer),
+ * offsets and counts are given in points. The loops are plain counted loops over primitives without
+ * calls or objects inside, so the JIT can unroll and vectorise them, and they create no objects.
+ * Source and destination may be the same array.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class VectorArrays {
+    private static final int STRIDE = 3;
+
+    private VectorArrays() {
+    }
+
+    /**
+     * Pack vectors into an array.
+     *
+     * @param vectors The vectors.
+     * @param dest    The array to store them in. (At least 3 values per vector)
+     * @return The array.
+     */
+    public static double[] pack(final Iterable<Vector3d> vectors, final double[] dest) {
+        int i = 0;
+        for (Vector3d v : vectors) {
+            dest[i] = v.getX();
+            dest[i + 1] = v.getY();
+            dest[i + 2] = v.getZ();
+            i += STRIDE;
+        }
+        return dest;
+    }
+
+    /**
+     * Transform points by a matrix. (The same as Vector3d.transformCoords for every point)
+     *
+     * @param m          The transformation matrix.
+     * @param src        The points.
+     * @param srcOffset  The first point to transform.
+     * @param dest       The array to store the transformed points in.
+     * @param destOffset The point to store the first result at.
+     * @param count      The number of points.
+     */
+    public static void transformCoords(final Matrix m, final double[] src, final int srcOffset,
+                                       final double[] dest, final int destOffset, final int count) {
+        final double[] t = m.values();
+        final double m00 = t[0], m01 = t[1], m02 = t[2], m03 = t[3];
+        final double m10 = t[4], m11 = t[5], m12 = t[6], m13 = t[7];
+        final double m20 = t[8], m21 = t[9], m22 = t[10], m23 = t[11];
+        final double m30 = t[12], m31 = t[13], m32 = t[14], m33 = t[15];
+        int s = srcOffset * STRIDE;
+        int d = destOffset * STRIDE;
+        // Decide once whether there is a projection, so the common affine loop has no division.
+        if (m03 == 0 && m13 == 0 && m23 == 0 && m33 == 1) {
+            for (int i = 0; i < count; i++, s += STRIDE, d += STRIDE) {
+                final double x = src[s], y = src[s + 1], z = src[s + 2];
+                dest[d] = x * m00 + y * m10 + z * m20 + m30;
+                dest[d + 1] = x * m01 + y * m11 + z * m21 + m31;
+                dest[d + 2] = x * m02 + y * m12 + z * m22 + m32;
+            }
+        } else {
+            for (int i = 0; i < count; i++, s += STRIDE, d += STRIDE) {
+                final double x = src[s], y = src[s + 1], z = src[s + 2];
+                final double w = x * m03 + y * m13 + z * m23 + m33;
+                dest[d] = (x * m00 + y * m10 + z * m20 + m30) / w;
+                dest[d + 1] = (x * m01 + y * m11 + z * m21 + m31) / w;
+                dest[d + 2] = (x * m02 + y * m12 + z * m22 + m32) / w;
+            }
+        }
+    }
+
+    /**
+     * Transform points by a matrix. (The same as Vector3f.transformCoords for every point)
+     *
+     * @param m          The transformation matrix.
+     * @param src        The points.
+     * @param srcOffset  The first point to transform.
+     * @param dest       The array to store the transformed points in.
+     * @param destOffset The point to store the first result at.
+     * @param count      The number of points.
+     */
+    public static void transformCoords(final Matrix4f m, final float[] src, final int srcOffset,
+                                       final float[] dest, final int destOffset, final int count) {
+        final float[] t = m.values();
+        final float m00 = t[0], m01 = t[1], m02 = t[2], m03 = t[3];
+        final float m10 = t[4], m11 = t[5], m12 = t[6], m13 = t[7];
+        final float m20 = t[8], m21 = t[9], m22 = t[10], m23 = t[11];
+        final float m30 = t[12], m31 = t[13], m32 = t[14], m33 = t[15];
+        int s = srcOffset * STRIDE;
+        int d = destOffset * STRIDE;
+        if (m03 == 0 && m13 == 0 && m23 == 0 && m33 == 1) {
+            for (int i = 0; i < count; i++, s += STRIDE, d += STRIDE) {
+                final float x = src[s], y = src[s + 1], z = src[s + 2];
+                dest[d] = x * m00 + y * m10 + z * m20 + m30;
+                dest[d + 1] = x * m01 + y * m11 + z * m21 + m31;
+                dest[d + 2] = x * m02 + y * m12 + z * m22 + m32;
+            }
+        } else {
+            for (int i = 0; i < count; i++, s += STRIDE, d += STRIDE) {
+                final float x = src[s], y = src[s + 1], z = src[s + 2];
+                final float w = x * m03 + y * m13 + z * m23 + m33;
+                dest[d] = (x * m00 + y * m10 + z * m20 + m30) / w;
+                dest[d + 1] = (x * m01 + y * m11 + z * m21 + m31) / w;
+                dest[d + 2] = (x * m02 + y * m12 + z * m22 + m32) / w;
+            }
+        }
+    }
+
+    /**
+     * Transform directions by a matrix, ignoring the translation.
+     *
+     * @param m          The transformation matrix.
+     * @param src        The directions.
+     * @param srcOffset  The first direction to transform.
+     * @param dest       The array to store the transformed directions in.
+     * @param destOffset The direction to store the first result at.
+     * @param count      The number of directions.
+     */
+    public static void transformNormal(final Matrix m, final double[] src, final int srcOffset,
+                                       final double[] dest, final int destOffset, final int count) {
+        final double[] t = m.values();
+        final double m00 = t[0], m01 = t[1], m02 = t[2];
+        final double m10 = t[4], m11 = t[5], m12 = t[6];
+        final double m20 = t[8], m21 = t[9], m22 = t[10];
+        int s = srcOffset * STRIDE;
+        int d = destOffset * STRIDE;
+        for (int i = 0; i < count; i++, s += STRIDE, d += STRIDE) {
+            final double x = src[s], y = src[s + 1], z = src[s + 2];
+            dest[d] = x * m00 + y * m10 + z * m20;
+            dest[d + 1] = x * m01 + y * m11 + z * m21;
+            dest[d + 2] = x * m02 + y * m12 + z * m22;
+        }
+    }
+
+    /**
+     * Transform directions by a matrix, ignoring the translation.
+     *
+     * @param m          The transformation matrix.
+     * @param src        The directions.
+     * @param srcOffset  The first direction to transform.
+     * @param dest       The array to store the transformed directions in.
+     * @param destOffset The direction to store the first result at.
+     * @param count      The number of directions.
+     */
+    public static void transformNormal(final Matrix4f m, final float[] src, final int srcOffset,
+                                       final float[] dest, final int destOffset, final int count) {
+        final float[] t = m.values();
+        final float m00 = t[0], m01 = t[1], m02 = t[2];
+        final float m10 = t[4], m11 = t[5], m12 = t[6];
+        final float m20 = t[8], m21 = t[9], m22 = t[10];
+        int s = srcOffset * STRIDE;
+        int d = destOffset * STRIDE;
+        for (int i = 0; i < count; i++, s += STRIDE, d += STRIDE) {
+            final float x = src[s], y = src[s + 1], z = src[s + 2];
+            dest[d] = x * m00 + y * m10 + z * m20;
+            dest[d + 1] = x * m01 + y * m11 + z * m21;
+            dest[d + 2] = x * m02 + y * m12 + z * m22;
+        }
+    }
+
+    /**
+     * Extend axis aligned bounds to contain points.
+     * <p/>
+     * The bounds are read and written, so several arrays can be reduced into the same bounds.
+     * Start with {@link Double#POSITIVE_INFINITY} minima and {@link Double#NEGATIVE_INFINITY} maxima
+     * for the bounds of the points alone.
+     *
+     * @param src    The points.
+     * @param offset The first point.
+     * @param count  The number of points.
+     * @param bounds The bounds as min x, min y, min z, max x, max y, max z.
+     * @return The bounds.
+     */
+    public static double[] bounds(final double[] src, final int offset, final int count, final double[] bounds) {
+        double minX = bounds[0], minY = bounds[1], minZ = bounds[2];
+        double maxX = bounds[3], maxY = bounds[4], maxZ = bounds[5];
+        int s = offset * STRIDE;
+        for (int i = 0; i < count; i++, s += STRIDE) {
+            final double x = src[s], y = src[s + 1], z = src[s + 2];
+            minX = x < minX ? x : minX;
+            minY = y < minY ? y : minY;
+            minZ = z < minZ ? z : minZ;
+            maxX = x > maxX ? x : maxX;
+            maxY = y > maxY ? y : maxY;
+            maxZ = z > maxZ ? z : maxZ;
+        }
+        bounds[0] = minX;
+        bounds[1] = minY;
+        bounds[2] = minZ;
+        bounds[3] = maxX;
+        bounds[4] = maxY;
+        bounds[5] = maxZ;
+        return bounds;
+    }
+
+    /**
+     * Extend axis aligned bounds to contain points.
+     * <p/>
+     * The bounds are read and written, so several arrays can be reduced into the same bounds.
+     * Start with {@link Float#POSITIVE_INFINITY} minima and {@link Float#NEGATIVE_INFINITY} maxima
+     * for the bounds of the points alone.
+     *
+     * @param src    The points.
+     * @param offset The first point.
+     * @param count  The number of points.
+     * @param bounds The bounds as min x, min y, min z, max x, max y, max z.
+     * @return The bounds.
+     */
+    public static float[] bounds(final float[] src, final int offset, final int count, final float[] bounds) {
+        float minX = bounds[0], minY = bounds[1], minZ = bounds[2];
+        float maxX = bounds[3], maxY = bounds[4], maxZ = bounds[5];
+        int s = offset * STRIDE;
+        for (int i = 0; i < count; i++, s += STRIDE) {
+            final float x = src[s], y = src[s + 1], z = src[s + 2];
+            minX = x < minX ? x : minX;
+            minY = y < minY ? y : minY;
+            minZ = z < minZ ? z : minZ;
+            maxX = x > maxX ? x : maxX;
+            maxY = y > maxY ? y : maxY;
+            maxZ = z > maxZ ? z : maxZ;
+        }
+        bounds[0] = minX;
+        bounds[1] = minY;
+        bounds[2] = minZ;
+        bounds[3] = maxX;
+        bounds[4] = maxY;
+        bounds[5] = maxZ;
+        return bounds;
+    }
+
+    /**
+     * Calculate the dot product of every point with a direction, e.g. the distances to a plane through
+     * the origin or the extents along an axis.
+     *
+     * @param src        The points.
+     * @param srcOffset  The first point.
+     * @param x          The x of the direction.
+     * @param y          The y of the direction.
+     * @param z          The z of the direction.
+     * @param dest       The array to store one dot product per point in.
+     * @param destOffset The index to store the first dot product at.
+     * @param count      The number of points.
+     */
+    public static void dot(final double[] src, final int srcOffset, final double x, final double y, final double z,
+                           final double[] dest, final int destOffset, final int count) {
+        int s = srcOffset * STRIDE;
+        for (int i = 0; i < count; i++, s += STRIDE) {
+            dest[destOffset + i] = src[s] * x + src[s + 1] * y + src[s + 2] * z;
+        }
+    }
+
+    /**
+     * Calculate the dot product of every point with a direction, e.g. the distances to a plane through
+     * the origin or the extents along an axis.
+     *
+     * @param src        The points.
+     * @param srcOffset  The first point.
+     * @param x          The x of the direction.
+     * @param y          The y of the direction.
+     * @param z          The z of the direction.
+     * @param dest       The array to store one dot product per point in.
+     * @param destOffset The index to store the first dot product at.
+     * @param count      The number of points.
+     */
+    public static void dot(final float[] src, final int srcOffset, final float x, final float y, final float z,
+                           final float[] dest, final int destOffset, final int count) {
+        int s = srcOffset * STRIDE;
+        for (int i = 0; i < count; i++, s += STRIDE) {
+            dest[destOffset + i] = src[s] * x + src[s + 1] * y + src[s + 2] * z;
+        }
+    }
+
+    /**
+     * Get the largest dot product of the points with a direction, e.g. the support point of a convex hull
+     * for collision tests or the extent of a model along an axis.
+     *
+     * @param src    The points.
+     * @param offset The first point.
+     * @param count  The number of points.
+     * @param x      The x of the direction.
+     * @param y      The y of the direction.
+     * @param z      The z of the direction.
+     * @return The largest dot product or negative infinity for no points.
+     */
+    public static double maxDot(final double[] src, final int offset, final int count,
+                                final double x, final double y, final double z) {
+        double max = Double.NEGATIVE_INFINITY;
+        int s = offset * STRIDE;
+        for (int i = 0; i < count; i++, s += STRIDE) {
+            final double d = src[s] * x + src[s + 1] * y + src[s + 2] * z;
+            max = d > max ? d : max;
+        }
+        return max;
+    }
+
+    /**
+     * Get the largest dot product of the points with a direction, e.g. the support point of a convex hull
+     * for collision tests or the extent of a model along an axis.
+     *
+     * @param src    The points.
+     * @param offset The first point.
+     * @param count  The number of points.
+     * @param x      The x of the direction.
+     * @param y      The y of the direction.
+     * @param z      The z of the direction.
+     * @return The largest dot product or negative infinity for no points.
+     */
+    public static float maxDot(final float[] src, final int offset, final int count,
+                               final float x, final float y, final float z) {
+        float max = Float.NEGATIVE_INFINITY;
+        int s = offset * STRIDE;
+        for (int i = 0; i < count; i++, s += STRIDE) {
+            final float d = src[s] * x + src[s + 1] * y + src[s + 2] * z;
+            max = d > max ? d : max;
+        }
+        return max;
+    }
+}
@@ -0,0 +1,236 @@
+package net.pme.core.utils;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A hash map from primitive long keys to objects.
+ * <p/>
+ * Keys are not boxed: keys and values are stored in two arrays and collisions are resolved
+ * by linear probing, so a lookup usually reads one or two neighbouring slots.
+ * <p/>
+ * The map must only be changed by one thread at a time, but it can be read by any number of threads
+ * concurrently, e.g. by the network threads while the game loop spawns objects. The key of a slot is written
+ * once, before its value is published, and removed entries leave a marker instead of moving the following
+ * entries. The markers are dropped when the entries are copied into a new table, which replaces the old one
+ * at once, so a lookup always probes one consistent table.
+ * <p/>
+ * Null values are not supported.
+ *
+ * @param <V> The type of the values.
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public final class LongObjectMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * The map is copied into a new table when more than 1 / LOAD_DIVISOR of the slots would be used.
+     */
+    private static final int LOAD_DIVISOR = 2;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+    /**
+     * The value of a removed entry. Its slot is not used again until the table is copied.
+     */
+    private static final Object REMOVED = new Object();
+    private volatile Table table;
+    private int size = 0;
+
+    /**
+     * Create an empty map.
+     */
+    public LongObjectMap() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Create an empty map that holds a number of entries without growing.
+     *
+     * @param expectedSize The number of entries.
+     */
+    public LongObjectMap(final int expectedSize) {
+        table = new Table(capacityFor(expectedSize));
+    }
+
+    /**
+     * @return The number of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Whether the map is empty.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Get the value of a key.
+     * <p/>
+     * Can be called from any thread, also while the map is changed.
+     *
+     * @param key The key.
+     * @return The value or null when the key is not contained.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(final long key) {
+        Table t = table;
+        int i = t.slot(key);
+        Object value;
+        while ((value = t.values.get(i)) != null) {
+            if (value != REMOVED && t.keys[i] == key) {
+                return (V) value;
+            }
+            i = (i + 1) & t.mask;
+        }
+        return null;
+    }
+
+    /**
+     * @param key The key.
+     * @return Whether the key is contained.
+     */
+    public boolean containsKey(final long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Set the value of a key.
+     *
+     * @param key   The key.
+     * @param value The value.
+     * @return The previous value or null when the key was not contained.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(final long key, final V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported.");
+        }
+        Table t = table;
+        int i = t.slot(key);
+        Object current;
+        while ((current = t.values.get(i)) != null) {
+            if (current != REMOVED && t.keys[i] == key) {
+                t.values.set(i, value);
+                return (V) current;
+            }
+            i = (i + 1) & t.mask;
+        }
+        // The key is written before the value, so a reader that sees the value sees the key.
+        t.keys[i] = key;
+        t.values.set(i, value);
+        size++;
+        if (++t.used * LOAD_DIVISOR > t.values.length()) {
+            table = copy(t);
+        }
+        return null;
+    }
+
+    /**
+     * Remove a key.
+     *
+     * @param key The key.
+     * @return The removed value or null when the key was not contained.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(final long key) {
+        Table t = table;
+        int i = t.slot(key);
+        Object value;
+        while ((value = t.values.get(i)) != null) {
+            if (value != REMOVED && t.keys[i] == key) {
+                t.values.set(i, REMOVED);
+                size--;
+                return (V) value;
+            }
+            i = (i + 1) & t.mask;
+        }
+        return null;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        table = new Table(table.values.length());
+        size = 0;
+    }
+
+    /**
+     * Copy the entries into a new table, without the removed ones.
+     * The table doubles when the entries use more than a quarter of the slots, otherwise the copy only
+     * drops the removed entries. Either way a quarter of the slots is free for new entries.
+     *
+     * @param old The table to copy.
+     * @return The new table.
+     */
+    private Table copy(final Table old) {
+        int capacity = old.values.length();
+        if (size * LOAD_DIVISOR * 2 > capacity) {
+            capacity <<= 1;
+        }
+        Table t = new Table(capacity);
+        for (int j = 0; j < old.keys.length; j++) {
+            Object value = old.values.get(j);
+            if (value != null && value != REMOVED) {
+                int i = t.slot(old.keys[j]);
+                while (t.values.get(i) != null) {
+                    i = (i + 1) & t.mask;
+                }
+                t.keys[i] = old.keys[j];
+                t.values.set(i, value);
+                t.used++;
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Get the number of slots for a number of entries.
+     *
+     * @param entries The number of entries.
+     * @return The number of slots. (A power of two)
+     */
+    private static int capacityFor(final int entries) {
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < entries * LOAD_DIVISOR) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * The slots of the map. The arrays and the mask never change, the map replaces the whole table.
+     */
+    private static final class Table {
+        private final long[] keys;
+        private final AtomicReferenceArray<Object> values;
+        private final int mask;
+        /**
+         * The number of slots holding an entry or a removed entry. Only read by the changing thread.
+         */
+        private int used = 0;
+
+        /**
+         * Create an empty table.
+         *
+         * @param capacity The number of slots. (A power of two)
+         */
+        private Table(final int capacity) {
+            keys = new long[capacity];
+            values = new AtomicReferenceArray<>(capacity);
+            mask = capacity - 1;
+        }
+
+        /**
+         * Get the home slot of a key.
+         *
+         * @param key The key.
+         * @return The slot.
+         */
+        private int slot(final long key) {
+            long h = key * GOLDEN_RATIO;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+    }
+}
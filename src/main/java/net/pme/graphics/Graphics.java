@@ -27,6 +27,7 @@ public final class Graphics {
     private static final float Z_NEAR = 0.001f;
     private static final float Z_FAR = 2000.0f;
     private static final int INITIAL_FPS_LIMIT = 120;
+    private static final long DEFAULT_RENDER_TASK_BUDGET = 2000000;
     private int fpsLimit = INITIAL_FPS_LIMIT;
     private static Graphics instance = null;
     private int displayWidth;
@@ -45,6 +46,10 @@ public final class Graphics {
     private Game game;
     private Shader postprocessingShader = null;
     private Shader finalShader = null;
+    /**
+     * GL work posted by other threads, executed by the render thread.
+     */
+    private final RenderTaskQueue renderTasks = new RenderTaskQueue(DEFAULT_RENDER_TASK_BUDGET);
 
     /**
      * Private constructor for singleton.
@@ -181,6 +186,30 @@ public final class Graphics {
         finalShader = shader;
     }
 
+    /**
+     * Run a task on the thread that owns the GL context.
+     * <p/>
+     * Use this from jobs for GL calls, e.g. to upload a texture decoded on a worker with
+     * {@link net.pme.model.TextureLoader#uploadTexture(java.nio.ByteBuffer, int, int)}.
+     * The tasks are executed in the order they were posted at the start of the next frames,
+     * as many per frame as fit into the render task budget.
+     *
+     * @param task The task to run.
+     */
+    public void runOnRenderThread(final Runnable task) {
+        renderTasks.post(task);
+    }
+
+    /**
+     * Set the time per frame the render thread may spend on posted tasks.
+     * At least one task is run per frame, so a long task delays only one frame.
+     *
+     * @param nanos The budget in nanoseconds. (0 or less runs all tasks every frame)
+     */
+    public void setRenderTaskBudget(final long nanos) {
+        renderTasks.setBudget(nanos);
+    }
+
     /**
      * Creates a display of the given size.
      *
@@ -256,6 +285,7 @@ public final class Graphics {
      * Destroy the window.
      */
     public void deinit() {
+        renderTasks.clear();
         deinitializeRendering();
         Display.destroy();
         Keyboard.destroy();
@@ -382,9 +412,25 @@ public final class Graphics {
 
     public void render(final List<GameObject> objects,
                        final List<HudObject> hudObjects, final Player player, Game game) {
+        render(objects, hudObjects, player, game, 1.0);
+    }
+
+    /**
+     * Render a frame between the last two ticks.
+     *
+     * @param objects    All objects.
+     * @param hudObjects All hud objects.
+     * @param player     The player.
+     * @param game       The game.
+     * @param alpha      How far the frame is from the tick before the last one to the last one. (0 to 1)
+     */
+    public void render(final List<GameObject> objects,
+                       final List<HudObject> hudObjects, final Player player, Game game, final double alpha) {
 
         sync();
 
+        renderTasks.run();
+
         if (postprocessing) {
             synchronized (this) {
                 for (OffscreenRendererWrapper tmp : offscreenRenderers) {
@@ -401,7 +447,7 @@ public final class Graphics {
                         // Render all objects
                         for (GameObject o : objects) {
                             if (o.getRenderAttachment() != null) {
-                                o.getRenderAttachment().render();
+                                o.getRenderAttachment().render(alpha);
                             }
                         }
 
@@ -436,13 +482,13 @@ public final class Graphics {
         GL11.glLoadIdentity();
 
         if (player != null) {
-            player.applyCamera();
+            player.applyCamera(alpha);
         }
 
         // Render all objects
         for (GameObject o : objects) {
             if (o.getRenderAttachment() != null) {
-                o.getRenderAttachment().render();
+                o.getRenderAttachment().render(alpha);
             }
         }
 
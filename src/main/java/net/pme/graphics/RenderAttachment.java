@@ -1,14 +1,17 @@
 package net.pme.graphics;
 
 import net.pme.core.GameObject;
+import net.pme.core.TransformSnapshot;
 import net.pme.core.math.Matrix;
+import net.pme.core.math.Matrix4f;
 import net.pme.core.math.Vector3d;
+import net.pme.core.math.Vector3f;
 import net.pme.graphics.data.VertexData;
 import net.pme.model.BoundingBox;
 import net.pme.model.Model;
 import org.lwjgl.opengl.GL11;
 
-import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
 
 /**
  * An object that can be rendered.
@@ -17,6 +20,11 @@ import java.nio.DoubleBuffer;
  * @version 1.0
  */
 public class RenderAttachment {
+    /**
+     * Adjusts the models with their x axis along up, y along front cross up and z along front.
+     */
+    private static final Matrix4f MODEL_AXES = new Matrix4f().setAxes(new Vector3f(0, 1, 0),
+            new Vector3f(-1, 0, 0), new Vector3f(0, 0, 1), new Vector3f());
     private Model model;
 
     private GameObject parent;
@@ -27,7 +35,11 @@ public class RenderAttachment {
     /**
      * The matrix buffer to avoid recalculations.
      */
-    private DoubleBuffer matrixBuffer;
+    private FloatBuffer matrixBuffer;
+    /**
+     * The model matrix in float precision, uploaded to GL.
+     */
+    private final Matrix4f modelMatrix = new Matrix4f();
     /**
      * A shader for the renderable object.
      */
@@ -42,6 +54,12 @@ public class RenderAttachment {
      * Draw the bounding frame or not.
      */
     private boolean boundingFrame = false;
+    /**
+     * The transform between the last two ticks, reused every frame.
+     */
+    private final TransformSnapshot interpolated = new TransformSnapshot();
+    private final Matrix interpolatedMatrix = new Matrix();
+    private final Vector3d interpolatedXAxis = new Vector3d();
     /**
      * Draw model as wireframe.
      */
@@ -94,14 +112,14 @@ public class RenderAttachment {
     /**
      * @return the matrixBuffer
      */
-    protected final DoubleBuffer getMatrixBuffer() {
+    protected final FloatBuffer getMatrixBuffer() {
         return matrixBuffer;
     }
 
     /**
      * @param matrixBuffer the matrixBuffer to set
      */
-    protected final void setMatrixBuffer(final DoubleBuffer matrixBuffer) {
+    protected final void setMatrixBuffer(final FloatBuffer matrixBuffer) {
         this.matrixBuffer = matrixBuffer;
     }
 
@@ -145,16 +163,39 @@ public class RenderAttachment {
      * Calls the specialFX method.
      */
     public final void render() {
-        GL11.glPushMatrix();
+        render(1.0);
+    }
 
-        GL11.glTranslated(parent.getPosition().getX(), parent.getPosition().getY(), parent.getPosition().getZ());
+    /**
+     * Render the object between the last two ticks.
+     * <p/>
+     * Uses the cached world matrix of the object. While the object moves between the ticks
+     * the matrix is interpolated every frame.
+     *
+     * @param alpha How far the frame is from the tick before the last one to the last one. (0 to 1)
+     */
+    public final void render(final double alpha) {
+        GL11.glPushMatrix();
 
-        if (needsUpdate) {
-            Matrix m = Matrix.axes(parent.getUp(), parent.getFront().clone().crossProduct(parent.getUp()), parent.getFront());
+        boolean moving = false;
+        if (alpha < 1.0) {
+            TransformSnapshot transform = parent.getWorldTransform();
+            TransformSnapshot previous = parent.getPreviousWorldTransform();
+            moving = !previous.hasSameOrientation(transform) || !previous.hasSamePosition(transform);
+            if (moving) {
+                interpolated.interpolate(previous, transform, alpha);
+                interpolatedXAxis.set(interpolated.getUp()).crossProduct(interpolated.getFront());
+                interpolatedMatrix.setAxes(interpolatedXAxis, interpolated.getUp(), interpolated.getFront(),
+                        interpolated.getPosition());
+                putModelMatrix(interpolatedMatrix);
+            }
+        }
 
-            matrixBuffer = m.getValues(matrixBuffer);
-            needsUpdate = false;
+        if (needsUpdate && !moving) {
+            putModelMatrix(parent.getWorldMatrix());
         }
+        // An interpolated matrix is only valid for this frame.
+        needsUpdate = moving;
 
         matrixBuffer.position(0);
         GL11.glMultMatrix(matrixBuffer);
@@ -244,6 +285,16 @@ public class RenderAttachment {
         GL11.glPopMatrix();
     }
 
+    /**
+     * Convert the matrix of a world transform to the float model matrix and write it into the matrix buffer.
+     *
+     * @param world The world matrix. (See GameObject.getWorldMatrix())
+     */
+    private void putModelMatrix(final Matrix world) {
+        Matrix4f.mul(MODEL_AXES, modelMatrix.set(world), modelMatrix);
+        matrixBuffer = modelMatrix.store(matrixBuffer);
+    }
+
     /**
      * Apply special effects, such as particles, shields, etc.
      * <p/>
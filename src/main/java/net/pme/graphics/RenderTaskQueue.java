@@ -0,0 +1,82 @@
+package net.pme.graphics;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Tasks posted by other threads for the thread that owns the GL context.
+ * <p/>
+ * The tasks are run in the order they were posted, as many per drain as fit into the budget.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+final class RenderTaskQueue {
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private volatile long budget;
+
+    /**
+     * Create a queue.
+     *
+     * @param budget The time per drain in nanoseconds. (0 or less runs all tasks)
+     */
+    RenderTaskQueue(final long budget) {
+        this.budget = budget;
+    }
+
+    /**
+     * Post a task.
+     *
+     * @param task The task to run.
+     */
+    void post(final Runnable task) {
+        tasks.add(task);
+    }
+
+    /**
+     * Set the time per drain.
+     *
+     * @param nanos The budget in nanoseconds. (0 or less runs all tasks)
+     */
+    void setBudget(final long nanos) {
+        budget = nanos;
+    }
+
+    /**
+     * Run the tasks that fit into the budget. At least one task is run, so a long task delays only one drain.
+     */
+    void run() {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        long budget = this.budget;
+        long start = System.nanoTime();
+        Runnable task;
+        do {
+            task = tasks.poll();
+            if (task == null) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        } while (budget <= 0 || System.nanoTime() - start < budget);
+    }
+
+    /**
+     * Discard the tasks that were not run.
+     */
+    void clear() {
+        tasks.clear();
+    }
+
+    /**
+     * Get the number of tasks waiting to be run.
+     *
+     * @return The number of tasks.
+     */
+    int size() {
+        return tasks.size();
+    }
+}
@@ -4,6 +4,7 @@ package net.pme.graphics;
  */
 
 import net.pme.core.math.Matrix;
+import net.pme.core.math.Matrix4f;
 
 import org.lwjgl.opengl.ARBFragmentShader;
 import org.lwjgl.opengl.ARBShaderObjects;
@@ -32,7 +33,11 @@ public class Shader {
     private int fsId = 0;
     private int program = 0;
     private HashMap<Integer, float[]> uniforms = new HashMap<>();
-    private HashMap<Integer, Matrix> uniformsMat = new HashMap<>();
+    private HashMap<Integer, Matrix4f> uniformsMat = new HashMap<>();
+    /**
+     * The double matrices bound with setUniformMat(String, Matrix), converted into uniformsMat on every update.
+     */
+    private HashMap<Integer, Matrix> uniformsMatSources = new HashMap<>();
     private HashMap<Integer, FloatBuffer> uniformsMatBuffers = new HashMap<>();
 
     /**
@@ -175,10 +180,33 @@ public class Shader {
     public final boolean setUniformMat(final String uniform, final Matrix value) {
         boolean result = false;
 
+        if (value != null && setUniformMat(uniform, new Matrix4f(value))) {
+            uniformsMatSources.put(GL20.glGetUniformLocation(program, uniform), value);
+            result = true;
+        }
+
+        return result;
+    }
+
+    /**
+     * Bind a float matrix to be a uniform in your shader code. In the shader it
+     * is used by "uniform mat4 uniform_name;"
+     * <p/>
+     * The matrix is uploaded as it is every time the shader is bound, without conversion.
+     *
+     * @param uniform The name of the uniform.
+     * @param value   The matrix to bind to that uniform.
+     * @return Weather binding was successful or not.
+     */
+    public final boolean setUniformMat(final String uniform, final Matrix4f value) {
+        boolean result = false;
+
         if (uniform != null && program > 0 && GL20.glGetUniformLocation(program, uniform) >= 0
                 && value != null) {
-            uniformsMat.put(GL20.glGetUniformLocation(program, uniform), value);
-            uniformsMatBuffers.put(GL20.glGetUniformLocation(program, uniform), value.getValuesF(null));
+            int location = GL20.glGetUniformLocation(program, uniform);
+            uniformsMat.put(location, value);
+            uniformsMatSources.remove(location);
+            uniformsMatBuffers.put(location, value.store(null));
             result = true;
         }
 
@@ -205,6 +233,7 @@ public class Shader {
      */
     public final boolean removeUniformMat(final String uniform) {
         uniformsMatBuffers.remove(GL20.glGetUniformLocation(program, uniform));
+        uniformsMatSources.remove(GL20.glGetUniformLocation(program, uniform));
         return uniformsMat.remove(GL20.glGetUniformLocation(program, uniform)) != null;
     }
 
@@ -248,10 +277,12 @@ public class Shader {
 
         keys = uniformsMat.keySet();
         for (Integer k : keys) {
-            Matrix value = uniformsMat.get(k);
-            FloatBuffer buffer = uniformsMatBuffers.get(k);
-            buffer.rewind();
-            GL20.glUniformMatrix4(k, false, value.getValuesF(buffer));
+            Matrix4f value = uniformsMat.get(k);
+            Matrix source = uniformsMatSources.get(k);
+            if (source != null) {
+                value.set(source);
+            }
+            GL20.glUniformMatrix4(k, false, value.store(uniformsMatBuffers.get(k)));
         }
     }
 
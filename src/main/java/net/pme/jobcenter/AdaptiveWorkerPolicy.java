@@ -0,0 +1,131 @@
+package net.pme.jobcenter;
+
+/**
+ * Grows or shrinks the workers of a scheduler by their measured utilization.
+ * <p/>
+ * The utilization is measured over an interval. Above the grow threshold a worker is added, below the
+ * shrink threshold one is removed, never leaving the configured range. Capping the workers keeps several
+ * engine instances on one machine from oversubscribing the cores.
+ * <p/>
+ * See {@link Scheduler#setWorkerPolicy(AdaptiveWorkerPolicy)}. A policy must only be used by one scheduler.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public final class AdaptiveWorkerPolicy {
+    private static final long DEFAULT_INTERVAL = 500000000L;
+    private static final double DEFAULT_SHRINK_UTILIZATION = 0.5;
+    private static final double DEFAULT_GROW_UTILIZATION = 0.85;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private volatile long interval = DEFAULT_INTERVAL;
+    private volatile double shrinkUtilization = DEFAULT_SHRINK_UTILIZATION;
+    private volatile double growUtilization = DEFAULT_GROW_UTILIZATION;
+    private double utilization = 0;
+    /**
+     * The start of the current interval and the busy time of the workers at that time. (in nanoseconds)
+     */
+    private long intervalStart = -1;
+    private long intervalBusyTime = 0;
+
+    /**
+     * Create a policy with at least one worker.
+     *
+     * @param maxWorkers The maximum number of workers.
+     */
+    public AdaptiveWorkerPolicy(final int maxWorkers) {
+        this(1, maxWorkers);
+    }
+
+    /**
+     * Create a policy.
+     *
+     * @param minWorkers The minimum number of workers. (At least 1)
+     * @param maxWorkers The maximum number of workers.
+     * @throws IllegalArgumentException When the range is empty.
+     */
+    public AdaptiveWorkerPolicy(final int minWorkers, final int maxWorkers) {
+        if (minWorkers < 1 || maxWorkers < minWorkers) {
+            throw new IllegalArgumentException("Invalid worker range " + minWorkers + " to " + maxWorkers + ".");
+        }
+        this.minWorkers = minWorkers;
+        this.maxWorkers = maxWorkers;
+    }
+
+    /**
+     * Set the time the utilization is measured before the workers are changed.
+     *
+     * @param nanos The interval in nanoseconds. (Default 500 ms)
+     */
+    public void setInterval(final long nanos) {
+        this.interval = nanos;
+    }
+
+    /**
+     * Set the utilizations at which workers are removed or added.
+     *
+     * @param shrink Below this utilization a worker is removed. (Default 0.5)
+     * @param grow   Above this utilization a worker is added. (Default 0.85)
+     * @throws IllegalArgumentException When not 0 &lt;= shrink &lt; grow &lt;= 1.
+     */
+    public void setThresholds(final double shrink, final double grow) {
+        if (shrink < 0 || grow > 1 || shrink >= grow) {
+            throw new IllegalArgumentException("Invalid thresholds " + shrink + " and " + grow + ".");
+        }
+        this.shrinkUtilization = shrink;
+        this.growUtilization = grow;
+    }
+
+    /**
+     * @return The minimum number of workers.
+     */
+    public int getMinWorkers() {
+        return minWorkers;
+    }
+
+    /**
+     * @return The maximum number of workers.
+     */
+    public int getMaxWorkers() {
+        return maxWorkers;
+    }
+
+    /**
+     * @return The utilization measured in the last complete interval. (0 to 1)
+     */
+    public synchronized double getUtilization() {
+        return utilization;
+    }
+
+    /**
+     * Decide the number of workers.
+     *
+     * @param now      The current time in nanoseconds.
+     * @param busyTime The time all workers together spent executing jobs in nanoseconds.
+     * @param workers  The current number of workers.
+     * @return The number of workers to use.
+     */
+    synchronized int update(final long now, final long busyTime, final int workers) {
+        int current = Math.min(maxWorkers, Math.max(minWorkers, workers));
+        if (intervalStart < 0 || busyTime < intervalBusyTime) {
+            // First update or the statistics were reset.
+            intervalStart = now;
+            intervalBusyTime = busyTime;
+            return current;
+        }
+        long elapsed = now - intervalStart;
+        if (elapsed < interval || elapsed <= 0) {
+            return current;
+        }
+        utilization = Math.min(1, (busyTime - intervalBusyTime) / ((double) elapsed * workers));
+        intervalStart = now;
+        intervalBusyTime = busyTime;
+        if (utilization > growUtilization && current < maxWorkers) {
+            return current + 1;
+        }
+        if (utilization < shrinkUtilization && current > minWorkers) {
+            return current - 1;
+        }
+        return current;
+    }
+}
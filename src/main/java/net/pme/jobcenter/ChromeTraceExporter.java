@@ -0,0 +1,120 @@
+package net.pme.jobcenter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes profiler events as trace event JSON.
+ * <p/>
+ * The file can be opened in chrome://tracing or ui.perfetto.dev.
+ * Every thread becomes a track, with the jobs and loop phases as slices.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public final class ChromeTraceExporter {
+    private static final double NANO_TO_MICRO = 1E-3;
+
+    /**
+     * Only static access.
+     */
+    private ChromeTraceExporter() {
+    }
+
+    /**
+     * Write the events of the last frames to a file.
+     *
+     * @param frames The number of frames.
+     * @param file   The file to write.
+     * @throws IOException When the file cannot be written.
+     */
+    public static void export(final int frames, final File file) throws IOException {
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), Charset.forName("UTF-8"))) {
+            export(Profiler.snapshot(frames), writer);
+        }
+    }
+
+    /**
+     * Write events as trace event JSON.
+     *
+     * @param events The events. (See {@link Profiler#snapshot(int)})
+     * @param writer The writer to write to.
+     * @throws IOException When writing fails.
+     */
+    public static void export(final List<ProfilerEvent> events, final Writer writer) throws IOException {
+        long origin = Long.MAX_VALUE;
+        for (ProfilerEvent e : events) {
+            origin = Math.min(origin, e.getStart());
+        }
+
+        writer.write("{\"traceEvents\":[");
+        boolean first = true;
+        Set<Long> threads = new HashSet<>();
+        for (ProfilerEvent e : events) {
+            if (threads.add(e.getThreadId())) {
+                first = separate(writer, first);
+                writer.write("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":" + e.getThreadId()
+                        + ",\"args\":{\"name\":");
+                writeString(writer, e.getThreadName());
+                writer.write("}}");
+            }
+
+            first = separate(writer, first);
+            writer.write("{\"name\":");
+            writeString(writer, e.getName());
+            writer.write(",\"cat\":");
+            writeString(writer, e.getCategory());
+            writer.write(",\"ph\":\"X\",\"pid\":1,\"tid\":" + e.getThreadId()
+                    + ",\"ts\":" + (e.getStart() - origin) * NANO_TO_MICRO
+                    + ",\"dur\":" + e.getDuration() * NANO_TO_MICRO
+                    + ",\"args\":{\"frame\":" + e.getFrame() + "}}");
+        }
+        writer.write("],\"displayTimeUnit\":\"ms\"}");
+        writer.flush();
+    }
+
+    /**
+     * Write the separator between two events.
+     *
+     * @param writer The writer.
+     * @param first  Whether the next event is the first one.
+     * @return False.
+     * @throws IOException When writing fails.
+     */
+    private static boolean separate(final Writer writer, final boolean first) throws IOException {
+        if (!first) {
+            writer.write(",\n");
+        }
+        return false;
+    }
+
+    /**
+     * Write a string as JSON string.
+     *
+     * @param writer The writer.
+     * @param s      The string.
+     * @throws IOException When writing fails.
+     */
+    private static void writeString(final Writer writer, final String s) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                writer.write('\\');
+                writer.write(c);
+            } else if (c < 0x20) {
+                writer.write(String.format("\\u%04x", (int) c));
+            } else {
+                writer.write(c);
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,38 @@
+package net.pme.jobcenter;
+
+/**
+ * Decides how the jobs of a scheduler are distributed onto worker threads.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public interface ExecutorStrategy {
+
+    /**
+     * Execute the job on a worker thread.
+     * <p/>
+     * The job is ready to run, the scheduler already resolved its dependencies.
+     *
+     * @param job The job to execute.
+     */
+    void execute(final Job job);
+
+    /**
+     * The number of worker threads that execute jobs.
+     *
+     * @return The number of workers.
+     */
+    int getWorkerCount();
+
+    /**
+     * The number of jobs a worker took from the queue of another worker.
+     *
+     * @return The number of steals. (0 if the strategy does not steal.)
+     */
+    long getStealCount();
+
+    /**
+     * Stop the worker threads after the pending jobs are processed.
+     */
+    void shutdown();
+}
@@ -1,6 +1,7 @@
 package net.pme.jobcenter;
 
 import net.pme.Game;
+import net.pme.core.EntityCommandBuffer;
 import net.pme.core.GameObject;
 import net.pme.core.Player;
 import net.pme.graphics.Graphics;
@@ -18,7 +19,30 @@ import java.util.List;
  */
 public final class GameLoop {
     private static final double NANO_TO_SEC = 1E-9;
+    private static final int DEFAULT_MAX_TICKS_PER_FRAME = 5;
+    private static final String PHASE_FRAME = "frame";
+    private static final String PHASE_INPUT = "input";
+    private static final String PHASE_AWAIT = "await";
+    private static final String PHASE_SNAPSHOT = "snapshot";
+    private static final String PHASE_TICK = "tick";
+    private static final String PHASE_RENDER = "render";
+    private static final String PHASE_PACE = "pace";
     private boolean running = true;
+    private ExecutorStrategy executorStrategy = null;
+    private final MoveObjects moveObjects = new MoveObjects();
+    private final MoveHud moveHud = new MoveHud();
+    private final SnapshotObjects snapshotObjects = new SnapshotObjects();
+    private boolean pipelined = false;
+    /**
+     * The duration of a fixed tick. (in seconds, 0 for a variable timestep)
+     */
+    private double tickTime = 0;
+    private int maxTicksPerFrame = DEFAULT_MAX_TICKS_PER_FRAME;
+    private TickPacer tickPacer = null;
+    private long frameBudget = 0;
+    private AdaptiveWorkerPolicy workerPolicy = null;
+    private EntityCommandBuffer entityCommands = null;
+    private volatile Scheduler scheduler = null;
 
     /**
      * Do nothing, only visible inside engine.
@@ -26,6 +50,112 @@ public final class GameLoop {
     public GameLoop() {
     }
 
+    /**
+     * Set the strategy the jobs of the loop are executed with.
+     * <p/>
+     * The strategy is shut down when the loop ends.
+     *
+     * @param executorStrategy The strategy. (Null uses a thread pool.)
+     */
+    public void setExecutorStrategy(final ExecutorStrategy executorStrategy) {
+        this.executorStrategy = executorStrategy;
+    }
+
+    /**
+     * Enable or disable pipelining of simulation and rendering.
+     * <p/>
+     * When pipelined, the workers simulate the next tick while the loop thread renders the last one.
+     * Rendering only reads the transforms snapshotted at the end of each tick, so this halves the frame
+     * time at best, but what is drawn lags one tick behind the simulation.
+     * Inputs are handled before the simulation starts, so input handlers may still modify the player.
+     *
+     * @param pipelined Whether to pipeline or not.
+     */
+    public void setPipelined(final boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    /**
+     * Simulate with a fixed timestep.
+     * <p/>
+     * The simulation advances in ticks of exactly 1 / tickRate seconds, independent of the frame rate,
+     * which makes it deterministic. Frames are rendered between the last two ticks, so the motion is smooth
+     * even when the frame rate is not a multiple of the tick rate. What is drawn lags up to one tick behind.
+     *
+     * @param tickRate The ticks per second. (0 or less for a variable timestep, the default)
+     */
+    public void setFixedTickRate(final double tickRate) {
+        this.tickTime = tickRate > 0 ? 1.0 / tickRate : 0;
+    }
+
+    /**
+     * Limit the ticks simulated to catch up in one frame with a fixed timestep.
+     * <p/>
+     * When a tick takes longer than the tick time, catching up would take longer and longer frames.
+     * Time that exceeds the limit is dropped instead, so the game slows down.
+     *
+     * @param maxTicksPerFrame The maximum ticks per frame. (At least 1, default 5)
+     */
+    public void setMaxTicksPerFrame(final int maxTicksPerFrame) {
+        this.maxTicksPerFrame = Math.max(1, maxTicksPerFrame);
+    }
+
+    /**
+     * Pace the loop when there is no display, e.g. on a dedicated server.
+     * <p/>
+     * Without a pacer a headless loop sleeps a millisecond per iteration, which is neither
+     * a steady tick rate nor precise. Use the same rate as {@link #setFixedTickRate(double)}
+     * to simulate one fixed tick per iteration.
+     *
+     * @param tickPacer The pacer. (Null to sleep a millisecond per iteration)
+     */
+    public void setTickPacer(final TickPacer tickPacer) {
+        this.tickPacer = tickPacer;
+    }
+
+    /**
+     * Set the time per frame the workers should be busy.
+     * See {@link Scheduler#setFrameBudget(long)}.
+     *
+     * @param frameBudget The budget in nanoseconds. (0 or less for no limit)
+     */
+    public void setFrameBudget(final long frameBudget) {
+        this.frameBudget = frameBudget;
+        Scheduler s = scheduler;
+        if (s != null) {
+            s.setFrameBudget(frameBudget);
+        }
+    }
+
+    /**
+     * Let the number of workers follow their utilization.
+     * See {@link Scheduler#setWorkerPolicy(AdaptiveWorkerPolicy)}.
+     *
+     * @param workerPolicy The policy. (Null keeps the number of workers of the executor strategy)
+     */
+    public void setWorkerPolicy(final AdaptiveWorkerPolicy workerPolicy) {
+        this.workerPolicy = workerPolicy;
+    }
+
+    /**
+     * Apply spawning and despawning of objects at the tick boundaries, when no job runs.
+     *
+     * @param entityCommands The commands. (Their target must be the object list the loop runs with.)
+     */
+    public void setEntityCommandBuffer(final EntityCommandBuffer entityCommands) {
+        this.entityCommands = entityCommands;
+    }
+
+    /**
+     * Get the scheduler of the running loop, e.g. to read its statistics.
+     * The scheduler is registered for JMX while the loop runs, see {@link Scheduler#registerMBean()}.
+     *
+     * @return The scheduler or null when the loop is not running.
+     */
+    public Scheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * This is the heart-beat of the engine.
      * <p/>
@@ -41,51 +171,85 @@ public final class GameLoop {
         //List<Particle> localParticleObjects = new ArrayList<Particle>();
 
         double elapsedTime = 0;
+        double accumulator = 0;
 
-        final Scheduler scheduler = new Scheduler();
+        final Scheduler scheduler = new Scheduler(executorStrategy != null ? executorStrategy : new ThreadPoolStrategy());
+        scheduler.setFrameBudget(frameBudget);
+        scheduler.setWorkerPolicy(workerPolicy);
+        scheduler.registerMBean();
+        this.scheduler = scheduler;
 
         Graphics display = game.getDisplay();
+        applyEntityCommands();
 
         while (running && (display == null || !display.isCloseRequested())) {
             long timer = System.nanoTime();
+            Profiler.beginFrame();
+            long frameStart = Profiler.start();
 
             // Flush particle buffer to local buffer.
             //addAll(localParticleObjects, particleObjects);
 
             // Wait for all jobs to wait in this frame.
-            scheduler.await();
-
-            final double elapsedTimeFixed = elapsedTime;
-            scheduler.addJob(new Job(scheduler) {
-                @Override
-                public void execute() {
-                    // Move all objects
-                    for (GameObject o : objects) {
-                        o.getMoveJob().setup(elapsedTimeFixed, scheduler);
-                        scheduler.addJobForNextTick(o.getMoveJob());
-                    }
-                    scheduler.addJobForNextTick(new Job(scheduler) {
-                        @Override
-                        public void execute() {
-                            for (HudObject h: hudObjects) {
-                                h.move(elapsedTimeFixed);
-                            }
-                        }
-                    });
-
-                }
-            });
+            await(scheduler);
+            applyEntityCommands();
 
             display = game.getDisplay();
 
+            long phaseStart = Profiler.start();
             if (player != null) {
                 if (display != null) {
                     display.handleInputs(player);
                 }
             }
+            Profiler.record(PHASE_INPUT, phaseStart);
+
+            double alpha = 1.0;
+            if (tickTime > 0) {
+                // The hud moves once per frame, before a tick can run while rendering.
+                moveHud.elapsedTime = elapsedTime;
+                scheduler.parallelFor(hudObjects, 0, moveHud);
+
+                // Clamp, so a slow tick does not cause more and more ticks per frame.
+                accumulator = Math.min(accumulator + elapsedTime, maxTicksPerFrame * tickTime);
+                boolean ticked = false;
+                while (accumulator >= tickTime) {
+                    fixedTick(scheduler, objects);
+                    accumulator -= tickTime;
+                    ticked = true;
+                }
+                alpha = accumulator / tickTime;
+                if (!ticked) {
+                    // Otherwise the tick already joined the hud.
+                    await(scheduler);
+                }
+            } else {
+                if (pipelined) {
+                    // The hud is not snapshotted, so it must not move while rendering.
+                    moveHud.elapsedTime = elapsedTime;
+                    scheduler.parallelFor(hudObjects, 0, moveHud);
+                }
+                // Publish the transforms of this tick to the renderer.
+                snapshot(scheduler, objects);
+
+                if (pipelined) {
+                    // Simulate the next tick while this one is rendered.
+                    phaseStart = Profiler.start();
+                    scheduler.tick();
+                    moveObjects.elapsedTime = elapsedTime;
+                    scheduler.parallelFor(objects, 0, moveObjects);
+                    Profiler.record(PHASE_TICK, phaseStart);
+                }
+            }
 
             if (display != null) {
-                display.render(objects, hudObjects, player, game);
+                phaseStart = Profiler.start();
+                display.render(objects, hudObjects, player, game, alpha);
+                Profiler.record(PHASE_RENDER, phaseStart);
+            } else if (tickPacer != null) {
+                phaseStart = Profiler.start();
+                tickPacer.awaitNextTick();
+                Profiler.record(PHASE_PACE, phaseStart);
             } else {
                 // Sleep a bit when we are not rendering. To yield for other threads.
                 try {
@@ -95,12 +259,91 @@ public final class GameLoop {
                 }
             }
 
-            scheduler.await();
-            scheduler.tick();
+            if (tickTime <= 0 && !pipelined) {
+                await(scheduler);
+                phaseStart = Profiler.start();
+                scheduler.tick();
+
+                // Move all objects
+                moveObjects.elapsedTime = elapsedTime;
+                moveHud.elapsedTime = elapsedTime;
+                scheduler.parallelFor(objects, 0, moveObjects);
+                scheduler.parallelFor(hudObjects, 0, moveHud);
+                Profiler.record(PHASE_TICK, phaseStart);
+            }
+
+            Profiler.record(PHASE_FRAME, frameStart);
 
             timer = System.nanoTime() - timer;
             elapsedTime = timer * NANO_TO_SEC;
         }
+
+        this.scheduler = null;
+        scheduler.shutdown();
+    }
+
+    /**
+     * Simulate one tick of the fixed timestep and snapshot its transforms.
+     * <p/>
+     * When pipelined, the transforms of the last tick are snapshotted and the tick is left running,
+     * so it is simulated while the frame is rendered.
+     *
+     * @param scheduler The scheduler.
+     * @param objects   All objects.
+     */
+    private void fixedTick(final Scheduler scheduler, final List<GameObject> objects) {
+        await(scheduler);
+        applyEntityCommands();
+        if (pipelined) {
+            snapshot(scheduler, objects);
+        }
+
+        long phaseStart = Profiler.start();
+        scheduler.tick();
+        moveObjects.elapsedTime = tickTime;
+        scheduler.parallelFor(objects, 0, moveObjects);
+        Profiler.record(PHASE_TICK, phaseStart);
+
+        if (!pipelined) {
+            await(scheduler);
+            snapshot(scheduler, objects);
+        }
+    }
+
+    /**
+     * Spawn and despawn the queued objects. Only call when no job runs.
+     */
+    private void applyEntityCommands() {
+        if (entityCommands != null) {
+            entityCommands.apply();
+        }
+    }
+
+    /**
+     * Snapshot the transforms of all objects and update the world transforms of the changed subtrees
+     * and wait for it.
+     * <p/>
+     * Every root object snapshots and updates its own subtree, so this is a single pass.
+     *
+     * @param scheduler The scheduler.
+     * @param objects   All objects.
+     */
+    private void snapshot(final Scheduler scheduler, final List<GameObject> objects) {
+        long phaseStart = Profiler.start();
+        scheduler.parallelFor(objects, 0, snapshotObjects);
+        Profiler.record(PHASE_SNAPSHOT, phaseStart);
+        await(scheduler);
+    }
+
+    /**
+     * Wait for the jobs of the scheduler and record how long the loop waited.
+     *
+     * @param scheduler The scheduler.
+     */
+    private static void await(final Scheduler scheduler) {
+        long phaseStart = Profiler.start();
+        scheduler.await();
+        Profiler.record(PHASE_AWAIT, phaseStart);
     }
 
     /**
@@ -122,4 +365,40 @@ public final class GameLoop {
     public void terminate() {
         running = false;
     }
+
+    /**
+     * Updates the loopable attachment of a game object.
+     */
+    private static final class MoveObjects extends ParallelForBody<GameObject> {
+        private double elapsedTime;
+
+        @Override
+        public void execute(final GameObject object) {
+            if (object.getLoopableAttachment() != null) {
+                object.getLoopableAttachment().update(elapsedTime);
+            }
+        }
+    }
+
+    /**
+     * Snapshots the transforms of the subtree of a root object for rendering and updates its world transforms.
+     */
+    private static final class SnapshotObjects extends ParallelForBody<GameObject> {
+        @Override
+        public void execute(final GameObject object) {
+            object.snapshotSubtree();
+        }
+    }
+
+    /**
+     * Moves a hud object.
+     */
+    private static final class MoveHud extends ParallelForBody<HudObject> {
+        private double elapsedTime;
+
+        @Override
+        public void execute(final HudObject object) {
+            object.move(elapsedTime);
+        }
+    }
 }
@@ -2,7 +2,10 @@ package net.pme.jobcenter;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * A job to be executed.
@@ -13,9 +16,47 @@ import java.util.concurrent.SynchronousQueue;
  */
 public abstract class Job implements Runnable {
     private static final List<Job> EMPTY_DEPENDENCY = new LinkedList<>();
-    private static final int DEFAULT_CANCEL_TIMEOUT = 40;
-    private int cancelTimeout = DEFAULT_CANCEL_TIMEOUT;
+    /**
+     * Marks the successor list of a job that is not pending anymore.
+     */
+    private static final Successor CLOSED = new Successor(null, null, null);
+    /**
+     * Returned by {@link #markFinished()} when a chained submission of the job is pending.
+     */
+    static final Successor RESUBMITTED = new Successor(null, null, null);
     private Scheduler scheduler;
+    /**
+     * The job as task of a fork join pool. Created on first use, see {@link #getForkJoinTask()}.
+     */
+    private volatile ForkJoinTask<Void> forkJoinTask;
+    /**
+     * The number of submissions of this job that are pending or being processed.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+    /**
+     * Guards the transitions between idle and pending, so the successor list is closed and reopened in order.
+     */
+    private final Object pendingLock = new Object();
+    /**
+     * The number of unfinished jobs this job waits for. (Plus one while the job is being added.)
+     */
+    private final AtomicInteger unfinishedPredecessors = new AtomicInteger();
+    /**
+     * The jobs waiting for this job to finish.
+     */
+    private final AtomicReference<Successor> successors = new AtomicReference<>(CLOSED);
+    /**
+     * The priority the job was submitted with.
+     */
+    private JobPriority submittedPriority = JobPriority.NORMAL;
+    /**
+     * The time the job was added to the scheduler. (in nanoseconds)
+     */
+    private volatile long submitTime;
+    /**
+     * The smoothed execution time of the job. (in nanoseconds, 0 when unknown)
+     */
+    private volatile double estimatedTime;
 
     /**
      * Chreate a new job.
@@ -25,6 +66,13 @@ public abstract class Job implements Runnable {
         this.scheduler = scheduler;
     }
 
+    /**
+     * @return The scheduler that is used.
+     */
+    final Scheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * Set the scheduler.
      * @param scheduler The scheduler that is used.
@@ -33,6 +81,172 @@ public abstract class Job implements Runnable {
         this.scheduler = scheduler;
     }
 
+    /**
+     * Get the priority class of this job.
+     * <p/>
+     * Critical and normal jobs must finish before the tick ends. Background jobs do not block the end of
+     * a tick, they are started as the frame budget of the scheduler allows.
+     *
+     * @return The priority. (Normal by default)
+     */
+    public JobPriority getPriority() {
+        return JobPriority.NORMAL;
+    }
+
+    /**
+     * @return The priority the job was submitted with.
+     */
+    final JobPriority getSubmittedPriority() {
+        return submittedPriority;
+    }
+
+    /**
+     * @param priority The priority the job is submitted with.
+     */
+    final void setSubmittedPriority(final JobPriority priority) {
+        this.submittedPriority = priority;
+    }
+
+    /**
+     * @return The time the job was added to the scheduler. (in nanoseconds)
+     */
+    final long getSubmitTime() {
+        return submitTime;
+    }
+
+    /**
+     * @param submitTime The time the job was added to the scheduler. (in nanoseconds)
+     */
+    final void setSubmitTime(final long submitTime) {
+        this.submitTime = submitTime;
+    }
+
+    /**
+     * @return The smoothed execution time of the job. (in nanoseconds, 0 when unknown)
+     */
+    final double getEstimatedTime() {
+        return estimatedTime;
+    }
+
+    /**
+     * Fold an execution time into the estimated execution time.
+     *
+     * @param executionTime The execution time in nanoseconds.
+     * @param smoothing     How much the execution time contributes. (0 to 1)
+     */
+    final void updateEstimatedTime(final long executionTime, final double smoothing) {
+        double estimate = estimatedTime;
+        estimatedTime = estimate <= 0 ? executionTime : estimate + smoothing * (executionTime - estimate);
+    }
+
+    /**
+     * Mark the job as submitted to the scheduler.
+     * <p/>
+     * A submission of a job that is already pending is chained, it is started when the pending one finished.
+     *
+     * @return Whether the job was idle before or not.
+     */
+    final boolean markPending() {
+        synchronized (pendingLock) {
+            if (pending.getAndIncrement() == 0) {
+                // The last submission closed the list, see markFinished.
+                successors.set(null);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Mark one submission of the job as processed.
+     * <p/>
+     * The last submission closes the successor list in the same step, so a submission added right after
+     * opens a new list instead of taking over the jobs waiting for the finished one.
+     *
+     * @return The jobs and handles that waited for the job, {@link #RESUBMITTED} when a chained submission
+     * is pending or null when nothing waited.
+     */
+    final Successor markFinished() {
+        synchronized (pendingLock) {
+            int current = pending.get();
+            if (current > 1) {
+                pending.set(current - 1);
+                return RESUBMITTED;
+            }
+            if (current <= 0) {
+                return null;
+            }
+            Successor head = successors.getAndSet(CLOSED);
+            pending.set(0);
+            return head == CLOSED ? null : head;
+        }
+    }
+
+    /**
+     * Start counting the predecessors of this job.
+     * The count is one until all predecessors are registered, so the job cannot be released early.
+     */
+    final void resetPredecessors() {
+        unfinishedPredecessors.set(1);
+    }
+
+    /**
+     * Let this job wait for the given job.
+     * @param predecessor The job to wait for.
+     * @return Whether the predecessor was pending and will release this job or not.
+     */
+    final boolean waitFor(final Job predecessor) {
+        unfinishedPredecessors.incrementAndGet();
+        if (predecessor.addSuccessor(this, null)) {
+            return true;
+        }
+        unfinishedPredecessors.decrementAndGet();
+        return false;
+    }
+
+    /**
+     * Count down the unfinished predecessors.
+     * @return Whether all predecessors are finished and the job can be executed or not.
+     */
+    final boolean predecessorFinished() {
+        return unfinishedPredecessors.decrementAndGet() == 0;
+    }
+
+    /**
+     * Let a handle be completed when this job is finished.
+     * @param handle The handle.
+     * @return Whether the handle was added or not. (False when this job is not pending.)
+     */
+    final boolean addCompletion(final JobHandle handle) {
+        return addSuccessor(null, handle);
+    }
+
+    /**
+     * Add a job that must be released or a handle that must be completed when this job is finished.
+     * @param job The successor or null.
+     * @param handle The handle or null.
+     * @return Whether the successor was added or not. (False when this job is not pending.)
+     */
+    private boolean addSuccessor(final Job job, final JobHandle handle) {
+        while (true) {
+            Successor head = successors.get();
+            if (head == CLOSED) {
+                return false;
+            }
+            if (successors.compareAndSet(head, new Successor(job, handle, head))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Test if the job is pending or being processed.
+     * @return Whether it is pending (or being processed) or not.
+     */
+    final boolean isPending() {
+        return pending.get() > 0;
+    }
+
     /**
      * Test if the job has pending dependencies in the queues.
      * @param queue The queue.
@@ -50,9 +264,11 @@ public abstract class Job implements Runnable {
 
     /**
      * Get the dependencies of this job.
-     * Jobs this job depends on. When a job is scheduled it tests if any of it's dependencies is in the queue and if so it is put back to the end of the queue.
+     * Jobs this job depends on. When a job is added it counts the dependencies that are pending and is
+     * only executed once all of them are finished, so waiting jobs do not occupy a worker.
      *
-     * After a job is put back to the queue for 20 times it is canceled.
+     * A job depending on itself is rejected when it is added. Longer cycles are only detected with the
+     * cycle detection of the scheduler, see {@link Scheduler#setCycleDetection(boolean)}.
      *
      * For best performance avoid dependencies completely.
      *
@@ -66,39 +282,117 @@ public abstract class Job implements Runnable {
         return EMPTY_DEPENDENCY;
     }
 
+    /**
+     * Get the jobs a submission of this job waits for.
+     *
+     * @return The dependencies, see {@link #getDependencies()}.
+     */
+    List<Job> getSubmissionDependencies() {
+        return getDependencies();
+    }
+
+    /**
+     * Add a job to the current tick of the scheduler.
+     * <p/>
+     * Use this to fan out work from inside a job. Depending on the executor strategy the spawned job
+     * stays on the worker that spawned it.
+     *
+     * @param job The job to spawn.
+     */
+    protected final void spawn(final Job job) {
+        job.setScheduler(scheduler);
+        scheduler.addJob(job);
+    }
+
     @Override
     public final void run() {
-        // Kill threads that have bugged dependencies.
-        if (cancelTimeout-- < 0) {
-            scheduler.deleteJob(this);
-            System.err.println("Job killed because of dependency error. ("+this.getClass().toString()+")");
-            return;
-        }
+        long start = System.nanoTime();
 
-        // Check the dependencies.
-        for (Job d: getDependencies()) {
-            if (scheduler.isPending(d)) {
-                scheduler.deleteJob(this);
-                scheduler.addJob(this);
-                return;
-            }
-        }
-
-        // Execute the job.
+        // Execute the job. (The scheduler only runs it when all dependencies are finished.)
         try {
             this.execute();
         } catch (Exception e) {
             e.printStackTrace();
         }
 
-        cancelTimeout = DEFAULT_CANCEL_TIMEOUT;
+        long end = System.nanoTime();
+        Profiler.recordJob(getProfilerName(), start, end);
 
         // Remove it from the pending list (mark it as processed)
-        scheduler.deleteJob(this);
+        scheduler.deleteJob(this, start, end);
+    }
+
+    /**
+     * Get the job as task of a fork join pool.
+     * <p/>
+     * The task is created once and reused every time the job is executed.
+     *
+     * @return The task.
+     */
+    final ForkJoinTask<Void> getForkJoinTask() {
+        ForkJoinTask<Void> task = forkJoinTask;
+        if (task == null || task.isDone()) {
+            // Racing threads may both create a task, any of them works.
+            // A task is only done when an error escaped the job, then it cannot be forked anymore.
+            task = new WorkStealingStrategy.JobTask(this);
+            forkJoinTask = task;
+        }
+        return task;
+    }
+
+    /**
+     * The name the profiler records the job with.
+     *
+     * @return The class of the job.
+     */
+    Object getProfilerName() {
+        return getClass();
     }
 
     /**
      * Execute the job.
      */
     public abstract void execute();
+
+    /**
+     * A node in the list of jobs and handles waiting for a job.
+     */
+    static final class Successor {
+        private final Job job;
+        private final JobHandle handle;
+        private final Successor next;
+
+        /**
+         * Create a new list node.
+         * @param job The waiting job or null.
+         * @param handle The waiting handle or null.
+         * @param next The next node.
+         */
+        private Successor(final Job job, final JobHandle handle, final Successor next) {
+            this.job = job;
+            this.handle = handle;
+            this.next = next;
+        }
+
+        /**
+         * @return the waiting job or null
+         */
+        Job getJob() {
+            return job;
+        }
+
+        /**
+         * @return the waiting handle or null
+         */
+        JobHandle getHandle() {
+            return handle;
+        }
+
+        /**
+         * @return the next node
+         */
+        Successor getNext() {
+            return next;
+        }
+    }
 }
@@ -1,21 +1,51 @@
 package net.pme.jobcenter;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Bundles together jobs. Especially useful when jobs are small.
  * Used to reduce scheduler overhead.
+ * <p/>
+ * Unordered bundles split their jobs across the workers: helper jobs are spawned that take the next
+ * job of the bundle until all are taken, the bundle itself takes jobs too. The bundle finishes after
+ * all of its jobs, so jobs depending on the bundle wait for them: it is submitted once more depending on
+ * its helpers, so no worker waits for them. Ordered bundles execute their jobs one after another in the
+ * order they were added.
+ * <p/>
+ * Jobs can be added and removed while the bundle is executed, the change applies to the next execution.
+ * Executions of a bundle do not overlap, adding it while it is pending chains the next execution.
  *
  * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
  * @version 1.0
  * @since 2014-05-05
  */
 public class JobBundle extends Job {
+    private static final Job[] NO_JOBS = new Job[0];
 
     /**
-     * A list of all attached jobs.
+     * All attached jobs. Replaced on every change, so executing does not lock.
      */
-    private ArrayList<Job> jobs = new ArrayList<>();
+    private final AtomicReference<Job[]> jobs = new AtomicReference<>(NO_JOBS);
+    private volatile boolean ordered = false;
+    /**
+     * Whether the next execution only waits for the helpers of the last one, see {@link #join()}.
+     */
+    private volatile boolean joining = false;
+    /**
+     * The jobs of the current execution.
+     */
+    private volatile Job[] running = NO_JOBS;
+    /**
+     * The number of jobs not taken yet. Jobs are taken from the end, so it is negative when all are taken.
+     */
+    private final AtomicInteger untaken = new AtomicInteger();
+    private final AtomicInteger unfinished = new AtomicInteger();
+    private Helper[] helpers = new Helper[0];
+    private List<Job> helperList = Collections.emptyList();
 
     /**
      * Chreate a new job bundle.
@@ -26,26 +56,170 @@ public class JobBundle extends Job {
         super(scheduler);
     }
 
+    /**
+     * Chreate a new job bundle.
+     *
+     * @param scheduler The scheduler to use.
+     * @param ordered Whether to execute the jobs one after another in the order they were added.
+     */
+    public JobBundle(final Scheduler scheduler, final boolean ordered) {
+        super(scheduler);
+        this.ordered = ordered;
+    }
+
+    /**
+     * Execute the jobs one after another in the order they were added or split them across the workers.
+     *
+     * @param ordered Whether to execute the jobs in order. (Default false)
+     */
+    public final void setOrdered(final boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    /**
+     * @return Whether the jobs are executed one after another in the order they were added.
+     */
+    public final boolean isOrdered() {
+        return ordered;
+    }
+
     /**
      * Add a job to the bundle.
      * @param job The job to add.
      */
-    synchronized public final void addJob(final Job job) {
-        jobs.add(job);
+    public final void addJob(final Job job) {
+        while (true) {
+            Job[] current = jobs.get();
+            Job[] changed = new Job[current.length + 1];
+            System.arraycopy(current, 0, changed, 0, current.length);
+            changed[current.length] = job;
+            if (jobs.compareAndSet(current, changed)) {
+                return;
+            }
+        }
     }
 
     /**
      * Remove a job from the bundle.
      * @param job The job to remove.
      */
-    synchronized public final void removeJob(final Job job) {
-        jobs.remove(job);
+    public final void removeJob(final Job job) {
+        while (true) {
+            Job[] current = jobs.get();
+            int index = -1;
+            for (int i = 0; i < current.length && index < 0; i++) {
+                if (current[i].equals(job)) {
+                    index = i;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            Job[] changed = current.length == 1 ? NO_JOBS : new Job[current.length - 1];
+            System.arraycopy(current, 0, changed, 0, index);
+            System.arraycopy(current, index + 1, changed, index, current.length - index - 1);
+            if (jobs.compareAndSet(current, changed)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public final void execute() {
+        if (joining) {
+            // The helpers are finished.
+            joining = false;
+            return;
+        }
+        Job[] bundled = jobs.get();
+        int workers = getScheduler().getExecutorStrategy().getWorkerCount();
+        if (ordered || bundled.length < 2 || workers < 2) {
+            for (Job j : bundled) {
+                j.run();
+            }
+            return;
+        }
+
+        running = bundled;
+        unfinished.set(bundled.length);
+        untaken.set(bundled.length);
+
+        int count = Math.min(bundled.length, workers) - 1;
+        if (helpers.length < count) {
+            Helper[] grown = new Helper[count];
+            System.arraycopy(helpers, 0, grown, 0, helpers.length);
+            for (int i = helpers.length; i < count; i++) {
+                grown[i] = new Helper(this);
+            }
+            helpers = grown;
+            helperList = Arrays.<Job>asList(grown);
+        }
+        for (int i = 0; i < count; i++) {
+            spawn(helpers[i]);
+        }
+
+        runJobs();
+        join();
     }
 
     @Override
-    synchronized public final void execute() {
-        for (Job j: jobs) {
-            j.run();
+    final List<Job> getSubmissionDependencies() {
+        return joining ? helperList : getDependencies();
+    }
+
+    /**
+     * Execute jobs of the current execution until all are taken.
+     */
+    private void runJobs() {
+        int i = untaken.decrementAndGet();
+        while (i >= 0) {
+            // Read after taking the index, so a late helper of the last execution sees the current jobs.
+            running[i].run();
+            unfinished.decrementAndGet();
+            i = untaken.decrementAndGet();
+        }
+    }
+
+    /**
+     * Let the bundle finish after the jobs helpers are still executing.
+     * <p/>
+     * Instead of waiting, the bundle is submitted once more depending on its helpers. The bundle stays
+     * pending until that submission is executed, so jobs waiting for it are released after the helpers.
+     */
+    private void join() {
+        if (unfinished.get() == 0) {
+            return;
+        }
+        joining = true;
+        getScheduler().resubmit(this);
+    }
+
+    /**
+     * A job helping a bundle to execute its jobs.
+     * <p/>
+     * A helper that starts after all jobs are taken finishes immediately.
+     */
+    private static final class Helper extends Job {
+        private final JobBundle bundle;
+
+        /**
+         * Create a helper.
+         *
+         * @param bundle The bundle to help.
+         */
+        private Helper(final JobBundle bundle) {
+            super(bundle.getScheduler());
+            this.bundle = bundle;
+        }
+
+        @Override
+        public void execute() {
+            bundle.runJobs();
+        }
+
+        @Override
+        Object getProfilerName() {
+            return bundle.getClass();
         }
     }
 }
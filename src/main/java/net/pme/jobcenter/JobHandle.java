@@ -0,0 +1,232 @@
+package net.pme.jobcenter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * The completion of a submitted job.
+ * <p/>
+ * A handle is completed by the worker that finishes the job. Continuations added with {@link #then(Job)}
+ * are submitted by that worker right away, so chains like physics, collision and replication run
+ * back to back without waiting for the end of the tick.
+ * <p/>
+ * When a job is submitted again while it is still pending, both handles complete once all of its
+ * submissions are processed.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public final class JobHandle {
+    /**
+     * Marks the completion list of a handle that is done.
+     */
+    private static final Completion DONE = new Completion() {
+        @Override
+        void run() {
+        }
+    };
+    /**
+     * The completions to run when the handle is done.
+     */
+    private final AtomicReference<Completion> completions = new AtomicReference<>();
+
+    /**
+     * Create a handle that is not done.
+     */
+    JobHandle() {
+    }
+
+    /**
+     * Test if the job is finished.
+     *
+     * @return Whether the job is finished or not.
+     */
+    public boolean isDone() {
+        return completions.get() == DONE;
+    }
+
+    /**
+     * Wait until the job is finished.
+     * <p/>
+     * Do not join from inside a job, the worker would be blocked. Use {@link #then(Job)} instead.
+     */
+    public void join() {
+        if (isDone()) {
+            return;
+        }
+        synchronized (this) {
+            try {
+                while (!isDone()) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Submit a job to the scheduler of the job as soon as this handle is done.
+     * <p/>
+     * When the handle is already done the job is submitted immediately.
+     *
+     * @param job The job to submit.
+     * @return The handle of the job.
+     */
+    public JobHandle then(final Job job) {
+        JobHandle handle = new JobHandle();
+        onComplete(new Submission(job, handle));
+        return handle;
+    }
+
+    /**
+     * Combine handles into one that is done when all of them are done.
+     *
+     * @param handles The handles.
+     * @return The combined handle. (Done immediately when there are no handles)
+     */
+    public static JobHandle whenAll(final JobHandle... handles) {
+        JobHandle all = new JobHandle();
+        if (handles.length == 0) {
+            all.complete();
+            return all;
+        }
+        AtomicInteger remaining = new AtomicInteger(handles.length);
+        for (JobHandle handle : handles) {
+            handle.onComplete(new CountDown(all, remaining));
+        }
+        return all;
+    }
+
+    /**
+     * Combine handles into one that is done when any of them is done.
+     *
+     * @param handles The handles.
+     * @return The combined handle. (Never done when there are no handles)
+     */
+    public static JobHandle whenAny(final JobHandle... handles) {
+        JobHandle any = new JobHandle();
+        for (JobHandle handle : handles) {
+            handle.onComplete(new Forward(any));
+        }
+        return any;
+    }
+
+    /**
+     * Mark the handle as done and run the completions.
+     * Completing a handle that is done has no effect.
+     */
+    void complete() {
+        Completion head = completions.getAndSet(DONE);
+        if (head == DONE) {
+            return;
+        }
+        synchronized (this) {
+            notifyAll();
+        }
+        for (Completion c = head; c != null; c = c.next) {
+            c.run();
+        }
+    }
+
+    /**
+     * Run a completion when the handle is done, or immediately if it is done already.
+     *
+     * @param completion The completion. (Must not be added to another handle)
+     */
+    private void onComplete(final Completion completion) {
+        while (true) {
+            Completion head = completions.get();
+            if (head == DONE) {
+                completion.run();
+                return;
+            }
+            completion.next = head;
+            if (completions.compareAndSet(head, completion)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Something to run when a handle is done. The completions of a handle form a list.
+     */
+    private abstract static class Completion {
+        private Completion next;
+
+        /**
+         * Run the completion.
+         */
+        abstract void run();
+    }
+
+    /**
+     * Submits a job.
+     */
+    private static final class Submission extends Completion {
+        private final Job job;
+        private final JobHandle handle;
+
+        /**
+         * @param job    The job to submit.
+         * @param handle The handle of the job.
+         */
+        private Submission(final Job job, final JobHandle handle) {
+            this.job = job;
+            this.handle = handle;
+        }
+
+        @Override
+        void run() {
+            try {
+                job.getScheduler().submit(job, handle);
+            } catch (IllegalArgumentException e) {
+                e.printStackTrace();
+                handle.complete();
+            }
+        }
+    }
+
+    /**
+     * Completes a handle when the last of a number of handles is done.
+     */
+    private static final class CountDown extends Completion {
+        private final JobHandle handle;
+        private final AtomicInteger remaining;
+
+        /**
+         * @param handle    The handle to complete.
+         * @param remaining The number of handles that are not done.
+         */
+        private CountDown(final JobHandle handle, final AtomicInteger remaining) {
+            this.handle = handle;
+            this.remaining = remaining;
+        }
+
+        @Override
+        void run() {
+            if (remaining.decrementAndGet() == 0) {
+                handle.complete();
+            }
+        }
+    }
+
+    /**
+     * Completes a handle.
+     */
+    private static final class Forward extends Completion {
+        private final JobHandle handle;
+
+        /**
+         * @param handle The handle to complete.
+         */
+        private Forward(final JobHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        void run() {
+            handle.complete();
+        }
+    }
+}
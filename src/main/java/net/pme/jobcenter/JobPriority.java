@@ -0,0 +1,25 @@
+package net.pme.jobcenter;
+
+/**
+ * The priority class of a job.
+ * <p/>
+ * See {@link Job#getPriority()}.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public enum JobPriority {
+    /**
+     * Must finish in the current tick. Started before the normal jobs of a tick.
+     */
+    CRITICAL,
+    /**
+     * Must finish in the current tick.
+     */
+    NORMAL,
+    /**
+     * Does not block the end of a tick. Started on the next tick when it fits into the frame budget,
+     * otherwise it is carried over to the tick after.
+     */
+    BACKGROUND
+}
@@ -3,10 +3,14 @@ package net.pme.jobcenter;
 import net.pme.core.GameObject;
 
 /**
+ * A job that updates the loopable attachment of one game object.
+ *
+ * @deprecated The game loop updates the objects with {@link Scheduler#parallelFor} instead of one job per object.
  * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
  * @version 1.0
  * @since ${date}
  */
+@Deprecated
 public final class MoveJob extends Job {
     private final GameObject object;
     private double elapsedTime;
@@ -0,0 +1,194 @@
+package net.pme.jobcenter;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The body of a parallel for loop.
+ * <p/>
+ * See {@link Scheduler#parallelFor(java.util.List, int, ParallelForBody)}.
+ * The body remembers the measured cost per element and reuses its range jobs,
+ * so keep one instance per loop and reuse it every frame.
+ *
+ * @param <T> The type of the elements.
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public abstract class ParallelForBody<T> {
+    /**
+     * The time a range should take to execute. Long enough to hide the scheduling overhead,
+     * short enough to balance the load between the workers. (in nanoseconds)
+     */
+    private static final long TARGET_RANGE_TIME = 50000;
+    /**
+     * How much the last measurement contributes to the estimated cost per element.
+     */
+    private static final double SMOOTHING = 0.25;
+    /**
+     * The maximum number of ranges per worker. More ranges do not balance the load noticeably better.
+     */
+    private static final int MAX_RANGES_PER_WORKER = 8;
+
+    private RangeJob[] ranges = new RangeJob[0];
+    private List<T> elements;
+    private final AtomicInteger activeRanges = new AtomicInteger();
+    private final AtomicLong measuredTime = new AtomicLong();
+    private final AtomicLong measuredElements = new AtomicLong();
+    /**
+     * The estimated cost per element. (in nanoseconds, 0 when unknown)
+     */
+    private double costPerElement = 0;
+
+    /**
+     * Execute the body for one element.
+     *
+     * @param element The element.
+     */
+    public abstract void execute(final T element);
+
+    /**
+     * Get the estimated execution time per element.
+     *
+     * @return The estimated time in nanoseconds. (0 when nothing was measured yet.)
+     */
+    public final double getCostPerElement() {
+        return costPerElement;
+    }
+
+    /**
+     * Split the elements into ranges and add a job per range to the scheduler.
+     *
+     * @param scheduler The scheduler.
+     * @param elements The elements.
+     * @param grainSize The minimum number of elements per range. (0 or less chooses it from the measured cost.)
+     */
+    final void schedule(final Scheduler scheduler, final List<T> elements, final int grainSize) {
+        if (activeRanges.get() != 0) {
+            throw new IllegalStateException("The body is still executed by a parallel for. Await it first.");
+        }
+        updateCostEstimate();
+
+        int size = elements.size();
+        if (size == 0) {
+            return;
+        }
+        int workers = scheduler.getExecutorStrategy().getWorkerCount();
+        int grain = grainSize(size, workers, grainSize);
+        int count = (size + grain - 1) / grain;
+
+        if (ranges.length < count) {
+            // Create all ranges the workers can get at once, so a spike in the measured cost does not
+            // allocate in a later frame. (The fork join tasks too, they would be created on first use.)
+            int maximum = workers * MAX_RANGES_PER_WORKER;
+            RangeJob[] grown = new RangeJob[maximum];
+            System.arraycopy(ranges, 0, grown, 0, ranges.length);
+            for (int i = ranges.length; i < maximum; i++) {
+                grown[i] = new RangeJob(scheduler, this);
+                grown[i].getForkJoinTask();
+            }
+            ranges = grown;
+        }
+
+        this.elements = elements;
+        activeRanges.set(count);
+        for (int i = 0; i < count; i++) {
+            RangeJob range = ranges[i];
+            range.setScheduler(scheduler);
+            range.from = i * grain;
+            range.to = Math.min(size, range.from + grain);
+            scheduler.addJob(range);
+        }
+    }
+
+    /**
+     * Choose the number of elements per range.
+     * <p/>
+     * The ranges take about the target time, but there are at least as many ranges as workers
+     * and at most {@link #MAX_RANGES_PER_WORKER} per worker.
+     *
+     * @param size The number of elements.
+     * @param workers The number of workers.
+     * @param grainSize The minimum grain size requested by the caller.
+     * @return The grain size.
+     */
+    private int grainSize(final int size, final int workers, final int grainSize) {
+        int limit = workers * MAX_RANGES_PER_WORKER;
+        int minimum = Math.max(Math.max(1, grainSize), (size + limit - 1) / limit);
+        int maximum = Math.max(minimum, (size + workers - 1) / workers);
+        if (costPerElement <= 0) {
+            return maximum;
+        }
+        long grain = (long) (TARGET_RANGE_TIME / costPerElement);
+        return (int) Math.max(minimum, Math.min(maximum, grain));
+    }
+
+    /**
+     * Fold the measurements of the last run into the estimated cost per element.
+     */
+    private void updateCostEstimate() {
+        long count = measuredElements.getAndSet(0);
+        long time = measuredTime.getAndSet(0);
+        if (count == 0) {
+            return;
+        }
+        double measured = time / (double) count;
+        if (costPerElement <= 0) {
+            costPerElement = measured;
+        } else {
+            costPerElement += SMOOTHING * (measured - costPerElement);
+        }
+    }
+
+    /**
+     * Execute the body for a range of the elements and measure the time it takes.
+     *
+     * @param from The first index.
+     * @param to The index after the last element.
+     */
+    private void executeRange(final int from, final int to) {
+        long start = System.nanoTime();
+        List<T> list = elements;
+        int end = Math.min(to, list.size());
+        for (int i = from; i < end; i++) {
+            try {
+                execute(list.get(i));
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+        measuredTime.addAndGet(System.nanoTime() - start);
+        measuredElements.addAndGet(Math.max(0, end - from));
+        activeRanges.decrementAndGet();
+    }
+
+    /**
+     * A job executing the body for a range of the elements.
+     */
+    private static final class RangeJob extends Job {
+        private final ParallelForBody<?> body;
+        private int from;
+        private int to;
+
+        /**
+         * Create a new range job.
+         *
+         * @param scheduler The scheduler to use.
+         * @param body The body to execute.
+         */
+        private RangeJob(final Scheduler scheduler, final ParallelForBody<?> body) {
+            super(scheduler);
+            this.body = body;
+        }
+
+        @Override
+        public void execute() {
+            body.executeRange(from, to);
+        }
+
+        @Override
+        Object getProfilerName() {
+            return body.getClass();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package net.pme.jobcenter;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records when jobs and the phases of the game loop are executed.
+ * <p/>
+ * Every thread writes its events into an own ring buffer, so recording takes no locks and
+ * only the oldest events are lost when the buffer is full. When the profiler is disabled
+ * recording only costs reading a flag.
+ * <p/>
+ * Use {@link #snapshot(int)} to get the events of the last frames and
+ * {@link ChromeTraceExporter} to view them in chrome://tracing or Perfetto.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public final class Profiler {
+    /**
+     * The category of events recorded for jobs.
+     */
+    public static final String JOB = "job";
+    /**
+     * The category of events recorded for the phases of the game loop.
+     */
+    public static final String PHASE = "phase";
+    /**
+     * The amount of events a thread keeps. (Must be a power of two.)
+     */
+    private static final int BUFFER_SIZE = 1 << 14;
+    /**
+     * The number of frames the events of a finished thread are kept, before its buffer is dropped.
+     */
+    private static final int FINISHED_THREAD_FRAMES = 1000;
+
+    private static volatile boolean enabled = false;
+    private static final AtomicLong frame = new AtomicLong();
+    private static final List<EventBuffer> BUFFERS = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<EventBuffer> BUFFER = new ThreadLocal<EventBuffer>() {
+        @Override
+        protected EventBuffer initialValue() {
+            EventBuffer buffer = new EventBuffer(Thread.currentThread());
+            BUFFERS.add(buffer);
+            return buffer;
+        }
+    };
+
+    /**
+     * Only static access.
+     */
+    private Profiler() {
+    }
+
+    /**
+     * Enable or disable recording.
+     *
+     * @param enabled Whether to record or not.
+     */
+    public static void setEnabled(final boolean enabled) {
+        Profiler.enabled = enabled;
+    }
+
+    /**
+     * @return Whether the profiler records or not.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Start the next frame. Called by the game loop.
+     * <p/>
+     * Drops the buffers of finished threads, e.g. retired workers, once their events are old.
+     */
+    public static void beginFrame() {
+        long current = frame.incrementAndGet();
+        // Only this method removes buffers, so the indices stay valid while others add buffers.
+        for (int i = BUFFERS.size() - 1; i >= 0; i--) {
+            EventBuffer buffer = BUFFERS.get(i);
+            if (buffer.isFinished(current - FINISHED_THREAD_FRAMES)) {
+                BUFFERS.remove(buffer);
+            }
+        }
+    }
+
+    /**
+     * @return The number of threads events are kept for.
+     */
+    static int getBufferCount() {
+        return BUFFERS.size();
+    }
+
+    /**
+     * @return The number of the current frame.
+     */
+    public static long getFrame() {
+        return frame.get();
+    }
+
+    /**
+     * Get the start time of an event.
+     *
+     * @return The current time in nanoseconds or 0 when the profiler is disabled.
+     */
+    public static long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Record a phase of the game loop that ends now.
+     *
+     * @param name  The name of the phase.
+     * @param start The time returned by {@link #start()}.
+     */
+    public static void record(final String name, final long start) {
+        if (start != 0 && enabled) {
+            BUFFER.get().add(name, PHASE, start, System.nanoTime(), frame.get());
+        }
+    }
+
+    /**
+     * Record the execution of a job.
+     *
+     * @param name  The name of the job. (A class or string)
+     * @param start The start time in nanoseconds.
+     * @param end   The end time in nanoseconds.
+     */
+    static void recordJob(final Object name, final long start, final long end) {
+        if (enabled) {
+            BUFFER.get().add(name, JOB, start, end, frame.get());
+        }
+    }
+
+    /**
+     * Get the recorded events of the last frames.
+     * <p/>
+     * Can be called while events are recorded.
+     *
+     * @param frames The number of frames including the current one.
+     * @return The events sorted by their start time.
+     */
+    public static List<ProfilerEvent> snapshot(final int frames) {
+        long firstFrame = frame.get() - frames + 1;
+        List<ProfilerEvent> events = new ArrayList<>();
+        for (EventBuffer buffer : BUFFERS) {
+            buffer.collect(firstFrame, events);
+        }
+        Collections.sort(events, new Comparator<ProfilerEvent>() {
+            @Override
+            public int compare(final ProfilerEvent a, final ProfilerEvent b) {
+                return Long.compare(a.getStart(), b.getStart());
+            }
+        });
+        return events;
+    }
+
+    /**
+     * Drop all recorded events.
+     * <p/>
+     * Must not be called while events are recorded.
+     */
+    public static void clear() {
+        for (EventBuffer buffer : BUFFERS) {
+            buffer.clear();
+        }
+    }
+
+    /**
+     * The events of one thread.
+     * <p/>
+     * Only the owning thread writes. Readers copy the events and drop the ones that were
+     * overwritten while copying.
+     */
+    private static final class EventBuffer {
+        private final WeakReference<Thread> thread;
+        private final String threadName;
+        private final long threadId;
+        private final Object[] names = new Object[BUFFER_SIZE];
+        private final String[] categories = new String[BUFFER_SIZE];
+        private final long[] starts = new long[BUFFER_SIZE];
+        private final long[] ends = new long[BUFFER_SIZE];
+        private final long[] frames = new long[BUFFER_SIZE];
+        /**
+         * The number of events ever written. Published after the event is complete.
+         */
+        private final AtomicLong written = new AtomicLong();
+
+        /**
+         * Create a buffer for a thread.
+         *
+         * @param thread The owning thread.
+         */
+        private EventBuffer(final Thread thread) {
+            this.thread = new WeakReference<>(thread);
+            threadName = thread.getName();
+            threadId = thread.getId();
+        }
+
+        /**
+         * Add an event. Only called by the owning thread.
+         */
+        private void add(final Object name, final String category, final long start, final long end,
+                         final long frame) {
+            long index = written.get();
+            int slot = (int) index & (BUFFER_SIZE - 1);
+            names[slot] = name;
+            categories[slot] = category;
+            starts[slot] = start;
+            ends[slot] = end;
+            frames[slot] = frame;
+            written.lazySet(index + 1);
+        }
+
+        /**
+         * Copy the events of the given frames.
+         *
+         * @param firstFrame The first frame to copy.
+         * @param events     The list to add the events to.
+         */
+        private void collect(final long firstFrame, final List<ProfilerEvent> events) {
+            long end = written.get();
+            long begin = Math.max(0, end - BUFFER_SIZE);
+            List<ProfilerEvent> copied = new ArrayList<>();
+            for (long i = begin; i < end; i++) {
+                int slot = (int) i & (BUFFER_SIZE - 1);
+                Object name = names[slot];
+                copied.add(new ProfilerEvent(name instanceof Class ? ((Class<?>) name).getName() : String.valueOf(name),
+                        categories[slot], threadName, threadId, starts[slot], ends[slot], frames[slot]));
+            }
+
+            // Events overwritten while copying are torn. The writer may already write the next slot.
+            long valid = written.get() + 1 - BUFFER_SIZE - begin;
+            for (int i = (int) Math.max(0, valid); i < copied.size(); i++) {
+                if (copied.get(i).getFrame() >= firstFrame) {
+                    events.add(copied.get(i));
+                }
+            }
+        }
+
+        /**
+         * Check whether the owning thread is finished and recorded nothing since a frame.
+         *
+         * @param frame The frame.
+         * @return Whether the buffer can be dropped.
+         */
+        private boolean isFinished(final long frame) {
+            Thread owner = thread.get();
+            if (owner != null && owner.isAlive()) {
+                return false;
+            }
+            long count = written.get();
+            return count == 0 || frames[(int) (count - 1) & (BUFFER_SIZE - 1)] < frame;
+        }
+
+        /**
+         * Drop all events.
+         */
+        private void clear() {
+            written.set(0);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package net.pme.jobcenter;
+
+/**
+ * A job or phase recorded by the {@link Profiler}.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public final class ProfilerEvent {
+    private final String name;
+    private final String category;
+    private final String threadName;
+    private final long threadId;
+    private final long start;
+    private final long end;
+    private final long frame;
+
+    /**
+     * Create a new event.
+     *
+     * @param name       The name of the job or phase.
+     * @param category   The category. ({@link Profiler#JOB} or {@link Profiler#PHASE})
+     * @param threadName The name of the thread that executed it.
+     * @param threadId   The id of the thread that executed it.
+     * @param start      The start time in nanoseconds.
+     * @param end        The end time in nanoseconds.
+     * @param frame      The frame it was recorded in.
+     */
+    ProfilerEvent(final String name, final String category, final String threadName, final long threadId,
+                  final long start, final long end, final long frame) {
+        this.name = name;
+        this.category = category;
+        this.threadName = threadName;
+        this.threadId = threadId;
+        this.start = start;
+        this.end = end;
+        this.frame = frame;
+    }
+
+    /**
+     * @return The name of the job or phase.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return The category. ({@link Profiler#JOB} or {@link Profiler#PHASE})
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * @return The name of the thread that executed it.
+     */
+    public String getThreadName() {
+        return threadName;
+    }
+
+    /**
+     * @return The id of the thread that executed it.
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    /**
+     * @return The start time in nanoseconds.
+     */
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return The end time in nanoseconds.
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return The duration in nanoseconds.
+     */
+    public long getDuration() {
+        return end - start;
+    }
+
+    /**
+     * @return The frame it was recorded in.
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    @Override
+    public String toString() {
+        return category + " " + name + " on " + threadName + ": " + getDuration() + " ns";
+    }
+}
@@ -0,0 +1,19 @@
+package net.pme.jobcenter;
+
+/**
+ * An executor strategy whose number of workers can be changed while jobs are executed.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public interface ResizableExecutorStrategy extends ExecutorStrategy {
+
+    /**
+     * Change the number of worker threads.
+     * <p/>
+     * Workers that are removed finish the job they are executing first.
+     *
+     * @param workers The number of workers. (At least 1)
+     */
+    void setWorkerCount(final int workers);
+}
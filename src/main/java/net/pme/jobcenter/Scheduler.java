@@ -1,52 +1,274 @@
 package net.pme.jobcenter;
 
-import java.util.LinkedList;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The scheduler manages the calculations of the jobs.
+ * <p/>
+ * Completion is tracked with a counter of the jobs pending in the current tick and a per job state,
+ * so finishing a job, testing if it is pending and passing the frame barrier are O(1).
+ * <p/>
+ * Jobs with dependencies form a graph. A job counts its unfinished dependencies and is handed to the
+ * executor by the last of them to finish, so no worker is spent on jobs that cannot run yet.
+ * <p/>
+ * How the jobs are distributed onto the worker threads is decided by an {@link ExecutorStrategy}.
+ * <p/>
+ * Jobs have a {@link JobPriority}. Background jobs are not part of a tick. They are queued and started on
+ * the next tick as far as they fit into the frame budget, the rest is carried over to the tick after.
+ * The latency from adding a job until it finished is measured per priority.
+ * <p/>
+ * {@link #submit(Job)} returns a {@link JobHandle} to wait for a job or to continue with other jobs
+ * as soon as it is finished.
+ * <p/>
+ * The statistics can be read over JMX, see {@link #registerMBean()}. With an {@link AdaptiveWorkerPolicy}
+ * the number of workers follows their utilization.
  *
  * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
  * @version 1.0
  * @since ${date}
  */
-public class Scheduler {
-    private ThreadPoolExecutor executor;
-    private LinkedList<Job> jobQueue;
-    private LinkedList<Job> jobQueueNextTick;
+public class Scheduler implements SchedulerMXBean {
+    private static final int INITIAL_QUEUE_SIZE = 16;
+    /**
+     * How much the last execution contributes to the estimated time of a background job.
+     */
+    private static final double ESTIMATE_SMOOTHING = 0.25;
+    private static final AtomicInteger MBEAN_IDS = new AtomicInteger();
+    private final ExecutorStrategy executor;
+    /**
+     * The jobs added for the next tick. Swapped with the queue of the current tick on every tick,
+     * so adding jobs does not allocate once the arrays are large enough.
+     */
+    private Job[] jobQueueNextTick = new Job[INITIAL_QUEUE_SIZE];
+    private int jobQueueNextTickSize = 0;
+    private Job[] jobQueueTick = new Job[INITIAL_QUEUE_SIZE];
+    /**
+     * The background jobs waiting to be started. Swapped with the spare array when they are started.
+     */
+    private Job[] backgroundQueue = new Job[INITIAL_QUEUE_SIZE];
+    private int backgroundQueueSize = 0;
+    private Job[] backgroundQueueSpare = new Job[INITIAL_QUEUE_SIZE];
+    /**
+     * The handles of the queued background jobs. (null for jobs that were added without a handle)
+     */
+    private JobHandle[] backgroundHandles = new JobHandle[INITIAL_QUEUE_SIZE];
+    private JobHandle[] backgroundHandlesSpare = new JobHandle[INITIAL_QUEUE_SIZE];
+    /**
+     * The number of background jobs that are started but not finished.
+     */
+    private final AtomicInteger runningBackgroundJobs = new AtomicInteger();
+    /**
+     * The time per tick the workers should be busy. (in nanoseconds, 0 for no limit)
+     */
+    private volatile long frameBudget = 0;
+    /**
+     * Whether adding a job searches the pending jobs for cyclic dependencies. (On when assertions are enabled)
+     */
+    private volatile boolean cycleDetection = Scheduler.class.desiredAssertionStatus();
+    /**
+     * The time the workers spent on critical and normal jobs since the last tick. (in nanoseconds)
+     */
+    private final AtomicLong foregroundTime = new AtomicLong();
+    private final LatencyHistogram[] latencies = new LatencyHistogram[JobPriority.values().length];
+    /**
+     * The latencies of all jobs.
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+    /**
+     * The number of jobs finished so far and at the start of the last tick.
+     */
+    private final AtomicLong finishedJobs = new AtomicLong();
+    private long finishedJobsAtTick = 0;
+    private volatile long jobsPerTick = 0;
+    private AdaptiveWorkerPolicy workerPolicy = null;
+    private ObjectName objectName = null;
+    /**
+     * The number of jobs that are pending or being processed.
+     */
+    private final AtomicInteger pendingJobs = new AtomicInteger();
+    /**
+     * The monitor await sleeps on. It is only notified when the last pending job finished.
+     */
+    private final Object barrier = new Object();
+    /**
+     * The time the workers spent executing jobs since the statistics were reset. (in nanoseconds)
+     */
+    private final AtomicLong busyTime = new AtomicLong();
+    private long statisticsStart;
+    private long statisticsSteals;
 
     /**
-     * Create a scheduler.
+     * Create a scheduler that executes the jobs on a thread pool.
      */
     public Scheduler() {
-        jobQueue = new LinkedList<>();
-        jobQueueNextTick = new LinkedList<>();
-        int cores = Runtime.getRuntime().availableProcessors();
-        executor = new ThreadPoolExecutor(cores, cores*4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        this(new ThreadPoolStrategy());
+    }
+
+    /**
+     * Create a scheduler.
+     *
+     * @param executor The strategy to execute the jobs with.
+     */
+    public Scheduler(final ExecutorStrategy executor) {
+        this.executor = executor;
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = new LatencyHistogram();
+        }
+        resetStatistics();
     }
 
     /**
      * Tick the scheduler to the next tick.
+     * <p/>
+     * Jobs added for the next tick while ticking are added on the tick after.
+     * The critical jobs are added first, then the others. Finally the background jobs that fit into
+     * the frame budget are started.
      */
     synchronized void tick() {
-        while (!jobQueueNextTick.isEmpty()) {
-            addJob(jobQueueNextTick.poll());
+        long finished = finishedJobs.get();
+        jobsPerTick = finished - finishedJobsAtTick;
+        finishedJobsAtTick = finished;
+        if (workerPolicy != null) {
+            int workers = executor.getWorkerCount();
+            int wanted = workerPolicy.update(System.nanoTime(), busyTime.get(), workers);
+            if (wanted != workers) {
+                ((ResizableExecutorStrategy) executor).setWorkerCount(wanted);
+            }
+        }
+
+        Job[] jobs = jobQueueNextTick;
+        int size = jobQueueNextTickSize;
+        jobQueueNextTick = jobQueueTick;
+        jobQueueNextTickSize = 0;
+        jobQueueTick = jobs;
+
+        for (int i = 0; i < size; i++) {
+            if (jobs[i].getPriority() == JobPriority.CRITICAL) {
+                addJobFromQueue(jobs[i]);
+                jobs[i] = null;
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (jobs[i] != null) {
+                addJobFromQueue(jobs[i]);
+                jobs[i] = null;
+            }
+        }
+
+        startBackgroundJobs();
+    }
+
+    /**
+     * Add a queued job and report the cyclic dependencies instead of throwing.
+     *
+     * @param job The job to add.
+     */
+    private void addJobFromQueue(final Job job) {
+        try {
+            addJob(job);
+        } catch (IllegalArgumentException e) {
+            e.printStackTrace();
         }
     }
 
+    /**
+     * Start the background jobs that fit into the frame budget.
+     * <p/>
+     * The budget is the frame budget of all workers minus the time the last tick spent on the other jobs.
+     * The jobs are estimated by their last execution times. At least one job is started per tick, so
+     * background jobs cannot starve.
+     */
+    private void startBackgroundJobs() {
+        long used = foregroundTime.getAndSet(0);
+        long budget = frameBudget;
+        long available = budget <= 0 ? Long.MAX_VALUE : budget * executor.getWorkerCount() - used;
+
+        Job[] jobs = backgroundQueue;
+        int size = backgroundQueueSize;
+        backgroundQueue = backgroundQueueSpare;
+        backgroundQueueSize = 0;
+        backgroundQueueSpare = jobs;
+        JobHandle[] handles = backgroundHandles;
+        backgroundHandles = backgroundHandlesSpare;
+        backgroundHandlesSpare = handles;
+
+        long planned = 0;
+        int started = 0;
+        for (int i = 0; i < size; i++) {
+            Job job = jobs[i];
+            JobHandle handle = handles[i];
+            jobs[i] = null;
+            handles[i] = null;
+            long estimate = (long) job.getEstimatedTime();
+            if (started == 0 || planned + estimate <= available) {
+                planned += estimate;
+                started++;
+                try {
+                    startJob(job, JobPriority.BACKGROUND);
+                    attach(job, handle);
+                } catch (IllegalArgumentException e) {
+                    e.printStackTrace();
+                    if (handle != null) {
+                        handle.complete();
+                    }
+                }
+            } else {
+                queueBackgroundJob(job, handle);
+            }
+        }
+    }
+
+    /**
+     * Queue a background job until it fits into a frame budget.
+     *
+     * @param job The job.
+     * @param handle The handle of the job or null.
+     */
+    private synchronized void queueBackgroundJob(final Job job, final JobHandle handle) {
+        if (backgroundQueueSize == backgroundQueue.length) {
+            // All four arrays keep the same length, the spare arrays are swapped in on the next tick.
+            // (The spare arrays may be iterated by startBackgroundJobs right now, it holds them locally.)
+            int length = backgroundQueue.length * 2;
+            Job[] grown = new Job[length];
+            System.arraycopy(backgroundQueue, 0, grown, 0, backgroundQueueSize);
+            backgroundQueue = grown;
+            backgroundQueueSpare = new Job[length];
+            JobHandle[] grownHandles = new JobHandle[length];
+            System.arraycopy(backgroundHandles, 0, grownHandles, 0, backgroundQueueSize);
+            backgroundHandles = grownHandles;
+            backgroundHandlesSpare = new JobHandle[length];
+        }
+        backgroundHandles[backgroundQueueSize] = handle;
+        backgroundQueue[backgroundQueueSize++] = job;
+    }
+
     /**
      * Await the end of a tick.
      * Especially useful for calculations like rendering.
+     * <p/>
+     * Background jobs are not awaited.
      */
-    synchronized public void await() {
-        try {
-            while (!jobQueue.isEmpty()) {
-                this.wait();
+    public void await() {
+        if (pendingJobs.get() == 0) {
+            return;
+        }
+        synchronized (barrier) {
+            try {
+                while (pendingJobs.get() != 0) {
+                    barrier.wait();
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace();
             }
-        } catch (InterruptedException e) {
-            e.printStackTrace();
         }
     }
 
@@ -55,25 +277,225 @@ public class Scheduler {
      * @param job The job to add.
      */
     synchronized public final void addJobForNextTick(final Job job) {
-        jobQueueNextTick.add(job);
+        if (jobQueueNextTickSize == jobQueueNextTick.length) {
+            Job[] grown = new Job[jobQueueNextTick.length * 2];
+            System.arraycopy(jobQueueNextTick, 0, grown, 0, jobQueueNextTickSize);
+            jobQueueNextTick = grown;
+        }
+        jobQueueNextTick[jobQueueNextTickSize++] = job;
     }
 
     /**
      * Add a job to the scheduler.
+     * <p/>
+     * The job is executed as soon as all of its pending dependencies are finished.
+     * Adding a job that is already pending chains the submission, the job is executed again when the pending
+     * submission finished and its dependencies are finished. Jobs waiting for it are released after the last
+     * submission.
+     * Background jobs are queued until the next tick starts them.
+     *
+     * @param job The job to add.
+     * @throws IllegalArgumentException When the job depends on itself or, with cycle detection, on a job
+     *                                  waiting for it.
+     */
+    final void addJob(final Job job) {
+        submit(job, null);
+    }
+
+    /**
+     * Add a job to the scheduler and get a handle to its completion.
+     * <p/>
+     * The job is added like any other job, see {@link #addJob(Job)}. Jobs continued with
+     * {@link JobHandle#then(Job)} are added by the worker that finished the job.
+     *
      * @param job The job to add.
+     * @return The handle of the job.
+     * @throws IllegalArgumentException When the job depends on itself or, with cycle detection, on a job
+     *                                  waiting for it.
+     */
+    public final JobHandle submit(final Job job) {
+        JobHandle handle = new JobHandle();
+        submit(job, handle);
+        return handle;
+    }
+
+    /**
+     * Add a job to the scheduler.
+     *
+     * @param job    The job to add.
+     * @param handle The handle to complete when the job is finished or null.
+     * @throws IllegalArgumentException When the job depends on itself or, with cycle detection, on a job
+     *                                  waiting for it.
      */
-    synchronized final void addJob(final Job job) {
-        jobQueue.add(job);
-        executor.execute(job);
+    final void submit(final Job job, final JobHandle handle) {
+        job.setSubmitTime(System.nanoTime());
+        JobPriority priority = job.getPriority();
+        if (priority == JobPriority.BACKGROUND) {
+            queueBackgroundJob(job, handle);
+        } else {
+            startJob(job, priority);
+            attach(job, handle);
+        }
+    }
+
+    /**
+     * Let a handle be completed when a started job is finished.
+     *
+     * @param job    The job.
+     * @param handle The handle or null.
+     */
+    private static void attach(final Job job, final JobHandle handle) {
+        if (handle != null && !job.addCompletion(handle)) {
+            // The job finished already.
+            handle.complete();
+        }
+    }
+
+    /**
+     * Submit a job to the executor once its dependencies are finished.
+     *
+     * @param job      The job to submit.
+     * @param priority The priority of the job.
+     * @throws IllegalArgumentException When the job depends on itself or, with cycle detection, on a job
+     *                                  waiting for it.
+     */
+    private void startJob(final Job job, final JobPriority priority) {
+        checkForCycles(job);
+        // Counted before it is marked, a chained submission must keep the tick open when the pending one finishes.
+        AtomicInteger counter = priority == JobPriority.BACKGROUND ? runningBackgroundJobs : pendingJobs;
+        counter.incrementAndGet();
+        if (!job.markPending()) {
+            // Chained, deleteJob starts it when the pending submission finished.
+            return;
+        }
+        job.setSubmittedPriority(priority);
+        executeAfterDependencies(job);
+    }
+
+    /**
+     * Hand a pending job to the executor once its dependencies are finished.
+     *
+     * @param job The job.
+     */
+    private void executeAfterDependencies(final Job job) {
+        job.resetPredecessors();
+        List<Job> dependencies = job.getSubmissionDependencies();
+        if (!dependencies.isEmpty()) {
+            for (Job d : dependencies) {
+                job.waitFor(d);
+            }
+        }
+        if (job.predecessorFinished()) {
+            executor.execute(job);
+        }
+    }
+
+    /**
+     * Submit a pending job once more, chained after the current submission.
+     * <p/>
+     * Unlike adding it again, the job is neither queued as background job nor is its submit time reset.
+     *
+     * @param job The pending job.
+     */
+    final void resubmit(final Job job) {
+        startJob(job, job.getSubmittedPriority());
+    }
+
+    /**
+     * Execute the body for all elements in parallel.
+     * <p/>
+     * The elements are split into ranges with one job per range. There are at least as many ranges as
+     * workers and the ranges are sized by the measured cost per element, so cheap bodies do not pay the
+     * scheduling overhead per element. The jobs belong to the current tick, so await joins them.
+     *
+     * @param elements The elements. (Should support fast random access.)
+     * @param grainSize The minimum number of elements per range. (0 or less chooses it from the measured cost.)
+     * @param body The body to execute per element.
+     * @param <T> The type of the elements.
+     * @throws IllegalStateException When the body is still executed by a previous parallel for.
+     */
+    public final <T> void parallelFor(final List<T> elements, final int grainSize, final ParallelForBody<T> body) {
+        body.schedule(this, elements, grainSize);
+    }
+
+    /**
+     * Test if adding the job would close a cycle of pending jobs waiting for each other.
+     * <p/>
+     * A job depending on itself is always rejected. Searching the pending jobs costs up to their number on
+     * every add, so it is only done with cycle detection, see {@link #setCycleDetection(boolean)}.
+     *
+     * @param job The job to add.
+     * @throws IllegalArgumentException When the job (indirectly) depends on itself.
+     */
+    private void checkForCycles(final Job job) {
+        List<Job> dependencies = job.getDependencies();
+        if (dependencies.isEmpty()) {
+            return;
+        }
+        if (!cycleDetection) {
+            for (Job d : dependencies) {
+                if (d == job) {
+                    throw new IllegalArgumentException("Cyclic dependency detected. (" + job.getClass().toString() + ")");
+                }
+            }
+            return;
+        }
+        Set<Job> visited = Collections.newSetFromMap(new IdentityHashMap<Job, Boolean>());
+        ArrayDeque<Job> open = new ArrayDeque<>(dependencies);
+        while (!open.isEmpty()) {
+            Job current = open.poll();
+            if (current == job) {
+                throw new IllegalArgumentException("Cyclic dependency detected. (" + job.getClass().toString() + ")");
+            }
+            if (current.isPending() && visited.add(current)) {
+                open.addAll(current.getDependencies());
+            }
+        }
     }
 
     /**
      * Delete a job from the scheduler.
+     * <p/>
+     * When the job is not pending anymore the jobs waiting for it are released and its handles completed.
+     *
      * @param job The job to delete.
+     * @param start The time the job started executing. (in nanoseconds)
+     * @param end The time the job finished executing. (in nanoseconds)
      */
-    synchronized final void deleteJob(final Job job) {
-        jobQueue.remove(job);
-        notifyAll();
+    final void deleteJob(final Job job, final long start, final long end) {
+        if (!job.isPending()) {
+            return;
+        }
+        long executionTime = end - start;
+        JobPriority priority = job.getSubmittedPriority();
+        busyTime.addAndGet(executionTime);
+        latencies[priority.ordinal()].record(end - job.getSubmitTime());
+        latency.record(end - job.getSubmitTime());
+        finishedJobs.incrementAndGet();
+        if (priority == JobPriority.BACKGROUND) {
+            job.updateEstimatedTime(executionTime, ESTIMATE_SMOOTHING);
+        } else {
+            foregroundTime.addAndGet(executionTime);
+        }
+        Job.Successor released = job.markFinished();
+        if (released == Job.RESUBMITTED) {
+            executeAfterDependencies(job);
+        } else {
+            for (Job.Successor s = released; s != null; s = s.getNext()) {
+                if (s.getHandle() != null) {
+                    s.getHandle().complete();
+                } else if (s.getJob().predecessorFinished()) {
+                    executor.execute(s.getJob());
+                }
+            }
+        }
+        if (priority == JobPriority.BACKGROUND) {
+            runningBackgroundJobs.decrementAndGet();
+        } else if (pendingJobs.decrementAndGet() == 0) {
+            synchronized (barrier) {
+                barrier.notifyAll();
+            }
+        }
     }
 
     /**
@@ -81,7 +503,218 @@ public class Scheduler {
      * @param job The job to test.
      * @return Whether it is pending (or being processed) or not.
      */
-    synchronized final boolean isPending(final Job job) {
-        return jobQueue.contains(job);
+    final boolean isPending(final Job job) {
+        return job.isPending();
+    }
+
+    /**
+     * Get the strategy the jobs are executed with.
+     *
+     * @return The executor strategy.
+     */
+    public final ExecutorStrategy getExecutorStrategy() {
+        return executor;
+    }
+
+    /**
+     * Let the number of workers follow their utilization.
+     * <p/>
+     * The policy is applied on every tick.
+     *
+     * @param policy The policy. (Null keeps the current number of workers)
+     * @throws IllegalArgumentException When the executor strategy cannot change its workers.
+     */
+    public final synchronized void setWorkerPolicy(final AdaptiveWorkerPolicy policy) {
+        if (policy != null && !(executor instanceof ResizableExecutorStrategy)) {
+            throw new IllegalArgumentException("The executor strategy cannot change its workers.");
+        }
+        workerPolicy = policy;
+    }
+
+    /**
+     * @return The worker policy or null.
+     */
+    public final synchronized AdaptiveWorkerPolicy getWorkerPolicy() {
+        return workerPolicy;
+    }
+
+    /**
+     * Register the statistics of the scheduler at the platform MBean server.
+     * <p/>
+     * The scheduler is registered as net.pme.jobcenter:type=Scheduler,id=n and unregistered on shutdown.
+     *
+     * @return The name of the MBean or null if it could not be registered.
+     */
+    public final synchronized ObjectName registerMBean() {
+        if (objectName == null) {
+            try {
+                ObjectName name = new ObjectName("net.pme.jobcenter:type=Scheduler,id=" + MBEAN_IDS.incrementAndGet());
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+                objectName = name;
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+        }
+        return objectName;
+    }
+
+    @Override
+    public final synchronized int getQueueDepth() {
+        return pendingJobs.get() + runningBackgroundJobs.get() + jobQueueNextTickSize + backgroundQueueSize;
+    }
+
+    @Override
+    public final long getJobsPerTick() {
+        return jobsPerTick;
+    }
+
+    @Override
+    public final double getAverageLatency() {
+        return latency.getMean();
+    }
+
+    @Override
+    public final long getP99Latency() {
+        return latency.getPercentile(99);
+    }
+
+    @Override
+    public final double getUtilization() {
+        long busy = busyTime.get();
+        long total = busy + getIdleTime();
+        return total == 0 ? 0 : Math.min(1, busy / (double) total);
+    }
+
+    @Override
+    public final int getWorkerCount() {
+        return executor.getWorkerCount();
+    }
+
+    /**
+     * The number of jobs workers stole from each other since the statistics were reset.
+     *
+     * @return The steal count.
+     */
+    @Override
+    public final long getStealCount() {
+        return executor.getStealCount() - statisticsSteals;
+    }
+
+    /**
+     * The time all workers together spent executing jobs since the statistics were reset.
+     *
+     * @return The busy time in nanoseconds.
+     */
+    @Override
+    public final long getBusyTime() {
+        return busyTime.get();
+    }
+
+    /**
+     * The time all workers together did not execute jobs since the statistics were reset.
+     * (Estimated with the current number of workers.)
+     *
+     * @return The idle time in nanoseconds.
+     */
+    @Override
+    public final long getIdleTime() {
+        long available = (System.nanoTime() - statisticsStart) * executor.getWorkerCount();
+        return Math.max(0, available - busyTime.get());
+    }
+
+    /**
+     * Set the time per tick the workers should be busy.
+     * <p/>
+     * Background jobs are only started as long as the estimated work of the tick fits into the budget
+     * of all workers. Use e.g. 1 / 144 s for a 144 Hz target.
+     *
+     * @param frameBudget The budget in nanoseconds. (0 or less starts all background jobs on the next tick)
+     */
+    public final void setFrameBudget(final long frameBudget) {
+        this.frameBudget = frameBudget;
+    }
+
+    /**
+     * @return The time per tick the workers should be busy in nanoseconds. (0 for no limit)
+     */
+    public final long getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * Search the pending jobs for cyclic dependencies whenever a job is added.
+     * <p/>
+     * Without it only jobs depending on themselves are rejected, longer cycles never finish.
+     * The search walks the pending dependencies of the added job, so it is meant for debugging.
+     *
+     * @param cycleDetection Whether to search for cycles. (On by default when assertions are enabled)
+     */
+    public final void setCycleDetection(final boolean cycleDetection) {
+        this.cycleDetection = cycleDetection;
+    }
+
+    /**
+     * @return Whether the pending jobs are searched for cyclic dependencies.
+     */
+    public final boolean isCycleDetection() {
+        return cycleDetection;
+    }
+
+    /**
+     * Get the latencies of a priority class since the statistics were reset.
+     * <p/>
+     * The latency is the time from adding a job until it finished, including the time it waited for
+     * its dependencies, a worker or the frame budget.
+     *
+     * @param priority The priority class.
+     * @return The latencies.
+     */
+    public final LatencyHistogram getLatency(final JobPriority priority) {
+        return latencies[priority.ordinal()];
+    }
+
+    /**
+     * @return The number of background jobs waiting for a frame budget.
+     */
+    public final synchronized int getQueuedBackgroundJobCount() {
+        return backgroundQueueSize;
+    }
+
+    /**
+     * @return The number of background jobs that are started but not finished.
+     */
+    public final int getRunningBackgroundJobCount() {
+        return runningBackgroundJobs.get();
+    }
+
+    /**
+     * Restart measuring steals, busy and idle time and the latencies.
+     */
+    @Override
+    public final void resetStatistics() {
+        statisticsStart = System.nanoTime();
+        statisticsSteals = executor.getStealCount();
+        busyTime.set(0);
+        for (LatencyHistogram l : latencies) {
+            l.reset();
+        }
+        latency.reset();
+    }
+
+    /**
+     * Stop the worker threads after the pending jobs are processed.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (objectName != null) {
+                try {
+                    ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+                } catch (JMException e) {
+                    e.printStackTrace();
+                }
+                objectName = null;
+            }
+        }
+        executor.shutdown();
     }
 }
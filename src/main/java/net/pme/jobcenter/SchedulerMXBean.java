@@ -0,0 +1,63 @@
+package net.pme.jobcenter;
+
+/**
+ * The statistics of a scheduler for JMX.
+ * <p/>
+ * See {@link Scheduler#registerMBean()}. All values are measured since the statistics were reset,
+ * except the queue depth and the jobs per tick.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public interface SchedulerMXBean {
+
+    /**
+     * @return The number of jobs that are pending, being processed or queued for a later tick.
+     */
+    int getQueueDepth();
+
+    /**
+     * @return The number of jobs that finished during the last tick.
+     */
+    long getJobsPerTick();
+
+    /**
+     * @return The average time from adding a job until it finished in nanoseconds.
+     */
+    double getAverageLatency();
+
+    /**
+     * @return The 99th percentile of the time from adding a job until it finished in nanoseconds.
+     */
+    long getP99Latency();
+
+    /**
+     * @return The fraction of the time the workers executed jobs. (0 to 1)
+     */
+    double getUtilization();
+
+    /**
+     * @return The time all workers together spent executing jobs in nanoseconds.
+     */
+    long getBusyTime();
+
+    /**
+     * @return The time all workers together did not execute jobs in nanoseconds.
+     */
+    long getIdleTime();
+
+    /**
+     * @return The number of workers.
+     */
+    int getWorkerCount();
+
+    /**
+     * @return The number of jobs workers stole from each other.
+     */
+    long getStealCount();
+
+    /**
+     * Restart measuring the statistics.
+     */
+    void resetStatistics();
+}
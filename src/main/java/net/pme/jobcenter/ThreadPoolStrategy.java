@@ -0,0 +1,251 @@
+package net.pme.jobcenter;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Executes the jobs on a thread pool where all workers share one queue.
+ * <p/>
+ * The queue is a preallocated ring that is only updated with compare and set, so queueing a job
+ * neither allocates nor blocks on a lock held by a worker. (A contended lock allocates a wait node.)
+ * When it is full the thread adding the job executes it. Idle workers park and are unparked one at a
+ * time when a job is queued.
+ * <p/>
+ * The number of workers can be changed while jobs are executed.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class ThreadPoolStrategy implements ResizableExecutorStrategy {
+    private static final int DEFAULT_QUEUE_CAPACITY = 1 << 16;
+    private static final AtomicInteger POOL_NUMBER = new AtomicInteger();
+    private final JobRing queue;
+    private final int poolNumber = POOL_NUMBER.incrementAndGet();
+    private int workerNumber = 0;
+    private volatile Worker[] workers = new Worker[0];
+    private volatile boolean shutdown = false;
+
+    /**
+     * Create a thread pool with one worker per core.
+     */
+    public ThreadPoolStrategy() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a thread pool.
+     *
+     * @param workers The number of workers.
+     */
+    public ThreadPoolStrategy(final int workers) {
+        this(workers, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Create a thread pool.
+     *
+     * @param workers       The number of workers.
+     * @param queueCapacity The number of jobs that can be queued before the adding thread executes them.
+     *                      (Rounded up to a power of two.)
+     */
+    public ThreadPoolStrategy(final int workers, final int queueCapacity) {
+        queue = new JobRing(queueCapacity);
+        setWorkerCount(workers);
+    }
+
+    @Override
+    public final void execute(final Job job) {
+        if (shutdown || !queue.offer(job)) {
+            job.run();
+            return;
+        }
+        signalIdleWorker();
+    }
+
+    /**
+     * Unpark one idle worker.
+     * <p/>
+     * A worker marks itself idle before it polls the queue a last time, so either it finds the job
+     * that was just queued or it is seen here.
+     */
+    private void signalIdleWorker() {
+        Worker[] current = workers;
+        for (int i = 0; i < current.length; i++) {
+            Worker worker = current[i];
+            if (worker.idle.get() && worker.idle.compareAndSet(true, false)) {
+                LockSupport.unpark(worker);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public final int getWorkerCount() {
+        return workers.length;
+    }
+
+    @Override
+    public final synchronized void setWorkerCount(final int workers) {
+        if (shutdown) {
+            return;
+        }
+        int count = Math.max(1, workers);
+        Worker[] current = this.workers;
+        Worker[] resized = new Worker[count];
+        System.arraycopy(current, 0, resized, 0, Math.min(count, current.length));
+        for (int i = current.length; i < count; i++) {
+            resized[i] = new Worker("pool-" + poolNumber + "-thread-" + (++workerNumber));
+        }
+        this.workers = resized;
+        for (int i = current.length; i < count; i++) {
+            resized[i].start();
+        }
+        // Removed workers finish their current job and leave.
+        for (int i = count; i < current.length; i++) {
+            current[i].retired = true;
+            LockSupport.unpark(current[i]);
+        }
+    }
+
+    @Override
+    public final long getStealCount() {
+        return 0;
+    }
+
+    @Override
+    public final synchronized void shutdown() {
+        shutdown = true;
+        for (Worker worker : workers) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /**
+     * A worker thread that takes jobs from the shared queue.
+     */
+    private final class Worker extends Thread {
+        private final AtomicBoolean idle = new AtomicBoolean();
+        private volatile boolean retired = false;
+
+        /**
+         * Create a worker.
+         *
+         * @param name The name of the thread.
+         */
+        Worker(final String name) {
+            super(name);
+        }
+
+        @Override
+        public void run() {
+            while (!retired) {
+                Job job = queue.poll();
+                if (job != null) {
+                    job.run();
+                    continue;
+                }
+                if (shutdown) {
+                    break;
+                }
+                idle.set(true);
+                job = queue.poll();
+                if (job == null && !retired && !shutdown) {
+                    LockSupport.park(this);
+                }
+                idle.set(false);
+                if (job != null) {
+                    job.run();
+                }
+            }
+            // A job may have been queued for this worker while it left.
+            idle.set(false);
+            signalIdleWorker();
+        }
+    }
+
+    /**
+     * A bounded queue for many producers and consumers on a ring of preallocated slots.
+     * <p/>
+     * Every slot has a sequence number that tells whether it is free for the current lap of the
+     * producers or filled for the current lap of the consumers. Producers and consumers claim a slot
+     * by advancing their index with compare and set.
+     */
+    static final class JobRing {
+        private final int mask;
+        private final AtomicReferenceArray<Job> jobs;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final AtomicLong head = new AtomicLong();
+
+        /**
+         * Create a ring.
+         *
+         * @param capacity The minimum number of jobs the ring can hold.
+         */
+        JobRing(final int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+            mask = size - 1;
+            jobs = new AtomicReferenceArray<>(size);
+            sequences = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        /**
+         * Queue a job.
+         *
+         * @param job The job.
+         * @return False if the ring is full.
+         */
+        boolean offer(final Job job) {
+            long position = tail.get();
+            while (true) {
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - position;
+                if (difference == 0) {
+                    if (tail.compareAndSet(position, position + 1)) {
+                        jobs.set(index, job);
+                        sequences.set(index, position + 1);
+                        return true;
+                    }
+                    position = tail.get();
+                } else if (difference < 0) {
+                    return false;
+                } else {
+                    position = tail.get();
+                }
+            }
+        }
+
+        /**
+         * Take the oldest job.
+         *
+         * @return The job or null if the ring is empty.
+         */
+        Job poll() {
+            long position = head.get();
+            while (true) {
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - (position + 1);
+                if (difference == 0) {
+                    if (head.compareAndSet(position, position + 1)) {
+                        Job job = jobs.get(index);
+                        jobs.set(index, null);
+                        sequences.set(index, position + mask + 1);
+                        return job;
+                    }
+                    position = head.get();
+                } else if (difference < 0) {
+                    return null;
+                } else {
+                    position = head.get();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package net.pme.jobcenter;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the ticks of a headless game loop to a target tick rate.
+ * <p/>
+ * Sleeping is only as precise as the scheduler of the operating system, so the pacer parks the
+ * thread until shortly before the deadline and spins for the rest. The spinning costs a bit of
+ * cpu time per tick, but keeps the jitter of the ticks in the microseconds.
+ * <p/>
+ * A tick that takes longer than the period overruns. Overruns are counted and handled by the
+ * {@link CatchUpPolicy}.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public final class TickPacer {
+    private static final long DEFAULT_SPIN_THRESHOLD = 500000;
+    private static final int DEFAULT_MAX_CATCH_UP_TICKS = 5;
+
+    /**
+     * What to do with the ticks that were missed by an overrun.
+     */
+    public enum CatchUpPolicy {
+        /**
+         * Run the missed ticks back to back, until the pacer is on schedule again.
+         * Keeps the number of ticks per second, unless it is behind more than the maximum catch up ticks.
+         */
+        CATCH_UP,
+        /**
+         * Drop the missed ticks and continue with the next tick on the schedule.
+         */
+        SKIP
+    }
+
+    private final long period;
+    private final CatchUpPolicy policy;
+    private long spinThreshold = DEFAULT_SPIN_THRESHOLD;
+    private int maxCatchUpTicks = DEFAULT_MAX_CATCH_UP_TICKS;
+    private boolean started = false;
+    /**
+     * The time the next tick should start at.
+     */
+    private long nextTick;
+
+    private long ticks;
+    private long overruns;
+    private long skippedTicks;
+    private long maxOverrun;
+    private long totalJitter;
+    private long maxJitter;
+
+    /**
+     * Create a pacer that catches up after overruns.
+     *
+     * @param tickRate The ticks per second.
+     */
+    public TickPacer(final double tickRate) {
+        this(tickRate, CatchUpPolicy.CATCH_UP);
+    }
+
+    /**
+     * Create a pacer.
+     *
+     * @param tickRate The ticks per second.
+     * @param policy   What to do after an overrun.
+     */
+    public TickPacer(final double tickRate, final CatchUpPolicy policy) {
+        if (tickRate <= 0) {
+            throw new IllegalArgumentException("The tick rate must be positive.");
+        }
+        this.period = (long) (1E9 / tickRate);
+        this.policy = policy;
+    }
+
+    /**
+     * Set how long before the deadline the pacer stops parking and starts spinning.
+     * <p/>
+     * Should be larger than the oversleep of the operating system. Larger values burn more cpu time,
+     * smaller ones increase the jitter.
+     *
+     * @param spinThreshold The threshold in nanoseconds. (Default 500µs)
+     */
+    public void setSpinThreshold(final long spinThreshold) {
+        this.spinThreshold = Math.max(0, spinThreshold);
+    }
+
+    /**
+     * Limit how many ticks the {@link CatchUpPolicy#CATCH_UP} policy runs back to back.
+     * When the pacer is further behind the schedule restarts from now.
+     *
+     * @param maxCatchUpTicks The maximum ticks. (At least 1, default 5)
+     */
+    public void setMaxCatchUpTicks(final int maxCatchUpTicks) {
+        this.maxCatchUpTicks = Math.max(1, maxCatchUpTicks);
+    }
+
+    /**
+     * Wait until the next tick should start.
+     * <p/>
+     * The first call starts the schedule and returns immediately.
+     *
+     * @return How late the tick starts. (in nanoseconds)
+     */
+    public long awaitNextTick() {
+        long now = System.nanoTime();
+        if (!started) {
+            started = true;
+            nextTick = now + period;
+            return 0;
+        }
+
+        long deadline = nextTick;
+        long late;
+        if (deadline - now > 0) {
+            long remaining = deadline - now;
+            while (remaining > spinThreshold) {
+                LockSupport.parkNanos(remaining - spinThreshold);
+                remaining = deadline - System.nanoTime();
+            }
+            while (deadline - System.nanoTime() > 0) {
+                // Spin, parking is not precise enough for the last bit.
+            }
+            now = System.nanoTime();
+            late = now - deadline;
+            totalJitter += late;
+            maxJitter = Math.max(maxJitter, late);
+        } else {
+            late = now - deadline;
+            overruns++;
+            maxOverrun = Math.max(maxOverrun, late);
+        }
+        ticks++;
+        schedule(deadline, now);
+        return late;
+    }
+
+    /**
+     * Choose when the tick after the current one starts.
+     *
+     * @param deadline The time the current tick should have started.
+     * @param now      The time the current tick starts.
+     */
+    private void schedule(final long deadline, final long now) {
+        nextTick = deadline + period;
+        long behind = now - nextTick;
+        if (behind < 0) {
+            return;
+        }
+        if (policy == CatchUpPolicy.SKIP) {
+            long missed = behind / period + 1;
+            skippedTicks += missed;
+            nextTick += missed * period;
+        } else if (behind >= maxCatchUpTicks * period) {
+            skippedTicks += behind / period;
+            nextTick = now + period;
+        }
+    }
+
+    /**
+     * @return The time between two ticks in nanoseconds.
+     */
+    public long getPeriod() {
+        return period;
+    }
+
+    /**
+     * @return The number of ticks paced since the statistics were reset.
+     */
+    public long getTickCount() {
+        return ticks;
+    }
+
+    /**
+     * @return The number of ticks that started after their deadline, because the tick before took too long.
+     */
+    public long getOverrunCount() {
+        return overruns;
+    }
+
+    /**
+     * @return The number of ticks dropped to get back on schedule.
+     */
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * @return The largest overrun in nanoseconds.
+     */
+    public long getMaxOverrun() {
+        return maxOverrun;
+    }
+
+    /**
+     * @return The largest delay of a tick that did not overrun in nanoseconds.
+     */
+    public long getMaxJitter() {
+        return maxJitter;
+    }
+
+    /**
+     * @return The average delay of the ticks that did not overrun in nanoseconds.
+     */
+    public double getAverageJitter() {
+        long onTime = ticks - overruns;
+        return onTime == 0 ? 0 : totalJitter / (double) onTime;
+    }
+
+    /**
+     * Restart measuring the statistics.
+     */
+    public void resetStatistics() {
+        ticks = 0;
+        overruns = 0;
+        skippedTicks = 0;
+        maxOverrun = 0;
+        totalJitter = 0;
+        maxJitter = 0;
+    }
+}
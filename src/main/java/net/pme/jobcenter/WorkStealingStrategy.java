@@ -0,0 +1,93 @@
+package net.pme.jobcenter;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Executes the jobs on a work stealing pool where every worker has its own deque.
+ * <p/>
+ * Jobs spawned from inside a job are pushed to the deque of the spawning worker, idle workers steal
+ * from the other end. That keeps fan-outs like moving all objects local and the workers do not contend
+ * on a single queue head.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class WorkStealingStrategy implements ExecutorStrategy {
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a work stealing pool with one worker per core.
+     */
+    public WorkStealingStrategy() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a work stealing pool.
+     *
+     * @param workers The number of workers.
+     */
+    public WorkStealingStrategy(final int workers) {
+        pool = new ForkJoinPool(workers);
+    }
+
+    @Override
+    public final void execute(final Job job) {
+        if (ForkJoinTask.getPool() == pool) {
+            job.getForkJoinTask().fork();
+        } else {
+            pool.execute(job.getForkJoinTask());
+        }
+    }
+
+    @Override
+    public final int getWorkerCount() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public final long getStealCount() {
+        return pool.getStealCount();
+    }
+
+    @Override
+    public final void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Executes a job in the pool.
+     * <p/>
+     * The task never completes, so it can be forked again and again without being reinitialized,
+     * even while it is still executed. Nobody joins it, the scheduler tracks the job instead.
+     */
+    static final class JobTask extends ForkJoinTask<Void> {
+        private static final long serialVersionUID = 1L;
+        private final transient Job job;
+
+        /**
+         * Create a task for a job.
+         *
+         * @param job The job.
+         */
+        JobTask(final Job job) {
+            this.job = job;
+        }
+
+        @Override
+        public Void getRawResult() {
+            return null;
+        }
+
+        @Override
+        protected void setRawResult(final Void value) {
+        }
+
+        @Override
+        protected boolean exec() {
+            job.run();
+            return false;
+        }
+    }
+}
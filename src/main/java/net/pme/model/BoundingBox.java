@@ -3,6 +3,7 @@ package net.pme.model;
 import net.pme.Game;
 import net.pme.core.math.Matrix;
 import net.pme.core.math.Vector3d;
+import net.pme.core.math.VectorArrays;
 
 import java.util.List;
 
@@ -36,95 +37,22 @@ public final class BoundingBox {
         // Get the vertices of the model. This will also use invisible vertices. (Not used in a face.)
         List<Vector3d> vertices = model.getVertices();
 
-        // Initialize the edges on zero.
-        for (int i = 0; i < edges.length; i++) {
-            edges[i] = new Vector3d(0,0,0);
-        }
-
-        // Create the bounding box by pushing out the box when a vertex more outside is detected.
-        for (Vector3d v: vertices) {
-            // Lower
-            if (edges[0].getX() > v.getX()) {
-                edges[0].setX(v.getX());
-            }
-            if (edges[0].getY() > v.getY()) {
-                edges[0].setY(v.getY());
-            }
-            if (edges[0].getZ() > v.getZ()) {
-                edges[0].setZ(v.getZ());
-            }
-
-            if (edges[1].getX() < v.getX()) {
-                edges[1].setX(v.getX());
-            }
-            if (edges[1].getY() > v.getY()) {
-                edges[1].setY(v.getY());
-            }
-            if (edges[1].getZ() > v.getZ()) {
-                edges[1].setZ(v.getZ());
-            }
-
-            if (edges[2].getX() < v.getX()) {
-                edges[2].setX(v.getX());
-            }
-            if (edges[2].getY() > v.getY()) {
-                edges[2].setY(v.getY());
-            }
-            if (edges[2].getZ() < v.getZ()) {
-                edges[2].setZ(v.getZ());
-            }
-
-            if (edges[3].getX() > v.getX()) {
-                edges[3].setX(v.getX());
-            }
-            if (edges[3].getY() > v.getY()) {
-                edges[3].setY(v.getY());
-            }
-            if (edges[3].getZ() < v.getZ()) {
-                edges[3].setZ(v.getZ());
-            }
-
-            // Upper
-            if (edges[4].getX() > v.getX()) {
-                edges[4].setX(v.getX());
-            }
-            if (edges[4].getY() < v.getY()) {
-                edges[4].setY(v.getY());
-            }
-            if (edges[4].getZ() > v.getZ()) {
-                edges[4].setZ(v.getZ());
-            }
-
-            if (edges[5].getX() < v.getX()) {
-                edges[5].setX(v.getX());
-            }
-            if (edges[5].getY() < v.getY()) {
-                edges[5].setY(v.getY());
-            }
-            if (edges[5].getZ() > v.getZ()) {
-                edges[5].setZ(v.getZ());
-            }
-
-            if (edges[6].getX() < v.getX()) {
-                edges[6].setX(v.getX());
-            }
-            if (edges[6].getY() < v.getY()) {
-                edges[6].setY(v.getY());
-            }
-            if (edges[6].getZ() < v.getZ()) {
-                edges[6].setZ(v.getZ());
-            }
-
-            if (edges[7].getX() > v.getX()) {
-                edges[7].setX(v.getX());
-            }
-            if (edges[7].getY() < v.getY()) {
-                edges[7].setY(v.getY());
-            }
-            if (edges[7].getZ() < v.getZ()) {
-                edges[7].setZ(v.getZ());
-            }
-        }
+        // Find the extents of the model. Starting on zero, so the box always contains the origin.
+        double[] bounds = VectorArrays.bounds(VectorArrays.pack(vertices, new double[vertices.size() * 3]),
+                0, vertices.size(), new double[6]);
+        double minX = bounds[0], minY = bounds[1], minZ = bounds[2];
+        double maxX = bounds[3], maxY = bounds[4], maxZ = bounds[5];
+
+        // Lower
+        edges[0] = new Vector3d(minX, minY, minZ);
+        edges[1] = new Vector3d(maxX, minY, minZ);
+        edges[2] = new Vector3d(maxX, minY, maxZ);
+        edges[3] = new Vector3d(minX, minY, maxZ);
+        // Upper
+        edges[4] = new Vector3d(minX, maxY, minZ);
+        edges[5] = new Vector3d(maxX, maxY, minZ);
+        edges[6] = new Vector3d(maxX, maxY, maxZ);
+        edges[7] = new Vector3d(minX, maxY, maxZ);
 
         double calcShpere = 0;
 
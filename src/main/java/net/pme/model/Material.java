@@ -36,6 +36,15 @@ class Material {
     private Texture bumpMap = null;
     private Texture displacementMap = null;
     private Texture decalMap = null;
+    private String ambientMapPath = null;
+    private String diffuseMapPath = null;
+    private String specularMapPath = null;
+    private String specularHighlightMapPath = null;
+    private String bumpMapPath = null;
+    private String displacementMapPath = null;
+    private String decalMapPath = null;
+    private Class callee = null;
+    private String resourcePath = null;
 
     /**
      * Create a new material.
@@ -46,6 +55,19 @@ class Material {
         this.name = name;
     }
 
+    /**
+     * Create a material from a file, with a resource path or callee for its textures.
+     *
+     * @param name         The name of the material.
+     * @param callee       The class the textures are loaded relative to or null.
+     * @param resourcePath The resource path of the textures.
+     */
+    private Material(final String name, final Class callee, final String resourcePath) {
+        this.name = name;
+        this.callee = callee;
+        this.resourcePath = resourcePath;
+    }
+
     /**
      * Reset all settings a material can do to default values.
      */
@@ -56,6 +78,8 @@ class Material {
 
     /**
      * Create a material from a file.
+     * <p/>
+     * Only reads the file, the textures are loaded by {@link #loadTextures()}.
      *
      * @param basePath   The basepath.
      * @param file   The file.
@@ -86,7 +110,7 @@ class Material {
                     if (mtl != null) {
                         map.put(mtl.name, mtl);
                     }
-                    mtl = new Material(splitline[1]);
+                    mtl = new Material(splitline[1], callee, resourcePath);
                 } else if (line.startsWith("Ka ")) {
                     String[] splitline = line.split(" ");
                     float r = Float.parseFloat(splitline[1]);
@@ -120,32 +144,28 @@ class Material {
                     if (!splitline[1].startsWith("/")) {
                         s = "/";
                     }
-                    mtl.ambientMap = new Texture(basePath + s
-                            + splitline[1], callee, resourcePath);
+                    mtl.ambientMapPath = basePath + s + splitline[1];
                 } else if (line.startsWith("map_Kd ")) {
                     String[] splitline = line.split(" ");
                     String s = "";
                     if (!splitline[1].startsWith("/")) {
                         s = "/";
                     }
-                    mtl.diffuseMap = new Texture(basePath + s
-                            + splitline[1], callee, resourcePath);
+                    mtl.diffuseMapPath = basePath + s + splitline[1];
                 } else if (line.startsWith("map_Ks ")) {
                     String[] splitline = line.split(" ");
                     String s = "";
                     if (!splitline[1].startsWith("/")) {
                         s = "/";
                     }
-                    mtl.specularMap = new Texture(basePath + s
-                            + splitline[1], callee, resourcePath);
+                    mtl.specularMapPath = basePath + s + splitline[1];
                 } else if (line.startsWith("map_Ns ")) {
                     String[] splitline = line.split(" ");
                     String s = "";
                     if (!splitline[1].startsWith("/")) {
                         s = "/";
                     }
-                    mtl.specularHighlightMap = new Texture(basePath + s
-                            + splitline[1], callee, resourcePath);
+                    mtl.specularHighlightMapPath = basePath + s + splitline[1];
                 } else if (line.startsWith("map_bump ")
                         || line.startsWith("bump ")) {
                     String[] splitline = line.split(" ");
@@ -153,24 +173,21 @@ class Material {
                     if (!splitline[1].startsWith("/")) {
                         s = "/";
                     }
-                    mtl.bumpMap = new Texture(basePath + s
-                            + splitline[1], callee, resourcePath);
+                    mtl.bumpMapPath = basePath + s + splitline[1];
                 } else if (line.startsWith("disp ")) {
                     String[] splitline = line.split(" ");
                     String s = "";
                     if (!splitline[1].startsWith("/")) {
                         s = "/";
                     }
-                    mtl.displacementMap = new Texture(basePath + s
-                            + splitline[1], callee, resourcePath);
+                    mtl.displacementMapPath = basePath + s + splitline[1];
                 } else if (line.startsWith("decal ")) {
                     String[] splitline = line.split(" ");
                     String s = "";
                     if (!splitline[1].startsWith("/")) {
                         s = "/";
                     }
-                    mtl.decalMap = new Texture(basePath + s
-                            + splitline[1], callee, resourcePath);
+                    mtl.decalMapPath = basePath + s + splitline[1];
                 }
             } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
                 reader.close();
@@ -185,6 +202,35 @@ class Material {
         reader.close();
     }
 
+    /**
+     * Load the textures of the material. Must run on the render thread.
+     *
+     * @throws IOException When a texture cannot be loaded.
+     */
+    void loadTextures() throws IOException {
+        if (ambientMap == null && ambientMapPath != null) {
+            ambientMap = new Texture(ambientMapPath, callee, resourcePath);
+        }
+        if (diffuseMap == null && diffuseMapPath != null) {
+            diffuseMap = new Texture(diffuseMapPath, callee, resourcePath);
+        }
+        if (specularMap == null && specularMapPath != null) {
+            specularMap = new Texture(specularMapPath, callee, resourcePath);
+        }
+        if (specularHighlightMap == null && specularHighlightMapPath != null) {
+            specularHighlightMap = new Texture(specularHighlightMapPath, callee, resourcePath);
+        }
+        if (bumpMap == null && bumpMapPath != null) {
+            bumpMap = new Texture(bumpMapPath, callee, resourcePath);
+        }
+        if (displacementMap == null && displacementMapPath != null) {
+            displacementMap = new Texture(displacementMapPath, callee, resourcePath);
+        }
+        if (decalMap == null && decalMapPath != null) {
+            decalMap = new Texture(decalMapPath, callee, resourcePath);
+        }
+    }
+
     /**
      * @return the name
      */
@@ -37,22 +37,19 @@ public class Model {
     private String resourcePath = null;
 
     /**
-     * Package visibility for model only.
+     * Load a model and compile its display list. Must run on the render thread.
      *
      * @param path The path from which to load the model.
+     * @param callee The class the model is loaded relative to.
      * @throws IOException When the given file cannot be loaded.
      */
     public Model(final String path, final Class callee) throws IOException {
-        this.path = path;
-        this.callee = callee;
-        setupDisplayList(); // TODO on removal mve the loadModelFromFile to here!
-        for (Vector3d v: vertices) {
-            size = size < v.length() ? v.length() : size;
-        }
-        boundingBox = new BoundingBox(this);
+        this(path, callee, null);
+        compile();
     }
+
     /**
-     * Package visibility for model only.
+     * Load a model and compile its display list. Must run on the render thread.
      *
      * @param file The file from which to load the model.
      * @throws IOException When the given file cannot be loaded.
@@ -61,16 +58,83 @@ public class Model {
         this(file.getAbsolutePath(), Model.class); // This cannot be a resource.
     }
 
+    /**
+     * Load a model and compile its display list. Must run on the render thread.
+     *
+     * @param path The path from which to load the model.
+     * @param resourcePath The resource path to use.
+     * @throws IOException When the given file cannot be loaded.
+     */
     public Model(final String path, final String resourcePath) throws IOException {
+        this(path, null, resourcePath);
+        compile();
+    }
+
+    /**
+     * Load a model without compiling it.
+     *
+     * @param path The path from which to load the model.
+     * @param callee The class the model is loaded relative to or null.
+     * @param resourcePath The resource path to use when there is no callee.
+     * @throws IOException When the given file cannot be loaded.
+     */
+    private Model(final String path, final Class callee, final String resourcePath) throws IOException {
         this.path = path;
+        this.callee = callee;
         this.resourcePath = resourcePath;
-        setupDisplayList(); // TODO on removal mve the loadModelFromFile to here!
+        loadModelFromFile();
         for (Vector3d v: vertices) {
             size = size < v.length() ? v.length() : size;
         }
         boundingBox = new BoundingBox(this);
     }
 
+    /**
+     * Load a model without the OpenGL context, e.g. in a job.
+     * <p/>
+     * The model must be compiled on the render thread before it is drawn:
+     * <pre>
+     * final Model model = Model.load(path, callee);
+     * graphics.runOnRenderThread(new Runnable() {
+     *     public void run() {
+     *         try {
+     *             model.compile();
+     *         } catch (IOException e) {
+     *             e.printStackTrace();
+     *         }
+     *     }
+     * });
+     * </pre>
+     *
+     * @param path The path from which to load the model.
+     * @param callee The class the model is loaded relative to.
+     * @return The model, not compiled yet.
+     * @throws IOException When the given file cannot be loaded.
+     */
+    public static Model load(final String path, final Class callee) throws IOException {
+        return new Model(path, callee, null);
+    }
+
+    /**
+     * Load a model without the OpenGL context, e.g. in a job.
+     * <p/>
+     * The model must be compiled on the render thread before it is drawn, see {@link #load(String, Class)}.
+     *
+     * @param path The path from which to load the model.
+     * @param resourcePath The resource path to use.
+     * @return The model, not compiled yet.
+     * @throws IOException When the given file cannot be loaded.
+     */
+    public static Model loadWithPath(final String path, final String resourcePath) throws IOException {
+        return new Model(path, null, resourcePath);
+    }
+
+    /**
+     * Create an empty model to parse into, without a display list.
+     */
+    Model() {
+    }
+
     /**
      * Get the size of the model.
      *
@@ -99,11 +163,25 @@ public class Model {
         return boundingBox;
     }
 
+    /**
+     * Load the textures of the materials and compile the display list. Must run on the render thread.
+     * <p/>
+     * Only needed for models created with {@link #load(String, Class)} or {@link #loadWithPath(String, String)},
+     * the constructors compile the model themselves.
+     *
+     * @throws IOException When a texture cannot be loaded.
+     */
+    public void compile() throws IOException {
+        for (Material material : mtllibs.values()) {
+            material.loadTextures();
+        }
+        setupDisplayList();
+    }
+
     @Deprecated
-    private void setupDisplayList() throws IOException {
+    private void setupDisplayList() {
         displayList = GL11.glGenLists(1);
         GL11.glNewList(displayList, GL11.GL_COMPILE);
-        loadModelFromFile();
         GL11.glBegin(GL11.GL_TRIANGLES);
         int i = 0;
         boolean smoothing = true;
@@ -302,7 +380,18 @@ public class Model {
 
         final String basePath = path.substring(0, path.lastIndexOf("/"));
 
-        BufferedReader reader = new BufferedReader(new FileReader(f));
+        parse(new BufferedReader(new FileReader(f)), basePath, f.getAbsolutePath());
+    }
+
+    /**
+     * Parse obj data. Does not need an OpenGL context, the textures of the materials are loaded by {@link #compile()}.
+     *
+     * @param reader   The reader to parse. It is closed afterwards.
+     * @param basePath The path materials are loaded relative to.
+     * @param fileName The name of the file for error messages.
+     * @throws IOException When the data cannot be read or is no valid obj.
+     */
+    void parse(final BufferedReader reader, final String basePath, final String fileName) throws IOException {
         String line;
         int lineNumber = 0;
         while ((line = reader.readLine()) != null) {
@@ -406,7 +495,7 @@ public class Model {
             } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
                 reader.close();
                 throw new FileFormatException("Invalid obj file format.",
-                        f.getAbsolutePath(), lineNumber);
+                        fileName, lineNumber);
             }
             lineNumber++;
         }
@@ -66,14 +66,35 @@ public final class TextureLoader {
      * @return The texture identifier.
      */
     public static int loadTextureForceReload(final BufferedImage img) {
+        return uploadTexture(decodeTexture(img), img.getWidth(), img.getHeight());
+    }
+
+    /**
+     * Convert a buffered image to the pixels of a texture.
+     * Does not need the GL context, so it can run on any thread.
+     *
+     * @param img The image you want as a texture.
+     * @return The rgb pixels.
+     */
+    public static ByteBuffer decodeTexture(final BufferedImage img) {
         byte[] src = ((DataBufferByte) img.getData().getDataBuffer()).getData();
 
         bgr2rgb(src);
 
-        ByteBuffer pixels = (ByteBuffer) BufferUtils
+        return (ByteBuffer) BufferUtils
                 .createByteBuffer(src.length).put(src, 0x00000000, src.length)
                 .flip();
+    }
 
+    /**
+     * Upload decoded pixels as a texture. Must run on the render thread.
+     *
+     * @param pixels The rgb pixels. (See decodeTexture)
+     * @param width  The width of the image.
+     * @param height The height of the image.
+     * @return The texture identifier.
+     */
+    public static int uploadTexture(final ByteBuffer pixels, final int width, final int height) {
         int tex = GL11.glGenTextures();
 
         GL11.glBindTexture(GL11.GL_TEXTURE_2D, tex);
@@ -85,7 +106,7 @@ public final class TextureLoader {
                 GL11.GL_LINEAR);
 
         GL11.glTexImage2D(GL11.GL_TEXTURE_2D, 0x00000000, GL11.GL_RGB,
-                img.getWidth(), img.getHeight(), 0x00000000, GL11.GL_RGB,
+                width, height, 0x00000000, GL11.GL_RGB,
                 GL11.GL_UNSIGNED_BYTE, pixels);
 
         return tex;
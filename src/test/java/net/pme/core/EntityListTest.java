@@ -0,0 +1,150 @@
+package net.pme.core;
+
+import net.pme.core.math.Vector3d;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Testcases for the entity list and its command buffer.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class EntityListTest {
+    private EntityList list;
+    private EntityCommandBuffer commands;
+
+    @Before
+    public void before() {
+        list = new EntityList();
+        commands = new EntityCommandBuffer(list);
+    }
+
+    @Test
+    public void testAddRemove() {
+        List<GameObject> objects = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            GameObject o = createObject(i);
+            objects.add(o);
+            Assert.assertTrue(list.add(o));
+        }
+        Assert.assertFalse("Object was added twice.", list.add(objects.get(5)));
+        Assert.assertEquals(100, list.size());
+
+        Assert.assertTrue(list.remove(objects.get(5)));
+        Assert.assertFalse(list.contains(objects.get(5)));
+        Assert.assertFalse(list.remove(objects.get(5)));
+        Assert.assertEquals("The last object did not fill the gap.", objects.get(99), list.get(5));
+        for (int i = 0; i < list.size(); i++) {
+            Assert.assertEquals(i, list.indexOf(list.get(i)));
+        }
+
+        list.clear();
+        Assert.assertTrue(list.isEmpty());
+        Assert.assertFalse(list.contains(objects.get(0)));
+        Assert.assertTrue("Cleared object cannot be added again.", list.add(objects.get(0)));
+    }
+
+    @Test
+    public void testTransformStore() {
+        Assert.assertNull("Transforms are stored by default.", list.getTransforms());
+        list = new EntityList(true);
+        GameObject first = createObject(1);
+        GameObject second = createObject(2);
+        first.getPosition().set(1, 2, 3);
+        list.add(first);
+        list.add(second);
+        second.getPosition().set(4, 5, 6);
+        first.snapshotTransform();
+        second.snapshotTransform();
+
+        TransformStore store = list.getTransforms();
+        Assert.assertEquals(2, store.size());
+        Assert.assertEquals(4, store.getPositions()[TransformStore.STRIDE], 0);
+        Assert.assertEquals(1, store.getFronts()[2], 0);
+
+        list.remove(first);
+        Assert.assertEquals(1, store.size());
+        Assert.assertEquals("The last transform did not fill the gap.", 6, store.getPositions()[2], 0);
+        second.getPosition().set(7, 8, 9);
+        second.snapshotTransform();
+        Assert.assertEquals(9, store.getPositions()[2], 0);
+
+        first.getPosition().set(0, 0, 0);
+        first.snapshotTransform();
+        Assert.assertEquals("A removed object wrote to the store.", 9, store.getPositions()[2], 0);
+    }
+
+    @Test
+    public void testGetById() {
+        for (int i = 0; i < 100; i++) {
+            list.add(createObject(i * 1000L));
+        }
+        GameObject o = list.getById(5000);
+        Assert.assertEquals(5000, o.getId());
+        Assert.assertNull(list.getById(5001));
+
+        list.remove(o);
+        Assert.assertNull(list.getById(5000));
+        Assert.assertEquals(99000, list.getById(99000).getId());
+        list.clear();
+        Assert.assertNull(list.getById(99000));
+    }
+
+    @Test
+    public void testCommandOrder() {
+        GameObject first = createObject(1);
+        GameObject second = createObject(2);
+        commands.spawn(first);
+        commands.spawn(first);
+        commands.clear();
+        commands.spawn(second);
+        commands.spawn(first);
+        commands.despawn(second);
+        Assert.assertTrue("Commands were applied before the tick boundary.", list.isEmpty());
+
+        commands.apply();
+        Assert.assertTrue(commands.isEmpty());
+        Assert.assertEquals(1, list.size());
+        Assert.assertSame(first, list.get(0));
+    }
+
+    @Test
+    public void testConcurrentSpawn() throws InterruptedException {
+        final int threads = 4;
+        final int perThread = 1000;
+        Thread[] spawners = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int offset = t * perThread;
+            spawners[t] = new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < perThread; i++) {
+                        commands.spawn(createObject(offset + i));
+                    }
+                }
+            };
+            spawners[t].start();
+        }
+        for (Thread spawner : spawners) {
+            spawner.join();
+        }
+        commands.apply();
+        Assert.assertEquals(threads * perThread, list.size());
+    }
+
+    /**
+     * Create an object at the origin.
+     *
+     * @param id The id.
+     * @return The object.
+     */
+    private static GameObject createObject(final long id) {
+        return new GameObject(id, new Vector3d(), new Vector3d(0, 0, 1), new Vector3d(0, 1, 0)) {
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package net.pme.core;
+
+import net.pme.core.math.Vector3d;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Testcases for rotating and moving game objects.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class GameObjectTest {
+    private static final double EPSILON = 1e-9;
+    private static final int WARMUP_CALLS = 100000;
+    private static final int MEASURED_CALLS = 10000;
+
+    @Test
+    public void testQuaternionOrientationMatchesVectors() {
+        GameObject vectors = createObject(0);
+        GameObject quaternion = createObject(1);
+        quaternion.setQuaternionOrientation(true);
+        Assert.assertTrue(quaternion.isQuaternionOrientation());
+
+        Vector3d relative = new Vector3d(0.5, -1, 2);
+        for (int i = 0; i < 100; i++) {
+            for (GameObject o : new GameObject[]{vectors, quaternion}) {
+                o.rotateAroundFrontAxis(13);
+                o.rotateAroundUpAxis(-7);
+                o.rotateAroundPitchAxis(3);
+                o.move(relative);
+            }
+            assertEquals(vectors.getFront(), quaternion.getFront());
+            assertEquals(vectors.getUp(), quaternion.getUp());
+            assertEquals(vectors.getPosition(), quaternion.getPosition());
+        }
+
+        quaternion.setFront(new Vector3d(1, 0, 0));
+        quaternion.setUp(new Vector3d(0, 0, 1));
+        quaternion.rotateAroundUpAxis(90);
+        assertEquals(new Vector3d(0, 1, 0), quaternion.getFront());
+        assertEquals(new Vector3d(0, 0, 1), quaternion.getUp());
+
+        quaternion.setQuaternionOrientation(false);
+        Assert.assertNull(quaternion.getOrientation());
+        assertEquals(new Vector3d(0, 1, 0), quaternion.getFront());
+    }
+
+    @Test
+    public void testRotateAndMoveAllocationFree() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        GameObject o = createObject(0);
+        o.setQuaternionOrientation(true);
+        Vector3d relative = new Vector3d(0, 0, 0.001);
+        long thread = Thread.currentThread().getId();
+
+        rotateAndMove(o, relative, WARMUP_CALLS);
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        rotateAndMove(o, relative, MEASURED_CALLS);
+        allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+
+        // Anything allocated per call is at least 16 bytes.
+        Assert.assertTrue("Allocated " + allocated + " bytes in " + MEASURED_CALLS + " calls.",
+                allocated < MEASURED_CALLS);
+    }
+
+    @Test
+    public void testHierarchy() {
+        GameObject ship = createObject(0);
+        GameObject turret = createObject(1);
+        GameObject barrel = createObject(2);
+        turret.setPosition(new Vector3d(1, 0, 0));
+        barrel.setPosition(new Vector3d(0, 0, 2));
+        turret.setParent(ship);
+        barrel.setParent(turret);
+        Assert.assertSame(ship, barrel.getParent().getParent());
+        Assert.assertEquals(1, ship.getChildren().size());
+
+        // The child is placed immediately, relative to its parent.
+        snapshot(ship, turret, barrel);
+        assertEquals(new Vector3d(1, 0, 2), barrel.getWorldTransform().getPosition());
+
+        // Turn the ship to face x, moving x to -z.
+        ship.setPosition(new Vector3d(10, 0, 0));
+        ship.rotateAroundUpAxis(90);
+        snapshot(ship, turret, barrel);
+        assertEquals(new Vector3d(1, 0, 0), ship.getFront());
+        assertEquals(new Vector3d(12, 0, -1), barrel.getWorldTransform().getPosition());
+        assertEquals(new Vector3d(1, 0, 0), barrel.getWorldTransform().getFront());
+        assertEquals(new Vector3d(0, 1, 0), barrel.getWorldTransform().getUp());
+        assertEquals(new Vector3d(1, 0, 2), barrel.getPreviousWorldTransform().getPosition());
+        Assert.assertEquals(12, barrel.getWorldMatrix().get(3, 0), EPSILON);
+        Assert.assertEquals(-1, barrel.getWorldMatrix().get(3, 2), EPSILON);
+
+        // Without changes the previous world transform catches up.
+        snapshot(ship, turret, barrel);
+        Assert.assertTrue(barrel.getPreviousWorldTransform().hasSamePosition(barrel.getWorldTransform()));
+        snapshot(ship, turret, barrel);
+        assertEquals(new Vector3d(12, 0, -1), barrel.getWorldTransform().getPosition());
+
+        // The inverse world matrix maps the world back into the space of the object.
+        Vector3d local = new Vector3d(0.5, 1, 2);
+        Vector3d world = local.clone().transformCoords(barrel.getWorldMatrix());
+        assertEquals(local, world.transformCoords(barrel.getInverseWorldMatrix()));
+
+        barrel.setParent(null);
+        Assert.assertTrue(turret.getChildren().isEmpty());
+        assertEquals(new Vector3d(0, 0, 2), barrel.getWorldTransform().getPosition());
+        assertEquals(new Vector3d(0, 0, 0), new Vector3d(0, 0, 2).transformCoords(barrel.getInverseWorldMatrix()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testHierarchyCycle() {
+        GameObject a = createObject(0);
+        GameObject b = createObject(1);
+        b.setParent(a);
+        a.setParent(b);
+    }
+
+    /**
+     * Snapshot objects and update the world transforms like the game loop does.
+     *
+     * @param objects The objects.
+     */
+    private static void snapshot(final GameObject... objects) {
+        for (GameObject o : objects) {
+            o.snapshotSubtree();
+        }
+    }
+
+    /**
+     * Rotate and move an object.
+     *
+     * @param o        The object.
+     * @param relative The relative motion.
+     * @param calls    The number of times to rotate and move.
+     */
+    private static void rotateAndMove(final GameObject o, final Vector3d relative, final int calls) {
+        for (int i = 0; i < calls; i++) {
+            o.rotateAroundFrontAxis(1);
+            o.rotateAroundUpAxis(1);
+            o.rotateAroundPitchAxis(1);
+            o.move(relative);
+        }
+    }
+
+    private static void assertEquals(final Vector3d expected, final Vector3d actual) {
+        Assert.assertEquals(expected.getX(), actual.getX(), EPSILON);
+        Assert.assertEquals(expected.getY(), actual.getY(), EPSILON);
+        Assert.assertEquals(expected.getZ(), actual.getZ(), EPSILON);
+    }
+
+    private static GameObject createObject(final long id) {
+        return new GameObject(id, new Vector3d(), new Vector3d(0, 0, 1), new Vector3d(0, 1, 0)) {
+        };
+    }
+}
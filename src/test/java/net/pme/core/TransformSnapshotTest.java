@@ -0,0 +1,60 @@
+package net.pme.core;
+
+import net.pme.core.math.Vector3d;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testcases for the transform snapshots.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class TransformSnapshotTest {
+    private static final double PRECISION = 1E-9;
+    private TransformSnapshot from;
+    private TransformSnapshot to;
+
+    @Before
+    public void before() {
+        from = new TransformSnapshot();
+        from.set(new Vector3d(0, 0, 0), new Vector3d(0, 0, 1), new Vector3d(0, 1, 0));
+        to = new TransformSnapshot();
+        to.set(new Vector3d(2, 4, 6), new Vector3d(1, 0, 0), new Vector3d(0, 1, 0));
+    }
+
+    @Test
+    public void interpolateEnds() {
+        TransformSnapshot result = new TransformSnapshot();
+        result.interpolate(from, to, 0);
+        Assert.assertTrue("Alpha 0 is not the first snapshot", result.getPosition().equals(from.getPosition()));
+        Assert.assertTrue("Alpha 0 is not the first snapshot", result.hasSameOrientation(from));
+
+        result.interpolate(from, to, 1);
+        Assert.assertTrue("Alpha 1 is not the second snapshot", result.getPosition().equals(to.getPosition()));
+        Assert.assertTrue("Alpha 1 is not the second snapshot", result.hasSameOrientation(to));
+    }
+
+    @Test
+    public void interpolateHalf() {
+        TransformSnapshot result = new TransformSnapshot();
+        result.interpolate(from, to, 0.5);
+
+        Assert.assertTrue("Position not in the middle", result.getPosition().equals(new Vector3d(1, 2, 3), PRECISION));
+        double d = Math.sqrt(0.5);
+        Assert.assertTrue("Front not halfway", result.getFront().equals(new Vector3d(d, 0, d), PRECISION));
+        Assert.assertEquals("Front not normalized", 1, result.getFront().length(), PRECISION);
+        Assert.assertEquals("Up not orthogonal to front", 0, result.getUp().dotProduct(result.getFront()), PRECISION);
+        Assert.assertFalse("Orientation did not change", result.hasSameOrientation(to));
+    }
+
+    @Test
+    public void previousTransform() {
+        TransformSnapshot previous = new TransformSnapshot();
+        previous.set(to);
+        Assert.assertTrue("Copy differs", previous.getPosition().equals(to.getPosition()));
+        Assert.assertFalse("Unchanged orientation reported as rotated",
+                previous.set(to.getPosition(), to.getFront(), to.getUp()));
+    }
+}
@@ -0,0 +1,69 @@
+package net.pme.core.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.FloatBuffer;
+
+/**
+ * Testcases for the float matrix and its conversions from the double types.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class Matrix4fTest {
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    public void testConversion() {
+        Matrix a = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        assertEquals(a, new Matrix4f(a));
+
+        FloatBuffer expected = a.getValuesF(null);
+        FloatBuffer actual = new Matrix4f(a).store(null);
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testMultiply() {
+        Matrix a = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        Matrix b = Matrix.rotation(0.1, 0.2, 0.3).multiply(Matrix.scaling(new Vector3d(2, 3, 4)));
+        Matrix4f af = new Matrix4f(a);
+        Matrix4f bf = new Matrix4f(b);
+
+        assertEquals(a.clone().multiply(b), Matrix4f.mul(af, bf, new Matrix4f()));
+        assertEquals(a.clone().multiply(b), Matrix4f.mul(af, bf, bf));
+        assertEquals(a.clone().transpose(), af.transpose());
+    }
+
+    @Test
+    public void testTransform() {
+        Matrix a = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        Vector3d expected = new Vector3d(4, 5, 6).transformCoords(a);
+        Vector3f actual = new Vector3f(4, 5, 6).transformCoords(new Matrix4f(a));
+        Assert.assertEquals(expected.getX(), actual.getX(), EPSILON);
+        Assert.assertEquals(expected.getY(), actual.getY(), EPSILON);
+        Assert.assertEquals(expected.getZ(), actual.getZ(), EPSILON);
+    }
+
+    @Test
+    public void testQuaternion() {
+        Quaternion q = new Quaternion(0.9, 0.1, -0.3, 0.2).normalize();
+        Quaternionf qf = new Quaternionf().set(q);
+        assertEquals(q.toMatrix(), qf.toMatrix(new Matrix4f()));
+
+        Vector3d expected = new Vector3d(4, 5, 6).transformCoords(q);
+        Vector3f actual = qf.rotate(new Vector3f(4, 5, 6));
+        Assert.assertEquals(expected.getX(), actual.getX(), EPSILON);
+        Assert.assertEquals(expected.getY(), actual.getY(), EPSILON);
+        Assert.assertEquals(expected.getZ(), actual.getZ(), EPSILON);
+    }
+
+    private static void assertEquals(final Matrix expected, final Matrix4f actual) {
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                Assert.assertEquals("Wrong value at (" + i + "|" + j + ")", expected.get(i, j), actual.get(i, j), EPSILON);
+            }
+        }
+    }
+}
@@ -219,4 +219,76 @@ public class MatrixTest {
             Assert.assertEquals("Invalid z", z, r.getZEuler(), 10E-8);
         }
     }
+
+    @Test
+    public void testMulDestination() {
+        Matrix a = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        Matrix b = Matrix.rotation(0.1, 0.2, 0.3).multiply(Matrix.scaling(new Vector3d(2, 3, 4)));
+        double[][] x = a.getArray();
+        double[][] y = b.getArray();
+        double[][] e = new double[4][4];
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                for (int k = 0; k < 4; k++) {
+                    e[i][j] += x[i][k] * y[k][j];
+                }
+            }
+        }
+        Matrix expected = new Matrix(e[0][0], e[0][1], e[0][2], e[0][3], e[1][0], e[1][1], e[1][2], e[1][3],
+                e[2][0], e[2][1], e[2][2], e[2][3], e[3][0], e[3][1], e[3][2], e[3][3]);
+
+        Assert.assertEquals(expected, Matrix.mul(a, b, new Matrix()));
+        Assert.assertEquals("Destination a", expected, Matrix.mul(a.clone(), b, a.clone()));
+        Matrix bCopy = b.clone();
+        Assert.assertEquals("Destination b", expected, Matrix.mul(a, bCopy, bCopy));
+        Matrix square = a.clone();
+        Assert.assertEquals("Destination a and b", a.clone().multiply(a), Matrix.mul(square, square, square));
+        Assert.assertEquals(expected, b.clone().multiplyLeft(a));
+    }
+
+    @Test
+    public void testTransposeDestination() {
+        Matrix a = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        Matrix t = a.transpose(new Matrix());
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                Assert.assertEquals(a.get(i, j), t.get(j, i), 0);
+            }
+        }
+        Assert.assertEquals(a, t.transpose());
+    }
+
+    @Test
+    public void testGetArrayIsCopy() {
+        Matrix id = Matrix.identity();
+        id.getArray()[0][0] = 5;
+        Assert.assertEquals(1, id.get(0, 0), 0);
+    }
+
+    @Test
+    public void testInvertRigid() {
+        Matrix a = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        Matrix expected = a.clone().invert();
+        Assert.assertEquals(expected, a.invertRigid(new Matrix()));
+        Assert.assertEquals(expected, a.invert(new Matrix()));
+        Assert.assertEquals(Matrix.identity(), a.clone().multiply(a.invertRigid(new Matrix())));
+        Assert.assertEquals(expected, a.invertRigid());
+
+        // Without an inverse the destination becomes the identity.
+        Matrix singular = Matrix.scaling(new Vector3d(1, 0, 1));
+        Assert.assertEquals(Matrix.identity(), singular.invert(Matrix.translation(new Vector3d(1, 2, 3))));
+    }
+
+    @Test
+    public void testCamera() {
+        Vector3d position = new Vector3d(4, -2, 7);
+        Vector3d front = new Vector3d(1, 2, 2).normalize();
+        Vector3d up = new Vector3d(0, 1, -1).normalize();
+        Vector3d x = front.clone().crossProduct(up);
+        Matrix camera = Matrix.camera(position, x, up, front);
+        Assert.assertEquals(Matrix.translation(position.clone().scale(-1)).multiply(
+                Matrix.axes(x, up, front).transpose()), camera);
+        Assert.assertEquals(new Matrix().setAxes(x, up, front, position).invertRigid(), camera);
+        Assert.assertEquals(0, position.clone().transformCoords(camera).length(), 10E-12);
+    }
 }
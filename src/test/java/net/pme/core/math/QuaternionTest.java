@@ -163,4 +163,98 @@ public class QuaternionTest {
             Assert.assertEquals("Invalid angle: ", x, q.getZEuler(), 10E-8);
         }
     }
+
+    @Test
+    public void transformMatchesProduct() {
+        Quaternion[] quaternions = {axisAngle(new Vector3d(1, 2, 3), 0.7), new Quaternion(2, 0.5, -1, 0.3)};
+        for (Quaternion q : quaternions) {
+            Vector3d v = new Vector3d(0.3, -2, 5);
+            Quaternion product = new Quaternion(q).multiply(0, v.getX(), v.getY(), v.getZ())
+                    .multiply(new Quaternion(q).conjugate());
+            Vector3d r = v.clone().transformCoords(q);
+            Assert.assertEquals(product.getX(), r.getX(), 10E-12);
+            Assert.assertEquals(product.getY(), r.getY(), 10E-12);
+            Assert.assertEquals(product.getZ(), r.getZ(), 10E-12);
+        }
+        Quaternion q = quaternions[0];
+        Assert.assertTrue(new Vector3d(0.3, -2, 5).transformCoords(q).equals(q.rotate(new Vector3d(0.3, -2, 5))));
+    }
+
+    @Test
+    public void mulDestination() {
+        Quaternion a = axisAngle(new Vector3d(1, 0, 0), 0.3);
+        Quaternion b = axisAngle(new Vector3d(0, 1, 1), 1.1);
+        Quaternion expected = new Quaternion(a).multiply(b);
+        Assert.assertTrue(Quaternion.mul(a, b, new Quaternion(1, 0, 0, 0)).equals(expected));
+        Assert.assertTrue(Quaternion.mul(a, b, b).equals(expected));
+        Assert.assertTrue(Quaternion.mul(a, a, a).equals(axisAngle(new Vector3d(1, 0, 0), 0.6)));
+    }
+
+    @Test
+    public void slerp() {
+        Vector3d axis = new Vector3d(1, 2, 3);
+        Quaternion a = axisAngle(axis, 0.2);
+        Quaternion b = axisAngle(axis, 1.4);
+        Quaternion r = new Quaternion(1, 0, 0, 0);
+        for (int i = 0; i <= 10; i++) {
+            double t = i / 10.0;
+            // Constant angular speed around the shared axis.
+            Assert.assertTrue("slerp " + t, Quaternion.slerp(a, b, t, r).equals(axisAngle(axis, 0.2 + 1.2 * t)));
+        }
+
+        // Takes the shorter arc when b is on the other hemisphere.
+        Quaternion negated = new Quaternion(-b.getS(), -b.getX(), -b.getY(), -b.getZ());
+        Quaternion.slerp(a, negated, 0.5, r);
+        Assert.assertTrue(r.equals(axisAngle(axis, 0.8)));
+        Assert.assertEquals(1, r.length(), 10E-12);
+
+        Assert.assertTrue(Quaternion.slerp(a, a, 0.5, r).equals(a));
+        Assert.assertTrue(Quaternion.slerp(a, b, 0.5, a).equals(axisAngle(axis, 0.8)));
+    }
+
+    @Test
+    public void nlerp() {
+        Vector3d axis = new Vector3d(0, 1, 0);
+        Quaternion a = axisAngle(axis, 0.1);
+        Quaternion b = axisAngle(axis, 0.3);
+        Quaternion r = new Quaternion(1, 0, 0, 0);
+        Assert.assertTrue(Quaternion.nlerp(a, b, 0, r).equals(a));
+        Assert.assertTrue(Quaternion.nlerp(a, b, 1, r).equals(b));
+        // Symmetric, so the midpoint is exact.
+        Assert.assertTrue(Quaternion.nlerp(a, b, 0.5, r).equals(axisAngle(axis, 0.2)));
+        Quaternion negated = new Quaternion(-b.getS(), -b.getX(), -b.getY(), -b.getZ());
+        Assert.assertTrue(Quaternion.nlerp(a, negated, 0.5, r).equals(axisAngle(axis, 0.2)));
+        Assert.assertEquals(1, r.length(), 10E-12);
+    }
+
+    @Test
+    public void squad() {
+        Quaternion[] keys = {axisAngle(new Vector3d(1, 0, 0), 0), axisAngle(new Vector3d(1, 0, 0), 0.5),
+                axisAngle(new Vector3d(1, 1, 0), 1.0), axisAngle(new Vector3d(0, 1, 1), 1.2)};
+        Quaternion a = Quaternion.squadControlPoint(keys[0], keys[1], keys[2], new Quaternion(1, 0, 0, 0));
+        Quaternion b = Quaternion.squadControlPoint(keys[1], keys[2], keys[3], new Quaternion(1, 0, 0, 0));
+        Quaternion r = new Quaternion(1, 0, 0, 0);
+
+        // Passes through the keys.
+        Assert.assertTrue(Quaternion.squad(keys[1], keys[2], a, b, 0, r).equals(keys[1]));
+        Assert.assertTrue(Quaternion.squad(keys[1], keys[2], a, b, 1, r).equals(keys[2]));
+        Quaternion.squad(keys[1], keys[2], a, b, 0.5, r);
+        Assert.assertEquals(1, r.length(), 10E-9);
+
+        // With the keys as control points it is a slerp.
+        Quaternion expected = Quaternion.slerp(keys[1], keys[2], 0.3, new Quaternion(1, 0, 0, 0));
+        Assert.assertTrue(Quaternion.squad(keys[1], keys[2], keys[1], keys[2], 0.3, r).equals(expected));
+
+        // On a single axis with equal steps the control points are the keys themselves.
+        Vector3d axis = new Vector3d(0, 0, 1);
+        Quaternion c = Quaternion.squadControlPoint(axisAngle(axis, 0.1), axisAngle(axis, 0.2), axisAngle(axis, 0.3),
+                new Quaternion(1, 0, 0, 0));
+        Assert.assertTrue(c.equals(axisAngle(axis, 0.2)));
+    }
+
+    private static Quaternion axisAngle(final Vector3d axis, final double angle) {
+        Vector3d v = axis.clone().normalize();
+        double sin = Math.sin(angle / 2);
+        return new Quaternion(Math.cos(angle / 2), sin * v.getX(), sin * v.getY(), sin * v.getZ());
+    }
 }
@@ -0,0 +1,73 @@
+package net.pme.core.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testcases for the float quaternion compared with the double quaternion.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class QuaternionfTest {
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    public void testConversion() {
+        Quaternion q = new Quaternion(0.9, 0.1, -0.3, 0.2);
+        assertEquals(q, new Quaternionf().set(q));
+        assertEquals(q, new Quaternionf((float) q.getS(), (float) q.getX(), (float) q.getY(), (float) q.getZ()));
+        assertEquals(new Quaternion(1, 0, 0, 0), new Quaternionf());
+    }
+
+    @Test
+    public void testMultiply() {
+        Quaternion a = new Quaternion(0.9, 0.1, -0.3, 0.2).normalize();
+        Quaternion b = new Quaternion(-0.2, 0.7, 0.4, -0.5).normalize();
+        Quaternionf af = new Quaternionf().set(a);
+        Quaternionf bf = new Quaternionf().set(b);
+
+        assertEquals(new Quaternion(a).multiply(b), af.multiply(bf));
+        // Not commutative, the order must match.
+        assertEquals(new Quaternion(b).multiply(a), new Quaternionf().set(b).multiply(new Quaternionf().set(a)));
+    }
+
+    @Test
+    public void testNormalize() {
+        Quaternion q = new Quaternion(2, -1, 0.5, 3);
+        assertEquals(new Quaternion(q).normalize(), new Quaternionf().set(q).normalize());
+        assertEquals(new Quaternion(0, 0, 0, 0), new Quaternionf(0, 0, 0, 0).normalize());
+    }
+
+    @Test
+    public void testRotate() {
+        Quaternion q = new Quaternion(0.9, 0.1, -0.3, 0.2).normalize();
+        Quaternionf qf = new Quaternionf().set(q);
+        for (Vector3d v : new Vector3d[]{new Vector3d(4, 5, 6), new Vector3d(1, 0, 0), new Vector3d(0, -2, 0.5)}) {
+            Vector3d expected = v.clone().transformCoords(q);
+            Vector3f actual = qf.rotate(new Vector3f(v));
+            Assert.assertEquals(expected.getX(), actual.getX(), EPSILON);
+            Assert.assertEquals(expected.getY(), actual.getY(), EPSILON);
+            Assert.assertEquals(expected.getZ(), actual.getZ(), EPSILON);
+        }
+    }
+
+    @Test
+    public void testToMatrix() {
+        Quaternion q = new Quaternion(-0.2, 0.7, 0.4, -0.5).normalize();
+        Matrix expected = q.toMatrix();
+        Matrix4f actual = new Quaternionf().set(q).toMatrix(new Matrix4f());
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                Assert.assertEquals("Wrong value at (" + i + "|" + j + ")", expected.get(i, j), actual.get(i, j), EPSILON);
+            }
+        }
+    }
+
+    private static void assertEquals(final Quaternion expected, final Quaternionf actual) {
+        Assert.assertEquals(expected.getS(), actual.getS(), EPSILON);
+        Assert.assertEquals(expected.getX(), actual.getX(), EPSILON);
+        Assert.assertEquals(expected.getY(), actual.getY(), EPSILON);
+        Assert.assertEquals(expected.getZ(), actual.getZ(), EPSILON);
+    }
+}
@@ -0,0 +1,69 @@
+package net.pme.core.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testcases for the float vector compared with the double vector.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class Vector3fTest {
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    public void testConversion() {
+        Vector3d v = new Vector3d(1.5, -2.25, 3.125);
+        assertEquals(v, new Vector3f(v));
+        assertEquals(v, new Vector3f().set(v));
+        assertEquals(v, new Vector3f().set(new Vector3f(v)));
+        assertEquals(v, new Vector3f((float) v.getX(), (float) v.getY(), (float) v.getZ()));
+    }
+
+    @Test
+    public void testArithmetic() {
+        Vector3d a = new Vector3d(1, 2, 3);
+        Vector3d b = new Vector3d(-4, 0.5, 6);
+
+        assertEquals(a.clone().add(b), new Vector3f(a).add(new Vector3f(b)));
+        assertEquals(a.clone().subtract(b), new Vector3f(a).subtract(new Vector3f(b)));
+        assertEquals(a.clone().scale(-2.5), new Vector3f(a).scale(-2.5f));
+        assertEquals(a.clone().crossProduct(b), new Vector3f(a).crossProduct(new Vector3f(b)));
+        Assert.assertEquals(a.dotProduct(b), new Vector3f(a).dotProduct(new Vector3f(b)), EPSILON);
+        Assert.assertEquals(a.length(), new Vector3f(a).length(), EPSILON);
+        assertEquals(a.clone().normalize(), new Vector3f(a).normalize());
+        assertEquals(new Vector3d(), new Vector3f().normalize());
+    }
+
+    @Test
+    public void testTransformCoords() {
+        Matrix affine = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        Vector3d v = new Vector3d(4, 5, 6);
+        assertEquals(v.clone().transformCoords(affine), new Vector3f(v).transformCoords(new Matrix4f(affine)));
+
+        // A projective matrix, w is not 1.
+        Matrix projective = new Matrix(1, 0, 0, 0.1, 0, 1, 0, 0.2, 0, 0, 1, 0.3, 0.05, 0, 0, 1);
+        assertEquals(v.clone().transformCoords(projective),
+                new Vector3f(v).transformCoords(new Matrix4f(projective)));
+    }
+
+    @Test
+    public void testTransformNormal() {
+        // Vector3d.transformNormal includes the translation, so compare without one.
+        Matrix rotation = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.scaling(new Vector3d(2, 3, 4)));
+        Vector3d n = new Vector3d(0, 1, 1);
+        assertEquals(n.clone().transformNormal(rotation), new Vector3f(n).transformNormal(new Matrix4f(rotation)));
+
+        // The float version ignores the translation.
+        Matrix translated = rotation.clone().multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        assertEquals(n.clone().transformNormal(rotation),
+                new Vector3f(n).transformNormal(new Matrix4f(translated)));
+    }
+
+    private static void assertEquals(final Vector3d expected, final Vector3f actual) {
+        Assert.assertEquals(expected.getX(), actual.getX(), EPSILON);
+        Assert.assertEquals(expected.getY(), actual.getY(), EPSILON);
+        Assert.assertEquals(expected.getZ(), actual.getZ(), EPSILON);
+    }
+}
@@ -0,0 +1,128 @@
+package net.pme.core.math;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Testcases for the batch operations, compared with the operations on single vectors.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class VectorArraysTest {
+    private static final double EPSILON = 1e-9;
+    private static final float EPSILON_F = 1e-4f;
+    private static final int POINTS = 37;
+
+    @Test
+    public void testTransform() {
+        List<Vector3d> vectors = createVectors();
+        double[] points = VectorArrays.pack(vectors, new double[POINTS * 3]);
+        Matrix affine = Matrix.rotation(0.3, 0.5, 0.7).multiply(Matrix.translation(new Vector3d(1, 2, 3)));
+        // A perspective projection with w = -z.
+        Matrix projection = affine.clone().multiply(new Matrix(1, 0, 0, 0, 0, 1, 0, 0, 0, 0, -1, -1, 0, 0, -0.2, 0));
+
+        for (Matrix m : new Matrix[]{affine, projection}) {
+            double[] result = new double[(POINTS + 1) * 3];
+            VectorArrays.transformCoords(m, points, 0, result, 1, POINTS);
+            for (int i = 0; i < POINTS; i++) {
+                assertEquals(vectors.get(i).clone().transformCoords(m), result, i + 1);
+                // The legacy normal transform of Vector3d applies the whole matrix like transformCoords.
+                assertEquals(vectors.get(i).clone().transformNormal(m), result, i + 1);
+            }
+            VectorArrays.transformNormal(m, points, 0, result, 1, POINTS);
+            for (int i = 0; i < POINTS; i++) {
+                Vector3d v = vectors.get(i);
+                // Only the rotation and scaling apply to directions.
+                assertEquals(new Vector3d(
+                        v.getX() * m.get(0, 0) + v.getY() * m.get(1, 0) + v.getZ() * m.get(2, 0),
+                        v.getX() * m.get(0, 1) + v.getY() * m.get(1, 1) + v.getZ() * m.get(2, 1),
+                        v.getX() * m.get(0, 2) + v.getY() * m.get(1, 2) + v.getZ() * m.get(2, 2)), result, i + 1);
+            }
+
+            Matrix4f mf = new Matrix4f(m);
+            float[] pointsF = toFloat(points);
+            VectorArrays.transformCoords(mf, pointsF, 0, pointsF, 0, POINTS);
+            for (int i = 0; i < POINTS; i++) {
+                Vector3f expected = new Vector3f(vectors.get(i)).transformCoords(mf);
+                Assert.assertEquals(expected.getX(), pointsF[i * 3], EPSILON_F);
+                Assert.assertEquals(expected.getY(), pointsF[i * 3 + 1], EPSILON_F);
+                Assert.assertEquals(expected.getZ(), pointsF[i * 3 + 2], EPSILON_F);
+            }
+        }
+    }
+
+    @Test
+    public void testBoundsAndDot() {
+        List<Vector3d> vectors = createVectors();
+        double[] points = VectorArrays.pack(vectors, new double[POINTS * 3]);
+        double[] bounds = {Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY};
+        // Reduce in two parts to check the bounds are extended.
+        VectorArrays.bounds(points, 0, 10, bounds);
+        VectorArrays.bounds(points, 10, POINTS - 10, bounds);
+
+        Vector3d direction = new Vector3d(0.3, -0.2, 0.9);
+        double[] dots = new double[POINTS];
+        VectorArrays.dot(points, 0, direction.getX(), direction.getY(), direction.getZ(), dots, 0, POINTS);
+        double maxDot = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < POINTS; i++) {
+            Vector3d v = vectors.get(i);
+            Assert.assertTrue(v.getX() >= bounds[0] && v.getX() <= bounds[3]);
+            Assert.assertTrue(v.getY() >= bounds[1] && v.getY() <= bounds[4]);
+            Assert.assertTrue(v.getZ() >= bounds[2] && v.getZ() <= bounds[5]);
+            Assert.assertEquals(v.dotProduct(direction), dots[i], EPSILON);
+            maxDot = Math.max(maxDot, dots[i]);
+        }
+        Assert.assertEquals(maxDot, VectorArrays.maxDot(points, 0, POINTS,
+                direction.getX(), direction.getY(), direction.getZ()), 0);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(contains(points, i, bounds[i]));
+            Assert.assertTrue(contains(points, i, bounds[i + 3]));
+        }
+
+        float[] boundsF = VectorArrays.bounds(toFloat(points), 0, POINTS, new float[]{
+                Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY, Float.POSITIVE_INFINITY,
+                Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY});
+        for (int i = 0; i < bounds.length; i++) {
+            Assert.assertEquals((float) bounds[i], boundsF[i], 0);
+        }
+    }
+
+    private static boolean contains(final double[] points, final int component, final double value) {
+        for (int i = component; i < points.length; i += 3) {
+            if (points[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static float[] toFloat(final double[] values) {
+        float[] result = new float[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = (float) values[i];
+        }
+        return result;
+    }
+
+    private static void assertEquals(final Vector3d expected, final double[] actual, final int point) {
+        Assert.assertEquals(expected.getX(), actual[point * 3], EPSILON);
+        Assert.assertEquals(expected.getY(), actual[point * 3 + 1], EPSILON);
+        Assert.assertEquals(expected.getZ(), actual[point * 3 + 2], EPSILON);
+    }
+
+    private static List<Vector3d> createVectors() {
+        Random random = new Random(42);
+        List<Vector3d> vectors = new ArrayList<>();
+        for (int i = 0; i < POINTS; i++) {
+            vectors.add(new Vector3d(random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5,
+                    random.nextDouble() * 10 - 5));
+        }
+        return vectors;
+    }
+}
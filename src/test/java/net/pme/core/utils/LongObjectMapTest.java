@@ -0,0 +1,125 @@
+package net.pme.core.utils;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Testcases for the long to object map.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class LongObjectMapTest {
+    private static final int CONSTANT_KEYS = 1000;
+
+    @Test
+    public void testPutGetRemove() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        Assert.assertNull(map.put(1, "a"));
+        Assert.assertNull(map.put(-1, "b"));
+        Assert.assertNull(map.put(Long.MIN_VALUE, "c"));
+        Assert.assertEquals("a", map.put(1, "d"));
+        Assert.assertEquals(3, map.size());
+        Assert.assertEquals("d", map.get(1));
+        Assert.assertEquals("c", map.get(Long.MIN_VALUE));
+        Assert.assertNull(map.get(2));
+
+        Assert.assertEquals("b", map.remove(-1));
+        Assert.assertNull(map.remove(-1));
+        Assert.assertFalse(map.containsKey(-1));
+        Assert.assertEquals(2, map.size());
+
+        map.clear();
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(1));
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        // Few distinct keys, so removing has to shift back colliding entries a lot.
+        Random random = new Random(42);
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        Map<Long, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(2000) * 64L;
+            if (random.nextBoolean()) {
+                Assert.assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            } else {
+                Assert.assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        Assert.assertEquals(expected.size(), map.size());
+        for (int k = 0; k < 2000; k++) {
+            Assert.assertEquals(expected.get(k * 64L), map.get(k * 64L));
+        }
+    }
+
+    @Test
+    public void testConcurrentLookup() throws InterruptedException {
+        final AtomicReference<LongObjectMap<Long>> current = new AtomicReference<>(constantMap());
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicInteger errors = new AtomicInteger();
+        Thread[] readers = new Thread[2];
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread() {
+                @Override
+                public void run() {
+                    while (running.get()) {
+                        LongObjectMap<Long> map = current.get();
+                        for (long k = 0; k < CONSTANT_KEYS; k++) {
+                            try {
+                                Long value = map.get(k);
+                                if (value == null || value != k) {
+                                    errors.incrementAndGet();
+                                }
+                            } catch (RuntimeException e) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+            };
+            readers[r].start();
+        }
+
+        // Other keys come and go while the readers look up the constant ones, so the table grows many times.
+        for (int round = 0; round < 20; round++) {
+            LongObjectMap<Long> map = constantMap();
+            current.set(map);
+            for (long key = CONSTANT_KEYS; key < 100000; key++) {
+                map.put(key, key);
+                if ((key & 1) == 0) {
+                    map.remove(key / 2 + CONSTANT_KEYS);
+                }
+            }
+        }
+        running.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        Assert.assertEquals("A reader missed a key or failed.", 0, errors.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNullValue() {
+        new LongObjectMap<Object>().put(1, null);
+    }
+
+    /**
+     * @return A map with the constant keys mapped to themselves.
+     */
+    private static LongObjectMap<Long> constantMap() {
+        LongObjectMap<Long> map = new LongObjectMap<>();
+        for (long k = 0; k < CONSTANT_KEYS; k++) {
+            map.put(k, k);
+        }
+        return map;
+    }
+}
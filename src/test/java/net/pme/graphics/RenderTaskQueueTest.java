@@ -0,0 +1,108 @@
+package net.pme.graphics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testcases for the tasks posted to the render thread. They need no OpenGL context.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class RenderTaskQueueTest {
+    @Test
+    public void testFifoOrder() {
+        RenderTaskQueue queue = new RenderTaskQueue(0);
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            queue.post(new RecordingTask(order, i, 0));
+        }
+        queue.run();
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4), order);
+        Assert.assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void testBudgetDefersToNextDrain() {
+        RenderTaskQueue queue = new RenderTaskQueue(TimeUnit.MILLISECONDS.toNanos(1));
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            queue.post(new RecordingTask(order, i, 2));
+        }
+
+        // Every task exceeds the budget, but one is run per drain.
+        for (int drain = 1; drain <= 3; drain++) {
+            queue.run();
+            Assert.assertEquals(drain, order.size());
+            Assert.assertEquals(3 - drain, queue.size());
+        }
+        Assert.assertEquals(Arrays.asList(0, 1, 2), order);
+
+        queue.setBudget(0);
+        for (int i = 3; i < 6; i++) {
+            queue.post(new RecordingTask(order, i, 2));
+        }
+        queue.run();
+        Assert.assertEquals(Arrays.asList(0, 1, 2, 3, 4, 5), order);
+    }
+
+    @Test
+    public void testFailingTaskDoesNotStopDrain() {
+        RenderTaskQueue queue = new RenderTaskQueue(0);
+        List<Integer> order = new ArrayList<>();
+        queue.post(new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("Expected by the test.");
+            }
+        });
+        queue.post(new RecordingTask(order, 1, 0));
+        queue.run();
+        Assert.assertEquals(Arrays.asList(1), order);
+    }
+
+    @Test
+    public void testClear() {
+        // Graphics.deinit clears the queue, the tasks would need the destroyed context.
+        RenderTaskQueue queue = new RenderTaskQueue(0);
+        List<Integer> order = new ArrayList<>();
+        queue.post(new RecordingTask(order, 0, 0));
+        queue.post(new RecordingTask(order, 1, 0));
+        queue.clear();
+        Assert.assertEquals(0, queue.size());
+        queue.run();
+        Assert.assertTrue(order.isEmpty());
+    }
+
+    /**
+     * A task that records that it ran.
+     */
+    private static class RecordingTask implements Runnable {
+        private final List<Integer> order;
+        private final int id;
+        private final long millis;
+
+        RecordingTask(final List<Integer> order, final int id, final long millis) {
+            this.order = order;
+            this.id = id;
+            this.millis = millis;
+        }
+
+        @Override
+        public void run() {
+            if (millis > 0) {
+                try {
+                    Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            }
+            order.add(id);
+        }
+    }
+}
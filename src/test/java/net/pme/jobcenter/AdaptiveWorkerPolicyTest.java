@@ -0,0 +1,73 @@
+package net.pme.jobcenter;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Testcases for the adaptive worker policy.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class AdaptiveWorkerPolicyTest {
+    private static final long INTERVAL = 1000;
+    private AdaptiveWorkerPolicy policy;
+
+    @Before
+    public void before() {
+        policy = new AdaptiveWorkerPolicy(2, 4);
+        policy.setInterval(INTERVAL);
+        policy.update(0, 0, 3);
+    }
+
+    @Test
+    public void testGrow() {
+        Assert.assertEquals("Workers changed before the interval passed.", 3, policy.update(INTERVAL / 2, 1500, 3));
+        Assert.assertEquals(4, policy.update(INTERVAL, 2900, 3));
+        Assert.assertEquals(0.97, policy.getUtilization(), 0.01);
+        Assert.assertEquals("Workers exceed the cap.", 4, policy.update(2 * INTERVAL, 2900 + 4000, 4));
+    }
+
+    @Test
+    public void testShrink() {
+        Assert.assertEquals(2, policy.update(INTERVAL, 300, 3));
+        Assert.assertEquals("Workers below the minimum.", 2, policy.update(2 * INTERVAL, 300, 2));
+    }
+
+    @Test
+    public void testKeep() {
+        Assert.assertEquals(3, policy.update(INTERVAL, 2100, 3));
+    }
+
+    @Test
+    public void testReset() {
+        policy.update(INTERVAL, 2100, 3);
+        Assert.assertEquals("A reset of the statistics did not restart the interval.", 3,
+                policy.update(2 * INTERVAL, 0, 3));
+        Assert.assertEquals(2, policy.update(3 * INTERVAL, 300, 3));
+    }
+
+    @Test
+    public void testResizeThreadPool() {
+        ThreadPoolStrategy strategy = new ThreadPoolStrategy(2);
+        try {
+            strategy.setWorkerCount(3);
+            Assert.assertEquals(3, strategy.getWorkerCount());
+            strategy.setWorkerCount(1);
+            Assert.assertEquals(1, strategy.getWorkerCount());
+        } finally {
+            strategy.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNotResizable() {
+        Scheduler scheduler = new Scheduler(new WorkStealingStrategy(1));
+        try {
+            scheduler.setWorkerPolicy(policy);
+        } finally {
+            scheduler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package net.pme.jobcenter;
+
+import net.pme.Game;
+import net.pme.core.GameObject;
+import net.pme.core.math.Vector3d;
+import net.pme.graphics.HudObject;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests that the frame loop does not allocate once it is warmed up.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class GameLoopAllocationTest {
+    private static final int OBJECTS = 1000;
+    private static final int WARMUP_FRAMES = 3000;
+    private static final int MEASURED_FRAMES = 500;
+    private static final double TICK_RATE = 2000;
+
+    @Test
+    public void testThreadPool() throws InterruptedException {
+        assertAllocationFree(new ThreadPoolStrategy(), false);
+    }
+
+    @Test
+    public void testWorkStealingPipelined() throws InterruptedException {
+        assertAllocationFree(new WorkStealingStrategy(), true);
+    }
+
+    /**
+     * Run a headless game loop and measure the bytes the loop thread allocates per frame.
+     *
+     * @param strategy  The executor strategy.
+     * @param pipelined Whether to pipeline the loop.
+     * @throws InterruptedException When the test is interrupted.
+     */
+    private void assertAllocationFree(final ExecutorStrategy strategy, final boolean pipelined)
+            throws InterruptedException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        final AtomicLong frames = new AtomicLong();
+        final List<GameObject> objects = new ArrayList<>();
+        for (int i = 0; i < OBJECTS; i++) {
+            objects.add(new CountingObject(i, i == 0 ? frames : null));
+        }
+        final GameLoop gameLoop = new GameLoop();
+        gameLoop.setExecutorStrategy(strategy);
+        gameLoop.setPipelined(pipelined);
+        gameLoop.setTickPacer(new TickPacer(TICK_RATE));
+        final Game game = new Game();
+
+        Thread loop = new Thread("game loop") {
+            @Override
+            public void run() {
+                gameLoop.run(objects, new ArrayList<HudObject>(), null, game);
+            }
+        };
+        loop.start();
+
+        waitForFrames(frames, WARMUP_FRAMES);
+        long start = frames.get();
+        long allocated = threads.getThreadAllocatedBytes(loop.getId());
+        waitForFrames(frames, start + MEASURED_FRAMES);
+        allocated = threads.getThreadAllocatedBytes(loop.getId()) - allocated;
+        long measured = frames.get() - start;
+
+        gameLoop.terminate();
+        loop.join();
+
+        Assert.assertEquals("Bytes allocated by the loop thread in " + measured + " frames.", 0, allocated);
+    }
+
+    /**
+     * Wait until the loop ran a number of frames.
+     *
+     * @param frames The frame counter.
+     * @param count  The number of frames to wait for.
+     * @throws InterruptedException When the test is interrupted.
+     */
+    private static void waitForFrames(final AtomicLong frames, final long count) throws InterruptedException {
+        while (frames.get() < count) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * A game object that moves a bit every tick and counts the ticks.
+     */
+    private static class CountingObject extends GameObject {
+        CountingObject(final long id, final AtomicLong frames) {
+            super(id, new Vector3d(), new Vector3d(0, 0, 1), new Vector3d(0, 1, 0));
+            setLoopableAttachment(new LoopableAttachment() {
+                @Override
+                public void update(final double elapsedTime) {
+                    getPosition().setX(getPosition().getX() + elapsedTime);
+                    if (frames != null) {
+                        frames.incrementAndGet();
+                    }
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package net.pme.jobcenter;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testcases for job bundles.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class JobBundleTest {
+    private static final int WORKERS = 4;
+    private Scheduler scheduler;
+
+    @Before
+    public void before() {
+        scheduler = new Scheduler(new ThreadPoolStrategy(WORKERS));
+    }
+
+    @After
+    public void after() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testParallel() {
+        // The jobs only pass the barrier when they are executed at the same time.
+        final CyclicBarrier barrier = new CyclicBarrier(WORKERS);
+        final AtomicInteger passed = new AtomicInteger();
+        JobBundle bundle = new JobBundle(scheduler);
+        for (int i = 0; i < WORKERS; i++) {
+            bundle.addJob(new Job(scheduler) {
+                @Override
+                public void execute() {
+                    try {
+                        barrier.await(5, TimeUnit.SECONDS);
+                        passed.incrementAndGet();
+                    } catch (Exception e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+        }
+        JobHandle handle = scheduler.submit(bundle);
+        handle.join();
+        Assert.assertEquals("Bundle finished before its jobs or did not run them in parallel.",
+                WORKERS, passed.get());
+        scheduler.await();
+    }
+
+    @Test
+    public void testJoinDoesNotBlockWorker() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger released = new AtomicInteger();
+        final Scheduler two = new Scheduler(new ThreadPoolStrategy(2));
+        try {
+            JobBundle bundle = new JobBundle(two);
+            // The jobs run on both workers, then one worker must be free for the job releasing them.
+            bundle.addJob(new Job(two) {
+                @Override
+                public void execute() {
+                    started.countDown();
+                    try {
+                        if (release.await(5, TimeUnit.SECONDS)) {
+                            released.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+            bundle.addJob(new Job(two) {
+                @Override
+                public void execute() {
+                    try {
+                        started.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+            JobHandle handle = two.submit(bundle);
+            two.addJob(new Job(two) {
+                @Override
+                public void execute() {
+                    release.countDown();
+                }
+            });
+            handle.join();
+            Assert.assertEquals("The bundle blocked a worker or finished before its jobs.", 1, released.get());
+            two.await();
+            Assert.assertFalse(two.isPending(bundle));
+        } finally {
+            two.shutdown();
+        }
+    }
+
+    @Test
+    public void testOrdered() {
+        final List<Integer> order = new ArrayList<>();
+        JobBundle bundle = new JobBundle(scheduler, true);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final int index = i;
+            expected.add(i);
+            bundle.addJob(new Job(scheduler) {
+                @Override
+                public void execute() {
+                    order.add(index);
+                }
+            });
+        }
+        scheduler.addJob(bundle);
+        scheduler.await();
+        Assert.assertEquals(expected, order);
+    }
+
+    @Test
+    public void testRepeatedWithChanges() {
+        final AtomicInteger counter = new AtomicInteger();
+        final JobBundle bundle = new JobBundle(scheduler);
+        final Job counting = new Job(scheduler) {
+            @Override
+            public void execute() {
+                counter.incrementAndGet();
+            }
+        };
+        // Changes the bundle while it is executed.
+        bundle.addJob(new Job(scheduler) {
+            @Override
+            public void execute() {
+                bundle.addJob(counting);
+            }
+        });
+        for (int i = 0; i < 100; i++) {
+            scheduler.addJob(bundle);
+            scheduler.await();
+        }
+        Assert.assertEquals("Every execution runs the jobs added before it exactly once.", 4950, counter.get());
+
+        bundle.removeJob(counting);
+        counter.set(0);
+        scheduler.addJob(bundle);
+        scheduler.await();
+        Assert.assertEquals(99, counter.get());
+    }
+}
@@ -0,0 +1,152 @@
+package net.pme.jobcenter;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Testcases for job handles.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class JobHandleTest {
+    /**
+     * Enough workers that a blocked job cannot hold up the others.
+     */
+    private static final int WORKERS = 4;
+    private Scheduler scheduler;
+    private List<String> order;
+
+    @Before
+    public void before() {
+        scheduler = new Scheduler(new ThreadPoolStrategy(WORKERS));
+        order = new ArrayList<>();
+    }
+
+    @After
+    public void after() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testJoin() {
+        CountDownLatch release = new CountDownLatch(1);
+        JobHandle handle = scheduler.submit(new RecordingJob("job", release));
+        Assert.assertFalse("Handle is done before the job finished.", handle.isDone());
+        release.countDown();
+        handle.join();
+        Assert.assertTrue("Handle is not done after join.", handle.isDone());
+        Assert.assertEquals(Arrays.asList("job"), recorded());
+    }
+
+    @Test
+    public void testThen() {
+        CountDownLatch release = new CountDownLatch(1);
+        JobHandle physics = scheduler.submit(new RecordingJob("physics", release));
+        JobHandle replicate = physics.then(new RecordingJob("collision", null))
+                .then(new RecordingJob("replicate", null));
+        Assert.assertFalse("Continuation ran before its predecessor.", replicate.isDone());
+        release.countDown();
+        replicate.join();
+        Assert.assertEquals(Arrays.asList("physics", "collision", "replicate"), recorded());
+        scheduler.await();
+    }
+
+    @Test
+    public void testThenWhenDone() {
+        JobHandle first = scheduler.submit(new RecordingJob("first", null));
+        first.join();
+        first.then(new RecordingJob("second", null)).join();
+        Assert.assertEquals(Arrays.asList("first", "second"), recorded());
+    }
+
+    @Test
+    public void testWhenAll() {
+        CountDownLatch release = new CountDownLatch(1);
+        JobHandle all = JobHandle.whenAll(scheduler.submit(new RecordingJob("a", null)),
+                scheduler.submit(new RecordingJob("b", release)), scheduler.submit(new RecordingJob("c", null)));
+        Assert.assertFalse("Combined handle is done before all jobs finished.", all.isDone());
+        all.then(new RecordingJob("after", null));
+        release.countDown();
+        scheduler.await();
+        Assert.assertTrue("Combined handle is not done.", all.isDone());
+        Assert.assertEquals(4, recorded().size());
+        Assert.assertEquals("after", recorded().get(3));
+        Assert.assertTrue("Handle of no jobs is not done.", JobHandle.whenAll().isDone());
+    }
+
+    @Test
+    public void testWhenAny() {
+        CountDownLatch release = new CountDownLatch(1);
+        JobHandle slow = scheduler.submit(new RecordingJob("slow", release));
+        JobHandle any = JobHandle.whenAny(slow, scheduler.submit(new RecordingJob("fast", null)));
+        any.join();
+        Assert.assertFalse("Slow job finished before it was released.", slow.isDone());
+        release.countDown();
+        scheduler.await();
+        Assert.assertEquals(Arrays.asList("fast", "slow"), recorded());
+    }
+
+    @Test
+    public void testBackground() {
+        JobHandle handle = scheduler.submit(new RecordingJob("background", null) {
+            @Override
+            public JobPriority getPriority() {
+                return JobPriority.BACKGROUND;
+            }
+        });
+        Assert.assertFalse("Background job finished before the next tick.", handle.isDone());
+        scheduler.tick();
+        handle.join();
+        Assert.assertEquals(Arrays.asList("background"), recorded());
+    }
+
+    /**
+     * @return A copy of the recorded job names.
+     */
+    private List<String> recorded() {
+        synchronized (order) {
+            return new ArrayList<>(order);
+        }
+    }
+
+    /**
+     * A job that records its name when it is executed.
+     */
+    private class RecordingJob extends Job {
+        private final String name;
+        private final CountDownLatch release;
+
+        /**
+         * @param name    The name to record.
+         * @param release The latch to wait for before recording or null.
+         */
+        RecordingJob(final String name, final CountDownLatch release) {
+            super(scheduler);
+            this.name = name;
+            this.release = release;
+        }
+
+        @Override
+        public void execute() {
+            try {
+                if (release != null) {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                e.printStackTrace();
+            }
+            synchronized (order) {
+                order.add(name);
+            }
+        }
+    }
+}
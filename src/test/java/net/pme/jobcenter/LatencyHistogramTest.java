@@ -0,0 +1,52 @@
+package net.pme.jobcenter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testcases for the latency histogram.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class LatencyHistogramTest {
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        Assert.assertEquals(1000, histogram.getCount());
+        Assert.assertEquals(500500, histogram.getMean(), 1E-6);
+        Assert.assertEquals(1000000, histogram.getMax());
+        assertWithin(500000, histogram.getPercentile(50));
+        assertWithin(990000, histogram.getPercentile(99));
+        Assert.assertEquals(1000000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testSmallValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(0);
+        histogram.record(3);
+
+        Assert.assertEquals(0, histogram.getPercentile(50));
+        Assert.assertEquals(3, histogram.getPercentile(100));
+        histogram.reset();
+        Assert.assertEquals(0, histogram.getCount());
+        Assert.assertEquals(0, histogram.getPercentile(99));
+    }
+
+    /**
+     * Assert that a percentile is at most 25% above the exact value.
+     *
+     * @param expected The exact value.
+     * @param actual   The percentile.
+     */
+    private static void assertWithin(final long expected, final long actual) {
+        Assert.assertTrue("Percentile " + actual + " below " + expected, actual >= expected);
+        Assert.assertTrue("Percentile " + actual + " too far above " + expected, actual <= expected * 1.25);
+    }
+}
@@ -0,0 +1,126 @@
+package net.pme.jobcenter;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * Testcases for the profiler.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class ProfilerTest {
+    private Scheduler scheduler;
+
+    @Before
+    public void before() {
+        scheduler = new Scheduler();
+        Profiler.clear();
+    }
+
+    @After
+    public void after() {
+        Profiler.setEnabled(false);
+        scheduler.shutdown();
+        Profiler.clear();
+    }
+
+    @Test
+    public void testDisabled() {
+        Profiler.beginFrame();
+        scheduler.addJob(new ProfiledJob(scheduler));
+        Profiler.record("phase", Profiler.start());
+        scheduler.await();
+
+        Assert.assertTrue("Disabled profiler recorded events.", Profiler.snapshot(1).isEmpty());
+    }
+
+    @Test
+    public void testSnapshot() {
+        Profiler.setEnabled(true);
+        Profiler.beginFrame();
+        scheduler.addJob(new ProfiledJob(scheduler));
+        scheduler.await();
+
+        Profiler.beginFrame();
+        long start = Profiler.start();
+        for (int i = 0; i < 10; i++) {
+            scheduler.addJob(new ProfiledJob(scheduler));
+        }
+        scheduler.await();
+        Profiler.record("await", start);
+
+        List<ProfilerEvent> events = Profiler.snapshot(1);
+        Assert.assertEquals("Events of older frames or not all jobs in the snapshot.", 11, events.size());
+        int jobs = 0;
+        for (ProfilerEvent e : events) {
+            Assert.assertEquals(Profiler.getFrame(), e.getFrame());
+            Assert.assertTrue("Negative duration.", e.getDuration() >= 0);
+            if (Profiler.JOB.equals(e.getCategory())) {
+                Assert.assertEquals(ProfiledJob.class.getName(), e.getName());
+                jobs++;
+            }
+        }
+        Assert.assertEquals(10, jobs);
+        Assert.assertEquals(12, Profiler.snapshot(2).size());
+    }
+
+    @Test
+    public void testFinishedThreadsReleased() throws InterruptedException {
+        Profiler.setEnabled(true);
+        Profiler.beginFrame();
+        Thread worker = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                Profiler.record("worker", Profiler.start());
+            }
+        });
+        worker.start();
+        worker.join();
+        int buffers = Profiler.getBufferCount();
+
+        // The events of the finished thread are still in the snapshot for a while.
+        Profiler.beginFrame();
+        Assert.assertEquals(buffers, Profiler.getBufferCount());
+        Assert.assertEquals(1, Profiler.snapshot(2).size());
+
+        for (int i = 0; i < 1000; i++) {
+            Profiler.beginFrame();
+        }
+        Assert.assertTrue("The buffer of a finished thread is kept.", Profiler.getBufferCount() < buffers);
+    }
+
+    @Test
+    public void testChromeTrace() throws IOException {
+        Profiler.setEnabled(true);
+        Profiler.beginFrame();
+        Profiler.record("in\"put", Profiler.start());
+
+        StringWriter writer = new StringWriter();
+        ChromeTraceExporter.export(Profiler.snapshot(1), writer);
+        String json = writer.toString();
+
+        Assert.assertTrue(json.startsWith("{\"traceEvents\":["));
+        Assert.assertTrue("Name not escaped.", json.contains("\"name\":\"in\\\"put\",\"cat\":\"phase\",\"ph\":\"X\""));
+        Assert.assertTrue("Thread not named.", json.contains("\"thread_name\""));
+    }
+
+    /**
+     * A job doing nothing.
+     */
+    private static class ProfiledJob extends Job {
+        ProfiledJob(final Scheduler scheduler) {
+            super(scheduler);
+        }
+
+        @Override
+        public void execute() {
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package net.pme.jobcenter;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Testcases for the scheduler.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class SchedulerTest {
+    private Scheduler scheduler;
+
+    @Before
+    public void before() {
+        scheduler = new Scheduler();
+    }
+
+    @After
+    public void after() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testAwait() {
+        final AtomicInteger counter = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            scheduler.addJob(new Job(scheduler) {
+                @Override
+                public void execute() {
+                    counter.incrementAndGet();
+                }
+            });
+        }
+        scheduler.await();
+        Assert.assertEquals("Not all jobs finished before await returned.", 1000, counter.get());
+    }
+
+    @Test
+    public void testDependencyOrder() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> order = new ArrayList<>();
+
+        final Job first = new Job(scheduler) {
+            @Override
+            public void execute() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+                synchronized (order) {
+                    order.add("first");
+                }
+            }
+        };
+        Job second = new TestJob(scheduler, first) {
+            @Override
+            public void execute() {
+                synchronized (order) {
+                    order.add("second");
+                }
+            }
+        };
+
+        scheduler.addJob(first);
+        scheduler.addJob(second);
+        Assert.assertTrue("Dependent job is not pending.", scheduler.isPending(second));
+        release.countDown();
+        scheduler.await();
+
+        Assert.assertEquals(Arrays.asList("first", "second"), order);
+        Assert.assertFalse(scheduler.isPending(first));
+        Assert.assertFalse(scheduler.isPending(second));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSelfDependency() {
+        TestJob job = new TestJob(scheduler);
+        job.dependencies.add(job);
+        scheduler.addJob(job);
+    }
+
+    @Test
+    public void testCycleDetection() {
+        scheduler.setCycleDetection(true);
+        final CountDownLatch release = new CountDownLatch(1);
+        TestJob a = new TestJob(scheduler) {
+            @Override
+            public void execute() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+            }
+        };
+        TestJob b = new TestJob(scheduler, a);
+        a.dependencies.add(b);
+
+        scheduler.addJob(a);
+        try {
+            scheduler.addJob(b);
+            Assert.fail("Cycle was not detected.");
+        } catch (IllegalArgumentException e) {
+            Assert.assertFalse("Rejected job is pending.", scheduler.isPending(b));
+        }
+        release.countDown();
+        scheduler.await();
+    }
+
+    @Test
+    public void testChainedSubmissionWaitsForDependencies() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final List<String> order = new ArrayList<>();
+        // More than one worker, so a submission that ignores its dependency runs before it.
+        Scheduler parallel = new Scheduler(new ThreadPoolStrategy(2));
+        try {
+            final Job first = new Job(parallel) {
+                @Override
+                public void execute() {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                    }
+                    synchronized (order) {
+                        order.add("first");
+                    }
+                }
+            };
+            Job second = new TestJob(parallel, first) {
+                @Override
+                public void execute() {
+                    synchronized (order) {
+                        order.add("second");
+                    }
+                }
+            };
+
+            parallel.addJob(first);
+            parallel.addJob(second);
+            // Added again while it waits for its dependency.
+            parallel.addJob(second);
+            // Give the free worker the time to run it too early.
+            Thread.sleep(50);
+            release.countDown();
+            parallel.await();
+
+            Assert.assertEquals(Arrays.asList("first", "second", "second"), order);
+            Assert.assertFalse(parallel.isPending(second));
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    @Test(timeout = 10000)
+    public void testReAddWhileFinishing() {
+        final AtomicInteger executions = new AtomicInteger();
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger overlaps = new AtomicInteger();
+        Scheduler parallel = new Scheduler(new ThreadPoolStrategy(4));
+        try {
+            final Job job = new Job(parallel) {
+                @Override
+                public void execute() {
+                    if (running.incrementAndGet() > 1) {
+                        overlaps.incrementAndGet();
+                    }
+                    executions.incrementAndGet();
+                    // Let other workers run while the job executes.
+                    Thread.yield();
+                    running.decrementAndGet();
+                }
+            };
+            List<JobHandle> handles = new ArrayList<>();
+            for (int i = 0; i < 20000; i++) {
+                // The job finishes on a worker while it is added again.
+                handles.add(parallel.submit(job));
+                parallel.addJob(new TestJob(parallel, job));
+            }
+            parallel.await();
+
+            for (JobHandle handle : handles) {
+                handle.join();
+            }
+            Assert.assertEquals(20000, executions.get());
+            Assert.assertEquals("Submissions of the job overlapped.", 0, overlaps.get());
+            Assert.assertFalse(parallel.isPending(job));
+        } finally {
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelFor() {
+        final int[] visits = new int[10007];
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < visits.length; i++) {
+            elements.add(i);
+        }
+        ParallelForBody<Integer> body = new ParallelForBody<Integer>() {
+            @Override
+            public void execute(final Integer element) {
+                visits[element]++;
+            }
+        };
+
+        for (int run = 0; run < 3; run++) {
+            scheduler.parallelFor(elements, 0, body);
+            scheduler.await();
+        }
+
+        for (int i = 0; i < visits.length; i++) {
+            Assert.assertEquals("Element " + i + " not visited once per run.", 3, visits[i]);
+        }
+        Assert.assertTrue("Cost per element not measured.", body.getCostPerElement() > 0);
+    }
+
+    @Test
+    public void testBackgroundDoesNotBlockAwait() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch finished = new CountDownLatch(1);
+        Job background = new PriorityJob(scheduler, JobPriority.BACKGROUND) {
+            @Override
+            public void execute() {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                }
+                finished.countDown();
+            }
+        };
+
+        scheduler.addJob(background);
+        Assert.assertEquals("Background job not deferred to the next tick.", 1,
+                scheduler.getQueuedBackgroundJobCount());
+        scheduler.tick();
+        scheduler.await();
+        Assert.assertEquals(0, scheduler.getQueuedBackgroundJobCount());
+        Assert.assertEquals("Await waited for the background job.", 1, finished.getCount());
+
+        release.countDown();
+        Assert.assertTrue(finished.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFrameBudgetCarriesOver() throws InterruptedException {
+        final AtomicInteger executions = new AtomicInteger();
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            jobs.add(new PriorityJob(scheduler, JobPriority.BACKGROUND) {
+                @Override
+                public void execute() {
+                    try {
+                        Thread.sleep(5);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                    }
+                    executions.incrementAndGet();
+                }
+            });
+        }
+        // Learn the execution times without a budget.
+        for (Job job : jobs) {
+            scheduler.addJob(job);
+        }
+        scheduler.tick();
+        waitForBackgroundJobs();
+        Assert.assertEquals(3, executions.get());
+
+        // Only one 5 ms job fits into 1 ms, the others carry over one tick at a time.
+        scheduler.setFrameBudget(TimeUnit.MILLISECONDS.toNanos(1) / scheduler.getExecutorStrategy().getWorkerCount());
+        for (Job job : jobs) {
+            scheduler.addJob(job);
+        }
+        for (int tick = 1; tick <= 3; tick++) {
+            scheduler.tick();
+            Assert.assertEquals(3 - tick, scheduler.getQueuedBackgroundJobCount());
+            waitForBackgroundJobs();
+            Assert.assertEquals(3 + tick, executions.get());
+        }
+    }
+
+    @Test
+    public void testBackgroundQueueGrowsAfterSwap() throws InterruptedException {
+        final AtomicInteger executions = new AtomicInteger();
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            jobs.add(new PriorityJob(scheduler, JobPriority.BACKGROUND) {
+                @Override
+                public void execute() {
+                    executions.incrementAndGet();
+                }
+            });
+        }
+        // Grow the queue and learn the execution times.
+        for (Job job : jobs) {
+            scheduler.addJob(job);
+        }
+        scheduler.tick();
+        waitForBackgroundJobs();
+
+        // Only one job starts per tick, the others are queued again into the swapped arrays.
+        scheduler.setFrameBudget(1);
+        for (int i = 0; i < 20; i++) {
+            scheduler.addJob(jobs.get(i));
+        }
+        scheduler.tick();
+        for (int i = 20; i < 40; i++) {
+            scheduler.addJob(jobs.get(i));
+        }
+        Assert.assertEquals(39, scheduler.getQueuedBackgroundJobCount());
+
+        scheduler.setFrameBudget(0);
+        waitForBackgroundJobs();
+        scheduler.tick();
+        waitForBackgroundJobs();
+        Assert.assertEquals(0, scheduler.getQueuedBackgroundJobCount());
+        Assert.assertEquals(104, executions.get());
+    }
+
+    @Test
+    public void testCriticalFirst() {
+        final List<JobPriority> order = new ArrayList<>();
+        final CountDownLatch release = new CountDownLatch(1);
+        Scheduler single = new Scheduler(new ThreadPoolStrategy(1));
+        try {
+            single.addJob(new Job(single) {
+                @Override
+                public void execute() {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+            for (JobPriority priority : new JobPriority[]{JobPriority.NORMAL, JobPriority.CRITICAL}) {
+                single.addJobForNextTick(new PriorityJob(single, priority) {
+                    @Override
+                    public void execute() {
+                        synchronized (order) {
+                            order.add(getPriority());
+                        }
+                    }
+                });
+            }
+            single.tick();
+            release.countDown();
+            single.await();
+        } finally {
+            single.shutdown();
+        }
+        Assert.assertEquals(Arrays.asList(JobPriority.CRITICAL, JobPriority.NORMAL), order);
+    }
+
+    @Test
+    public void testLatencyStatistics() {
+        for (int i = 0; i < 100; i++) {
+            scheduler.addJob(new TestJob(scheduler));
+        }
+        scheduler.await();
+
+        LatencyHistogram latency = scheduler.getLatency(JobPriority.NORMAL);
+        Assert.assertEquals(100, latency.getCount());
+        Assert.assertTrue(latency.getPercentile(50) <= latency.getPercentile(99));
+        Assert.assertTrue(latency.getPercentile(99) <= latency.getMax());
+        Assert.assertEquals(0, scheduler.getLatency(JobPriority.BACKGROUND).getCount());
+
+        scheduler.resetStatistics();
+        Assert.assertEquals(0, latency.getCount());
+    }
+
+    @Test
+    public void testMXBean() throws Exception {
+        ObjectName name = scheduler.registerMBean();
+        Assert.assertNotNull("Scheduler was not registered.", name);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        for (int i = 0; i < 100; i++) {
+            scheduler.addJobForNextTick(new TestJob(scheduler));
+        }
+        Assert.assertEquals(100, server.getAttribute(name, "QueueDepth"));
+        scheduler.tick();
+        scheduler.await();
+        scheduler.tick();
+        Assert.assertEquals(100L, server.getAttribute(name, "JobsPerTick"));
+        Assert.assertEquals(0, server.getAttribute(name, "QueueDepth"));
+        Assert.assertTrue((Long) server.getAttribute(name, "P99Latency") > 0);
+
+        scheduler.shutdown();
+        Assert.assertFalse("Scheduler is still registered after shutdown.", server.isRegistered(name));
+    }
+
+    /**
+     * Wait until no background job is running.
+     *
+     * @throws InterruptedException When the test is interrupted.
+     */
+    private void waitForBackgroundJobs() throws InterruptedException {
+        while (scheduler.getRunningBackgroundJobCount() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * A job with a priority.
+     */
+    private abstract static class PriorityJob extends Job {
+        private final JobPriority priority;
+
+        PriorityJob(final Scheduler scheduler, final JobPriority priority) {
+            super(scheduler);
+            this.priority = priority;
+        }
+
+        @Override
+        public JobPriority getPriority() {
+            return priority;
+        }
+    }
+
+    /**
+     * A job with configurable dependencies.
+     */
+    private static class TestJob extends Job {
+        private final List<Job> dependencies = new ArrayList<>();
+
+        TestJob(final Scheduler scheduler, final Job... dependencies) {
+            super(scheduler);
+            this.dependencies.addAll(Arrays.asList(dependencies));
+        }
+
+        @Override
+        public List<Job> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public void execute() {
+        }
+    }
+}
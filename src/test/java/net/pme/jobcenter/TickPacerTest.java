@@ -0,0 +1,64 @@
+package net.pme.jobcenter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Testcases for the tick pacer.
+ *
+ * @author <a href="mailto:mail@michaelfuerst.de>Michael Fürst</a>
+ * @version 1.0
+ */
+public class TickPacerTest {
+    private static final double TICK_RATE = 200;
+
+    @Test
+    public void testPeriod() {
+        TickPacer pacer = new TickPacer(TICK_RATE);
+        pacer.awaitNextTick();
+        long start = System.nanoTime();
+        for (int i = 0; i < 40; i++) {
+            pacer.awaitNextTick();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Assert.assertEquals(40, pacer.getTickCount());
+        Assert.assertTrue("Ticks were too fast.", elapsed >= 39 * pacer.getPeriod());
+        // Loose bound, the tests may share the cpu with other processes.
+        Assert.assertTrue("Average jitter too large: " + pacer.getAverageJitter(),
+                pacer.getAverageJitter() < pacer.getPeriod() / 2);
+    }
+
+    @Test
+    public void testCatchUp() throws InterruptedException {
+        TickPacer pacer = new TickPacer(TICK_RATE, TickPacer.CatchUpPolicy.CATCH_UP);
+        pacer.setMaxCatchUpTicks(100);
+        pacer.awaitNextTick();
+        Thread.sleep(12);
+
+        // 2 ticks missed, they run back to back.
+        long start = System.nanoTime();
+        pacer.awaitNextTick();
+        pacer.awaitNextTick();
+        Assert.assertTrue("Missed ticks were not caught up.", System.nanoTime() - start < pacer.getPeriod());
+        Assert.assertTrue(pacer.getOverrunCount() >= 2);
+        Assert.assertEquals(0, pacer.getSkippedTicks());
+        Assert.assertTrue(pacer.getMaxOverrun() > pacer.getPeriod());
+    }
+
+    @Test
+    public void testSkip() throws InterruptedException {
+        TickPacer pacer = new TickPacer(TICK_RATE, TickPacer.CatchUpPolicy.SKIP);
+        pacer.awaitNextTick();
+        Thread.sleep(12);
+
+        pacer.awaitNextTick();
+        Assert.assertEquals(1, pacer.getOverrunCount());
+        Assert.assertTrue("Missed ticks were not skipped.", pacer.getSkippedTicks() >= 1);
+
+        // The next tick waits for the schedule again.
+        long late = pacer.awaitNextTick();
+        Assert.assertEquals(1, pacer.getOverrunCount());
+        Assert.assertTrue(late >= 0);
+    }
+}
@@ -0,0 +1,50 @@
+package net.pme.model;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Testcases for loading a model without the OpenGL context.
+ *
+ * @author Michael Fürst
+ * @version 1.0
+ */
+public class ModelTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testLoadWithoutContext() throws IOException {
+        write("triangle.mtl", "newmtl red\nKd 1 0 0\nmap_Kd red.png\n");
+        File obj = write("triangle.obj", "mtllib triangle.mtl\n"
+                + "v 0 0 0\nv 1 0 0\nv 0 1 0\n"
+                + "vn 0 0 1\n"
+                + "usemtl red\n"
+                + "f 1//1 2//1 3//1\n");
+
+        // Neither the display list nor the texture is created, so this works without OpenGL.
+        Model model = Model.load(obj.getAbsolutePath(), ModelTest.class);
+
+        Assert.assertEquals(3, model.getVertices().size());
+        Assert.assertEquals(1, model.getFaces().size());
+        Assert.assertEquals(1.0, model.getSize(), 1e-9);
+        Assert.assertNotNull(model.getBoundingBox());
+        Material red = model.getMtllibs().get("red");
+        Assert.assertNotNull(red);
+        Assert.assertNull(red.getDiffuseMap());
+    }
+
+    private File write(final String name, final String content) throws IOException {
+        File file = folder.newFile(name);
+        FileWriter writer = new FileWriter(file);
+        writer.write(content);
+        writer.close();
+        return file;
+    }
+}